@@ -0,0 +1,14 @@
+#!/bin/sh
+# Clones the primary into an empty data directory as a hot standby (-R writes standby.signal and the
+# connection settings), then runs postgres. Later starts reuse the clone and resume streaming.
+set -e
+PGDATA=/var/lib/postgresql/data
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+  until pg_basebackup -h postgres -U postgres -D "$PGDATA" -R -X stream; do
+    echo "waiting for primary..."
+    rm -rf "${PGDATA:?}"/*
+    sleep 2
+  done
+  chmod 0700 "$PGDATA"
+fi
+exec postgres -D "$PGDATA"
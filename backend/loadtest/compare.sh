@@ -0,0 +1,26 @@
+#!/bin/sh
+# Side-by-side table of two threads-comparison.js runs (requires jq).
+# Usage: loadtest/compare.sh [loadtest/results/platform.json] [loadtest/results/virtual.json]
+set -e
+platform=${1:-loadtest/results/platform.json}
+virtual=${2:-loadtest/results/virtual.json}
+
+row() {
+    jq -r --arg e "$2" '
+        .metrics as $m
+        | [ ($m["http_reqs{endpoint:\($e)}"].values.rate // 0 | floor),
+            ($m["http_req_duration{endpoint:\($e)}"].values.med // 0 | floor),
+            ($m["http_req_duration{endpoint:\($e)}"].values["p(95)"] // 0 | floor),
+            ($m["http_req_duration{endpoint:\($e)}"].values["p(99)"] // 0 | floor),
+            (($m["http_req_failed{endpoint:\($e)}"].values.rate // 0) * 100 | floor) ]
+        | @tsv' "$1" | awk -v mode="$3" -v e="$2" '{ printf "%-13s %-9s %8s %8s %8s %8s %7s%%\n", e, mode, $1, $2, $3, $4, $5 }'
+}
+
+printf "%-13s %-9s %8s %8s %8s %8s %8s\n" endpoint mode "req/s" "p50 ms" "p95 ms" "p99 ms" failed
+for endpoint in usage_ingest invoice_list; do
+    row "$platform" "$endpoint" platform
+    row "$virtual" "$endpoint" virtual
+done
+for file in "$platform" "$virtual"; do
+    printf "%s: dropped iterations %s\n" "$file" "$(jq '.metrics.dropped_iterations.values.count // 0' "$file")"
+done
@@ -0,0 +1,80 @@
+// Platform vs virtual threads on usage ingest and invoice listing.
+// Run once per mode against a freshly started app (see README, "Load Testing"):
+//   k6 run -e MODE=platform loadtest/threads-comparison.js
+//   k6 run -e MODE=virtual  loadtest/threads-comparison.js
+// Each run writes loadtest/results/<MODE>.json; compare them with loadtest/compare.sh.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MODE = __ENV.MODE || 'platform';
+const SERVICE_ID = __ENV.SERVICE_ID || '1';
+const CUSTOMER_ID = __ENV.CUSTOMER_ID || '1';
+const RATE = parseInt(__ENV.RATE || '400', 10);
+const DURATION = __ENV.DURATION || '2m';
+
+export const options = {
+    scenarios: {
+        usage_ingest: {
+            executor: 'constant-arrival-rate',
+            exec: 'ingestUsage',
+            rate: RATE,
+            timeUnit: '1s',
+            duration: DURATION,
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+            tags: { endpoint: 'usage_ingest' },
+        },
+        invoice_list: {
+            executor: 'constant-arrival-rate',
+            exec: 'listInvoices',
+            rate: RATE,
+            timeUnit: '1s',
+            duration: DURATION,
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+            tags: { endpoint: 'invoice_list' },
+        },
+    },
+    // per-endpoint sub-metrics, so they show up in the summary
+    thresholds: {
+        'http_req_duration{endpoint:usage_ingest}': ['p(99)>=0'],
+        'http_req_duration{endpoint:invoice_list}': ['p(99)>=0'],
+        'http_req_failed{endpoint:usage_ingest}': ['rate>=0'],
+        'http_req_failed{endpoint:invoice_list}': ['rate>=0'],
+        'http_reqs{endpoint:usage_ingest}': ['count>=0'],
+        'http_reqs{endpoint:invoice_list}': ['count>=0'],
+        'dropped_iterations': ['count>=0'],
+    },
+    summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    const res = http.post(`${BASE_URL}/api/login`, JSON.stringify({
+        username: __ENV.ADMIN_USERNAME || 'admin',
+        password: __ENV.ADMIN_PASSWORD || 'admin',
+    }), { headers: { 'Content-Type': 'application/json' } });
+    check(res, { 'logged in': (r) => r.status === 200 });
+    return { headers: { 'Content-Type': 'application/json', Authorization: `Bearer ${res.json('accessToken')}` } };
+}
+
+export function ingestUsage(ctx) {
+    const res = http.post(`${BASE_URL}/api/services/${SERVICE_ID}/usage`, JSON.stringify({
+        usageDate: new Date().toISOString().slice(0, 10),
+        usageAmount: (Math.random() * 100).toFixed(2),
+        unit: 'MB',
+    }), { headers: ctx.headers });
+    check(res, { 'usage 201': (r) => r.status === 201 });
+}
+
+export function listInvoices(ctx) {
+    const res = http.get(`${BASE_URL}/api/customers/${CUSTOMER_ID}/invoices`, { headers: ctx.headers });
+    check(res, { 'invoices 200': (r) => r.status === 200 });
+}
+
+export function handleSummary(data) {
+    return {
+        [`loadtest/results/${MODE}.json`]: JSON.stringify(data, null, 2),
+        stdout: `\n${MODE}: summary written to loadtest/results/${MODE}.json\n`,
+    };
+}
@@ -0,0 +1,78 @@
+package com.abc.postpaid.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authorization overhead of an ownership check in a controller: the former string
+ * principal (authorities streamed for the admin role, subject re-parsed into a {@code Long}) against the
+ * {@link AuthPrincipal} built once per token and resolved as a method argument.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthPrincipalBenchmark {
+
+    private static final long OWNER_ID = 42L;
+
+    private Authentication stringAuth;
+    private Authentication principalAuth;
+    private AuthPrincipalArgumentResolver resolver;
+
+    @Setup
+    public void setUp() {
+        List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER"));
+        stringAuth = new UsernamePasswordAuthenticationToken("42", null, authorities);
+        principalAuth = new UsernamePasswordAuthenticationToken(
+                new AuthPrincipal(OWNER_ID, AuthPrincipal.Role.CUSTOMER, AuthPrincipal.NO_CUSTOMER), null, authorities);
+        resolver = new AuthPrincipalArgumentResolver();
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public boolean stringPrincipal() {
+        SecurityContextHolder.getContext().setAuthentication(stringAuth);
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        Long authUserId = getAuthUserId(auth);
+        return isAdmin(auth) || (authUserId != null && authUserId.equals(OWNER_ID));
+    }
+
+    @Benchmark
+    public boolean typedPrincipal() {
+        SecurityContextHolder.getContext().setAuthentication(principalAuth);
+        AuthPrincipal principal = (AuthPrincipal) resolver.resolveArgument(null, null, null, null);
+        return principal != null && (principal.isAdmin() || principal.isUser(OWNER_ID));
+    }
+
+    // the helpers controllers used before AuthPrincipal
+    private static boolean isAdmin(Authentication auth) {
+        if (auth == null) return false;
+        Collection<? extends GrantedAuthority> auths = auth.getAuthorities();
+        if (auths == null) return false;
+        return auths.stream().anyMatch(a -> String.valueOf(a.getAuthority()).equalsIgnoreCase("ROLE_ADMIN"));
+    }
+
+    private static Long getAuthUserId(Authentication auth) {
+        if (auth == null || auth.getPrincipal() == null) return null;
+        try {
+            return Long.valueOf(String.valueOf(auth.getPrincipal()));
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+}
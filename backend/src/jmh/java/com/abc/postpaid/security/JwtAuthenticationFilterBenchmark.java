@@ -0,0 +1,73 @@
+package com.abc.postpaid.security;
+
+import com.abc.postpaid.user.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through {@link JwtAuthenticationFilter}, with the verified-token cache
+ * disabled ({@code cacheEntries = 0}) and enabled. The token is the same on every request, as it is for
+ * a client during the token's lifetime; every request also passes the session revocation check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"0", "10000"})
+    public long cacheEntries;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() throws Exception {
+        JwtKeyRegistry keyRegistry = new JwtKeyRegistry();
+        ReflectionTestUtils.setField(keyRegistry, "privateKeyPath", "keystore/private.pem");
+        ReflectionTestUtils.setField(keyRegistry, "publicKeyPath", "keystore/public.pem");
+        keyRegistry.init();
+        JwtProvider jwtProvider = new JwtProvider();
+        ReflectionTestUtils.setField(jwtProvider, "expiresMinutes", 15L);
+        ReflectionTestUtils.setField(jwtProvider, "keyRegistry", keyRegistry);
+
+        VerifiedTokenCache cache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(cache, "maxEntries", cacheEntries);
+        cache.init();
+
+        User user = new User();
+        user.setUserId(42L);
+        user.setUsername("bench");
+        user.setEmail("bench@example.com");
+        user.setRole("customer");
+        authorization = "Bearer " + jwtProvider.generateToken(user, UUID.randomUUID().toString(), 7L);
+
+        // a busy revocation window: the check for a live session is a Bloom-filter miss
+        TokenRevocationList revocationList = new TokenRevocationList();
+        List<String> revoked = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) revoked.add(UUID.randomUUID().toString());
+        revocationList.revokeLocally(revoked);
+        filter = new JwtAuthenticationFilter(jwtProvider, cache, revocationList);
+    }
+
+    @Benchmark
+    public Object authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/customers/1");
+        request.addHeader("Authorization", authorization);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+}
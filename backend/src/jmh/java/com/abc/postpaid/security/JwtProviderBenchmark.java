@@ -0,0 +1,54 @@
+package com.abc.postpaid.security;
+
+import com.abc.postpaid.user.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token codec cost without the filter's cache, per signing algorithm: signing at login and verifying
+ * on a cache miss. Run with the default GC profiler to see bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtProviderBenchmark {
+
+    @Param({"RS256", "ES256", "ED25519"})
+    public JwtAlgorithm algorithm;
+
+    private JwtProvider jwtProvider;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        JwtKeyRegistry keyRegistry = new JwtKeyRegistry();
+        keyRegistry.install(JwtKey.generate("bench", algorithm), List.of());
+        jwtProvider = new JwtProvider();
+        ReflectionTestUtils.setField(jwtProvider, "expiresMinutes", 15L);
+        ReflectionTestUtils.setField(jwtProvider, "keyRegistry", keyRegistry);
+
+        user = new User();
+        user.setUserId(42L);
+        user.setUsername("bench");
+        user.setEmail("bench@example.com");
+        user.setRole("customer");
+        token = jwtProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public TokenClaims validateToken() throws Exception {
+        return jwtProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() throws Exception {
+        return jwtProvider.generateToken(user);
+    }
+}
@@ -0,0 +1,41 @@
+package com.abc.postpaid.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt cost per log-rounds setting, to pick {@code app.security.password-hashing.cost} for the
+ * production hardware: hashes per second per core bound login throughput at a given pool size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    @Param({"8", "10", "11", "12"})
+    public int cost;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(cost);
+        hash = encoder.encode("Secret123!");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("Secret123!");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("Secret123!", hash);
+    }
+}
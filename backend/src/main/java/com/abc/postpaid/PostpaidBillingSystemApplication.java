@@ -2,6 +2,7 @@ package com.abc.postpaid;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 /**
  * Main entry point for the Postpaid Billing System backend application.
@@ -12,6 +13,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * - Run Flyway database migrations on startup
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class PostpaidBillingSystemApplication {
 
     public static void main(String[] args) {
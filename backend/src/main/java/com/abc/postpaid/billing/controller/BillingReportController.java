@@ -0,0 +1,56 @@
+package com.abc.postpaid.billing.controller;
+
+import com.abc.postpaid.billing.dto.AgingSummaryRow;
+import com.abc.postpaid.billing.dto.InvoicedVsCollectedRow;
+import com.abc.postpaid.billing.dto.PaymentCollectionRow;
+import com.abc.postpaid.billing.dto.UsageByServiceTypeRow;
+import com.abc.postpaid.billing.service.BillingReportService;
+import com.abc.postpaid.web.Bulkheads;
+import com.abc.postpaid.web.TrafficClass;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/reports")
+@PreAuthorize("hasRole('ADMIN')")
+public class BillingReportController {
+
+    @Autowired
+    private BillingReportService billingReportService;
+
+    @Autowired
+    private Bulkheads bulkheads;
+
+    @GetMapping("/collections")
+    public WebAsyncTask<ResponseEntity<List<PaymentCollectionRow>>> collections(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+        return bulkheads.run(TrafficClass.ADMIN, () -> ResponseEntity.ok(billingReportService.collectionsByDayAndMethod(start, end)));
+    }
+
+    @GetMapping("/usage")
+    public WebAsyncTask<ResponseEntity<List<UsageByServiceTypeRow>>> usage(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+        return bulkheads.run(TrafficClass.ADMIN, () -> ResponseEntity.ok(billingReportService.usageByMonthAndServiceType(start, end)));
+    }
+
+    @GetMapping("/invoiced-vs-collected")
+    public WebAsyncTask<ResponseEntity<List<InvoicedVsCollectedRow>>> invoicedVsCollected(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+        return bulkheads.run(TrafficClass.ADMIN, () -> ResponseEntity.ok(billingReportService.invoicedVsCollectedByMonth(start, end)));
+    }
+
+    @GetMapping("/aging")
+    public WebAsyncTask<ResponseEntity<List<AgingSummaryRow>>> aging() {
+        return bulkheads.run(TrafficClass.ADMIN, () -> ResponseEntity.ok(billingReportService.agingSummary()));
+    }
+}
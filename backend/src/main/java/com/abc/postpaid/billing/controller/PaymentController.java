@@ -2,16 +2,21 @@ package com.abc.postpaid.billing.controller;
 
 import com.abc.postpaid.billing.dto.PaymentRequest;
 import com.abc.postpaid.billing.dto.PaymentResponse;
+import com.abc.postpaid.billing.entity.PaymentIdempotencyKey;
+import com.abc.postpaid.billing.service.IdempotencyKeyReusedException;
+import com.abc.postpaid.billing.service.PaymentIdempotencyService;
 import com.abc.postpaid.billing.service.PaymentService;
+import com.abc.postpaid.security.AuthPrincipal;
+import com.abc.postpaid.web.Bulkheads;
+import com.abc.postpaid.web.TrafficClass;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
-import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/invoices")
@@ -20,45 +25,47 @@ public class PaymentController {
     @Autowired
     private PaymentService paymentService;
 
-    private boolean isAdmin(Authentication auth) {
-        if (auth == null) return false;
-        Collection<? extends GrantedAuthority> auths = auth.getAuthorities();
-        if (auths == null) return false;
-        return auths.stream().anyMatch(a -> String.valueOf(a.getAuthority()).equalsIgnoreCase("ROLE_ADMIN"));
-    }
+    @Autowired
+    private PaymentIdempotencyService paymentIdempotencyService;
 
-    private Long getAuthUserId(Authentication auth) {
-        if (auth == null || auth.getPrincipal() == null) return null;
-        try {
-            return Long.valueOf(String.valueOf(auth.getPrincipal()));
-        } catch (Exception ex) {
-            return null;
-        }
-    }
+    @Autowired
+    private Bulkheads bulkheads;
 
     @PostMapping("/{id}/payments")
-    public ResponseEntity<?> recordPayment(@PathVariable Long id, @RequestBody PaymentRequest request) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null) {
-            return ResponseEntity.status(401).build();
-        }
+    public WebAsyncTask<ResponseEntity<?>> recordPayment(@PathVariable Long id, @RequestBody PaymentRequest request,
+                                                         @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                                         AuthPrincipal principal) {
+        return bulkheads.run(TrafficClass.CUSTOMER, () -> {
+            if (principal == null) {
+                return ResponseEntity.status(401).build();
+            }
+            if (idempotencyKey != null && idempotencyKey.length() > PaymentIdempotencyKey.MAX_KEY_LENGTH) {
+                return ResponseEntity.badRequest().body(Map.of("error", "idempotency_key_too_long"));
+            }
 
-        try {
-            Long paymentId = paymentService.recordPayment(id, request);
-            return ResponseEntity.status(201).body("{\"paymentId\":" + paymentId + "}");
-        } catch (IllegalArgumentException ex) {
-            return ResponseEntity.status(404).build();
-        }
+            try {
+                Long paymentId = StringUtils.hasText(idempotencyKey)
+                        ? paymentIdempotencyService.recordPayment(id, request, idempotencyKey)
+                        : paymentService.recordPayment(id, request);
+                return ResponseEntity.status(201).body("{\"paymentId\":" + paymentId + "}");
+            } catch (IllegalArgumentException ex) {
+                return ResponseEntity.status(404).build();
+            } catch (IdempotencyKeyReusedException ex) {
+                // key already used for a different invoice
+                return ResponseEntity.status(409).body(Map.of("error", ex.getMessage()));
+            }
+        });
     }
 
     @GetMapping("/{id}/payments")
-    public ResponseEntity<List<PaymentResponse>> listPayments(@PathVariable Long id) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null) {
-            return ResponseEntity.status(401).build();
-        }
+    public WebAsyncTask<ResponseEntity<List<PaymentResponse>>> listPayments(@PathVariable Long id, AuthPrincipal principal) {
+        return bulkheads.run(TrafficClass.CUSTOMER, () -> {
+            if (principal == null) {
+                return ResponseEntity.status(401).build();
+            }
 
-        List<PaymentResponse> payments = paymentService.listPaymentsByInvoice(id);
-        return ResponseEntity.ok(payments);
+            List<PaymentResponse> payments = paymentService.listPaymentsByInvoice(id);
+            return ResponseEntity.ok(payments);
+        });
     }
 }
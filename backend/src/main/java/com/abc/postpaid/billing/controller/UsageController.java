@@ -3,14 +3,14 @@ package com.abc.postpaid.billing.controller;
 import com.abc.postpaid.billing.dto.UsageRecordRequest;
 import com.abc.postpaid.billing.dto.UsageRecordResponse;
 import com.abc.postpaid.billing.service.UsageRecordService;
+import com.abc.postpaid.security.AuthPrincipal;
+import com.abc.postpaid.web.Bulkheads;
+import com.abc.postpaid.web.TrafficClass;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
-import java.util.Collection;
 import java.util.List;
 
 @RestController
@@ -20,31 +20,30 @@ public class UsageController {
     @Autowired
     private UsageRecordService usageRecordService;
 
-    private boolean isAdmin(Authentication auth) {
-        if (auth == null) return false;
-        Collection<? extends GrantedAuthority> auths = auth.getAuthorities();
-        if (auths == null) return false;
-        return auths.stream().anyMatch(a -> String.valueOf(a.getAuthority()).equalsIgnoreCase("ROLE_ADMIN"));
-    }
+    @Autowired
+    private Bulkheads bulkheads;
 
     @GetMapping("/{id}/usage")
-    public ResponseEntity<List<UsageRecordResponse>> getUsageRecords(@PathVariable Long id) {
-        List<UsageRecordResponse> records = usageRecordService.listUsageRecordsByService(id);
-        return ResponseEntity.ok(records);
+    public WebAsyncTask<ResponseEntity<List<UsageRecordResponse>>> getUsageRecords(@PathVariable Long id) {
+        return bulkheads.run(TrafficClass.CUSTOMER, () -> {
+            List<UsageRecordResponse> records = usageRecordService.listUsageRecordsByService(id);
+            return ResponseEntity.ok(records);
+        });
     }
 
     @PostMapping("/{id}/usage")
-    public ResponseEntity<?> createUsageRecord(@PathVariable Long id, @RequestBody UsageRecordRequest request) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (!isAdmin(auth)) {
-            return ResponseEntity.status(403).build();
-        }
-
-        try {
-            Long usageId = usageRecordService.createUsageRecord(id, request);
-            return ResponseEntity.status(201).body("{\"usageId\":" + usageId + "}");
-        } catch (IllegalArgumentException ex) {
-            return ResponseEntity.status(404).build();
-        }
+    public WebAsyncTask<ResponseEntity<?>> createUsageRecord(@PathVariable Long id, @RequestBody UsageRecordRequest request, AuthPrincipal principal) {
+        return bulkheads.run(TrafficClass.INGEST, () -> {
+            if (principal == null || !principal.isAdmin()) {
+                return ResponseEntity.status(403).build();
+            }
+
+            try {
+                Long usageId = usageRecordService.createUsageRecord(id, request);
+                return ResponseEntity.status(201).body("{\"usageId\":" + usageId + "}");
+            } catch (IllegalArgumentException ex) {
+                return ResponseEntity.status(404).build();
+            }
+        });
     }
 }
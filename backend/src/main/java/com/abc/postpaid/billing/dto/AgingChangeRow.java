@@ -0,0 +1,21 @@
+package com.abc.postpaid.billing.dto;
+
+import java.time.OffsetDateTime;
+
+public class AgingChangeRow {
+    private Long invoiceId;
+    private OffsetDateTime agingChangedAt;
+
+    public AgingChangeRow() {}
+
+    public AgingChangeRow(Long invoiceId, OffsetDateTime agingChangedAt) {
+        this.invoiceId = invoiceId;
+        this.agingChangedAt = agingChangedAt;
+    }
+
+    public Long getInvoiceId() { return invoiceId; }
+    public void setInvoiceId(Long invoiceId) { this.invoiceId = invoiceId; }
+
+    public OffsetDateTime getAgingChangedAt() { return agingChangedAt; }
+    public void setAgingChangedAt(OffsetDateTime agingChangedAt) { this.agingChangedAt = agingChangedAt; }
+}
@@ -0,0 +1,32 @@
+package com.abc.postpaid.billing.dto;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+public class AgingSummaryRow {
+    private String agingBucket;
+    private Long invoiceCount;
+    private BigDecimal outstandingAmount;
+    private OffsetDateTime refreshedAt;
+
+    public AgingSummaryRow() {}
+
+    public AgingSummaryRow(String agingBucket, Long invoiceCount, BigDecimal outstandingAmount, OffsetDateTime refreshedAt) {
+        this.agingBucket = agingBucket;
+        this.invoiceCount = invoiceCount;
+        this.outstandingAmount = outstandingAmount;
+        this.refreshedAt = refreshedAt;
+    }
+
+    public String getAgingBucket() { return agingBucket; }
+    public void setAgingBucket(String agingBucket) { this.agingBucket = agingBucket; }
+
+    public Long getInvoiceCount() { return invoiceCount; }
+    public void setInvoiceCount(Long invoiceCount) { this.invoiceCount = invoiceCount; }
+
+    public BigDecimal getOutstandingAmount() { return outstandingAmount; }
+    public void setOutstandingAmount(BigDecimal outstandingAmount) { this.outstandingAmount = outstandingAmount; }
+
+    public OffsetDateTime getRefreshedAt() { return refreshedAt; }
+    public void setRefreshedAt(OffsetDateTime refreshedAt) { this.refreshedAt = refreshedAt; }
+}
@@ -8,6 +8,7 @@ public class InvoiceRequest {
     private LocalDate billingPeriodEnd;
     private BigDecimal totalAmount;
     private String status;
+    private LocalDate dueDate;
 
     public InvoiceRequest() {}
 
@@ -22,4 +23,7 @@ public class InvoiceRequest {
 
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
+
+    public LocalDate getDueDate() { return dueDate; }
+    public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
 }
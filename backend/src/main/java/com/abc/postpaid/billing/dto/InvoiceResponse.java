@@ -1,5 +1,7 @@
 package com.abc.postpaid.billing.dto;
 
+import com.abc.postpaid.billing.entity.AgingBucket;
+
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
@@ -10,9 +12,35 @@ public class InvoiceResponse {
     private LocalDate billingPeriodEnd;
     private BigDecimal totalAmount;
     private String status;
+    private LocalDate dueDate;
+    private String agingBucket;
 
     public InvoiceResponse() {}
 
+    public InvoiceResponse(Long invoiceId, Long customerId, LocalDate billingPeriodStart, LocalDate billingPeriodEnd,
+                           BigDecimal totalAmount, String status, LocalDate dueDate, AgingBucket agingBucket) {
+        this.invoiceId = invoiceId;
+        this.customerId = customerId;
+        this.billingPeriodStart = billingPeriodStart;
+        this.billingPeriodEnd = billingPeriodEnd;
+        this.totalAmount = totalAmount;
+        this.status = status;
+        this.dueDate = dueDate;
+        this.agingBucket = agingBucket != null ? agingBucket.name() : null;
+    }
+
+    /** Copy for a caller of its own, when one result is handed to several callers. */
+    public InvoiceResponse(InvoiceResponse other) {
+        this.invoiceId = other.invoiceId;
+        this.customerId = other.customerId;
+        this.billingPeriodStart = other.billingPeriodStart;
+        this.billingPeriodEnd = other.billingPeriodEnd;
+        this.totalAmount = other.totalAmount;
+        this.status = other.status;
+        this.dueDate = other.dueDate;
+        this.agingBucket = other.agingBucket;
+    }
+
     public Long getInvoiceId() { return invoiceId; }
     public void setInvoiceId(Long invoiceId) { this.invoiceId = invoiceId; }
 
@@ -30,4 +58,10 @@ public class InvoiceResponse {
 
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
+
+    public LocalDate getDueDate() { return dueDate; }
+    public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+
+    public String getAgingBucket() { return agingBucket; }
+    public void setAgingBucket(String agingBucket) { this.agingBucket = agingBucket; }
 }
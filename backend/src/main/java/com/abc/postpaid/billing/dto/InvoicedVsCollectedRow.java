@@ -0,0 +1,42 @@
+package com.abc.postpaid.billing.dto;
+
+import java.math.BigDecimal;
+
+public class InvoicedVsCollectedRow {
+    private Integer year;
+    private Integer month;
+    private Long invoiceCount;
+    private BigDecimal invoicedAmount;
+    private Long paymentCount;
+    private BigDecimal collectedAmount;
+
+    public InvoicedVsCollectedRow() {}
+
+    public InvoicedVsCollectedRow(Integer year, Integer month, Long invoiceCount, BigDecimal invoicedAmount,
+                                  Long paymentCount, BigDecimal collectedAmount) {
+        this.year = year;
+        this.month = month;
+        this.invoiceCount = invoiceCount;
+        this.invoicedAmount = invoicedAmount;
+        this.paymentCount = paymentCount;
+        this.collectedAmount = collectedAmount;
+    }
+
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+
+    public Integer getMonth() { return month; }
+    public void setMonth(Integer month) { this.month = month; }
+
+    public Long getInvoiceCount() { return invoiceCount; }
+    public void setInvoiceCount(Long invoiceCount) { this.invoiceCount = invoiceCount; }
+
+    public BigDecimal getInvoicedAmount() { return invoicedAmount; }
+    public void setInvoicedAmount(BigDecimal invoicedAmount) { this.invoicedAmount = invoicedAmount; }
+
+    public Long getPaymentCount() { return paymentCount; }
+    public void setPaymentCount(Long paymentCount) { this.paymentCount = paymentCount; }
+
+    public BigDecimal getCollectedAmount() { return collectedAmount; }
+    public void setCollectedAmount(BigDecimal collectedAmount) { this.collectedAmount = collectedAmount; }
+}
@@ -0,0 +1,31 @@
+package com.abc.postpaid.billing.dto;
+
+import java.math.BigDecimal;
+
+public class MonthlyAmountRow {
+    private Integer year;
+    private Integer month;
+    private Long count;
+    private BigDecimal totalAmount;
+
+    public MonthlyAmountRow() {}
+
+    public MonthlyAmountRow(Integer year, Integer month, Long count, BigDecimal totalAmount) {
+        this.year = year;
+        this.month = month;
+        this.count = count;
+        this.totalAmount = totalAmount;
+    }
+
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+
+    public Integer getMonth() { return month; }
+    public void setMonth(Integer month) { this.month = month; }
+
+    public Long getCount() { return count; }
+    public void setCount(Long count) { this.count = count; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+}
@@ -0,0 +1,21 @@
+package com.abc.postpaid.billing.dto;
+
+import java.time.LocalDate;
+
+public class OverdueCustomerRow {
+    private Long customerId;
+    private LocalDate oldestDueDate;
+
+    public OverdueCustomerRow() {}
+
+    public OverdueCustomerRow(Long customerId, LocalDate oldestDueDate) {
+        this.customerId = customerId;
+        this.oldestDueDate = oldestDueDate;
+    }
+
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
+    public LocalDate getOldestDueDate() { return oldestDueDate; }
+    public void setOldestDueDate(LocalDate oldestDueDate) { this.oldestDueDate = oldestDueDate; }
+}
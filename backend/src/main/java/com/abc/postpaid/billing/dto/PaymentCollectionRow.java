@@ -0,0 +1,32 @@
+package com.abc.postpaid.billing.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class PaymentCollectionRow {
+    private LocalDate paymentDate;
+    private String paymentMethod;
+    private Long paymentCount;
+    private BigDecimal totalAmount;
+
+    public PaymentCollectionRow() {}
+
+    public PaymentCollectionRow(LocalDate paymentDate, String paymentMethod, Long paymentCount, BigDecimal totalAmount) {
+        this.paymentDate = paymentDate;
+        this.paymentMethod = paymentMethod;
+        this.paymentCount = paymentCount;
+        this.totalAmount = totalAmount;
+    }
+
+    public LocalDate getPaymentDate() { return paymentDate; }
+    public void setPaymentDate(LocalDate paymentDate) { this.paymentDate = paymentDate; }
+
+    public String getPaymentMethod() { return paymentMethod; }
+    public void setPaymentMethod(String paymentMethod) { this.paymentMethod = paymentMethod; }
+
+    public Long getPaymentCount() { return paymentCount; }
+    public void setPaymentCount(Long paymentCount) { this.paymentCount = paymentCount; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+}
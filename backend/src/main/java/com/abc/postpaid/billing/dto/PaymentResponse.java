@@ -12,6 +12,14 @@ public class PaymentResponse {
 
     public PaymentResponse() {}
 
+    public PaymentResponse(Long paymentId, Long invoiceId, LocalDate paymentDate, BigDecimal amount, String paymentMethod) {
+        this.paymentId = paymentId;
+        this.invoiceId = invoiceId;
+        this.paymentDate = paymentDate;
+        this.amount = amount;
+        this.paymentMethod = paymentMethod;
+    }
+
     public Long getPaymentId() { return paymentId; }
     public void setPaymentId(Long paymentId) { this.paymentId = paymentId; }
 
@@ -0,0 +1,41 @@
+package com.abc.postpaid.billing.dto;
+
+import java.math.BigDecimal;
+
+public class UsageByServiceTypeRow {
+    private Integer year;
+    private Integer month;
+    private String serviceType;
+    private String unit;
+    private Long recordCount;
+    private BigDecimal totalUsage;
+
+    public UsageByServiceTypeRow() {}
+
+    public UsageByServiceTypeRow(Integer year, Integer month, String serviceType, String unit, Long recordCount, BigDecimal totalUsage) {
+        this.year = year;
+        this.month = month;
+        this.serviceType = serviceType;
+        this.unit = unit;
+        this.recordCount = recordCount;
+        this.totalUsage = totalUsage;
+    }
+
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+
+    public Integer getMonth() { return month; }
+    public void setMonth(Integer month) { this.month = month; }
+
+    public String getServiceType() { return serviceType; }
+    public void setServiceType(String serviceType) { this.serviceType = serviceType; }
+
+    public String getUnit() { return unit; }
+    public void setUnit(String unit) { this.unit = unit; }
+
+    public Long getRecordCount() { return recordCount; }
+    public void setRecordCount(Long recordCount) { this.recordCount = recordCount; }
+
+    public BigDecimal getTotalUsage() { return totalUsage; }
+    public void setTotalUsage(BigDecimal totalUsage) { this.totalUsage = totalUsage; }
+}
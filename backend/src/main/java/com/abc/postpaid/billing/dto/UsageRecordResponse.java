@@ -12,6 +12,14 @@ public class UsageRecordResponse {
 
     public UsageRecordResponse() {}
 
+    public UsageRecordResponse(Long usageId, Long serviceId, LocalDate usageDate, BigDecimal usageAmount, String unit) {
+        this.usageId = usageId;
+        this.serviceId = serviceId;
+        this.usageDate = usageDate;
+        this.usageAmount = usageAmount;
+        this.unit = unit;
+    }
+
     public Long getUsageId() { return usageId; }
     public void setUsageId(Long usageId) { this.usageId = usageId; }
 
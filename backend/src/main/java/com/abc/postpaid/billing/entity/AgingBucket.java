@@ -0,0 +1,44 @@
+package com.abc.postpaid.billing.entity;
+
+import java.time.LocalDate;
+
+/**
+ * Receivables aging buckets, by whole days past the invoice due date.
+ */
+public enum AgingBucket {
+    DAYS_0_30(1, 30),
+    DAYS_31_60(31, 60),
+    DAYS_61_90(61, 90),
+    DAYS_90_PLUS(91, null);
+
+    private final int minDaysOverdue;
+    private final Integer maxDaysOverdue;
+
+    AgingBucket(int minDaysOverdue, Integer maxDaysOverdue) {
+        this.minDaysOverdue = minDaysOverdue;
+        this.maxDaysOverdue = maxDaysOverdue;
+    }
+
+    public int getMinDaysOverdue() { return minDaysOverdue; }
+    public Integer getMaxDaysOverdue() { return maxDaysOverdue; }
+
+    /** Latest due date that still falls in this bucket on {@code asOf}. */
+    public LocalDate latestDueDate(LocalDate asOf) {
+        return asOf.minusDays(minDaysOverdue);
+    }
+
+    /** Earliest due date that still falls in this bucket on {@code asOf}, or null when open-ended. */
+    public LocalDate earliestDueDate(LocalDate asOf) {
+        return maxDaysOverdue == null ? null : asOf.minusDays(maxDaysOverdue);
+    }
+
+    /** Bucket for an invoice due on {@code dueDate}, or null when it is not yet overdue. */
+    public static AgingBucket of(LocalDate asOf, LocalDate dueDate) {
+        if (dueDate == null || !dueDate.isBefore(asOf)) return null;
+        long days = asOf.toEpochDay() - dueDate.toEpochDay();
+        for (AgingBucket bucket : values()) {
+            if (bucket.maxDaysOverdue == null || days <= bucket.maxDaysOverdue) return bucket;
+        }
+        return DAYS_90_PLUS;
+    }
+}
@@ -0,0 +1,41 @@
+package com.abc.postpaid.billing.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * One row per aging bucket, rebuilt by the nightly aging job so the admin dashboard never scans invoices.
+ */
+@Entity
+@Table(name = "aging_summary")
+public class AgingSummary {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "aging_bucket", length = 16)
+    private AgingBucket agingBucket;
+
+    @Column(name = "invoice_count", nullable = false)
+    private Long invoiceCount;
+
+    @Column(name = "outstanding_amount", nullable = false)
+    private BigDecimal outstandingAmount;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private OffsetDateTime refreshedAt;
+
+    public AgingSummary() {}
+
+    public AgingBucket getAgingBucket() { return agingBucket; }
+    public void setAgingBucket(AgingBucket agingBucket) { this.agingBucket = agingBucket; }
+
+    public Long getInvoiceCount() { return invoiceCount; }
+    public void setInvoiceCount(Long invoiceCount) { this.invoiceCount = invoiceCount; }
+
+    public BigDecimal getOutstandingAmount() { return outstandingAmount; }
+    public void setOutstandingAmount(BigDecimal outstandingAmount) { this.outstandingAmount = outstandingAmount; }
+
+    public OffsetDateTime getRefreshedAt() { return refreshedAt; }
+    public void setRefreshedAt(OffsetDateTime refreshedAt) { this.refreshedAt = refreshedAt; }
+}
@@ -0,0 +1,60 @@
+package com.abc.postpaid.billing.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Dunning progress of one customer: the highest escalation step already applied. A row exists only
+ * while the customer has overdue invoices.
+ */
+@Entity
+@Table(name = "customer_dunning")
+public class CustomerDunning implements Persistable<Long> {
+
+    @Id
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(name = "dunning_step", nullable = false)
+    private int dunningStep;
+
+    @Column(name = "suspended", nullable = false)
+    private boolean suspended;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    // assigned id: persist new rows directly so chunked saveAll batches plain INSERTs
+    @Transient
+    private boolean isNew = true;
+
+    public CustomerDunning() {}
+
+    public CustomerDunning(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
+    public int getDunningStep() { return dunningStep; }
+    public void setDunningStep(int dunningStep) { this.dunningStep = dunningStep; }
+
+    public boolean isSuspended() { return suspended; }
+    public void setSuspended(boolean suspended) { this.suspended = suspended; }
+
+    public OffsetDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(OffsetDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    @Override
+    public Long getId() { return customerId; }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.isNew = false; }
+}
@@ -0,0 +1,11 @@
+package com.abc.postpaid.billing.entity;
+
+/**
+ * What a dunning escalation step does for a customer with overdue invoices.
+ */
+public enum DunningAction {
+    REMIND,
+    FINAL_NOTICE,
+    SUSPEND,
+    RESTORE
+}
@@ -3,6 +3,7 @@ package com.abc.postpaid.billing.entity;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -10,9 +11,16 @@ import com.abc.postpaid.billing.entity.Payment;
 import com.abc.postpaid.customer.entity.Customer;
 
 @Entity
-@Table(name = "invoices")
+@Table(name = "invoices", indexes = {
+        @Index(name = "idx_invoices_customer_status", columnList = "customer_id, status"),
+        @Index(name = "idx_invoices_aging_changed", columnList = "aging_changed_at, invoice_id")
+})
 public class Invoice {
 
+    public static final String STATUS_UNPAID = "unpaid";
+    public static final String STATUS_OVERDUE = "overdue";
+    public static final String STATUS_PAID = "paid";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "invoice_id")
@@ -34,6 +42,16 @@ public class Invoice {
     @Column(name = "status", nullable = false)
     private String status;
 
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "aging_bucket", length = 16)
+    private AgingBucket agingBucket;
+
+    @Column(name = "aging_changed_at")
+    private OffsetDateTime agingChangedAt;
+
     @OneToMany(mappedBy = "invoice", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<Payment> payments = new ArrayList<>();
 
@@ -57,6 +75,15 @@ public class Invoice {
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
 
+    public LocalDate getDueDate() { return dueDate; }
+    public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+
+    public AgingBucket getAgingBucket() { return agingBucket; }
+    public void setAgingBucket(AgingBucket agingBucket) { this.agingBucket = agingBucket; }
+
+    public OffsetDateTime getAgingChangedAt() { return agingChangedAt; }
+    public void setAgingChangedAt(OffsetDateTime agingChangedAt) { this.agingChangedAt = agingChangedAt; }
+
     public List<Payment> getPayments() { return payments; }
     public void setPayments(List<Payment> payments) { this.payments = payments; }
 }
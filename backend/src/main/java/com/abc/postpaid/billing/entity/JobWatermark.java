@@ -0,0 +1,40 @@
+package com.abc.postpaid.billing.entity;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+/**
+ * High-water mark of an incremental batch job: the (changedAt, id) keyset position it has processed up to.
+ * A one-time data migration records its completion as a row here too (see {@code InvoiceDueDateBackfill}).
+ */
+@Entity
+@Table(name = "job_watermarks")
+public class JobWatermark {
+
+    @Id
+    @Column(name = "job_name", length = 64)
+    private String jobName;
+
+    @Column(name = "last_changed_at", nullable = false)
+    private OffsetDateTime lastChangedAt;
+
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;
+
+    public JobWatermark() {}
+
+    public JobWatermark(String jobName, OffsetDateTime lastChangedAt, Long lastId) {
+        this.jobName = jobName;
+        this.lastChangedAt = lastChangedAt;
+        this.lastId = lastId;
+    }
+
+    public String getJobName() { return jobName; }
+    public void setJobName(String jobName) { this.jobName = jobName; }
+
+    public OffsetDateTime getLastChangedAt() { return lastChangedAt; }
+    public void setLastChangedAt(OffsetDateTime lastChangedAt) { this.lastChangedAt = lastChangedAt; }
+
+    public Long getLastId() { return lastId; }
+    public void setLastId(Long lastId) { this.lastId = lastId; }
+}
@@ -0,0 +1,59 @@
+package com.abc.postpaid.billing.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * Late-fee ledger entry. At most one fee is charged per invoice and aging bucket, which is what makes
+ * accrual safe to re-run. Fees stay in this ledger: the invoice's {@code totalAmount} remains the billed
+ * amount, and the balance due is that total plus the invoice's fees, less its payments.
+ */
+@Entity
+@Table(name = "late_fees", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_late_fees_invoice_bucket", columnNames = {"invoice_id", "aging_bucket"})
+})
+public class LateFee {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "late_fee_id")
+    private Long lateFeeId;
+
+    @Column(name = "invoice_id", nullable = false)
+    private Long invoiceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "aging_bucket", nullable = false, length = 16)
+    private AgingBucket agingBucket;
+
+    @Column(name = "amount", nullable = false)
+    private BigDecimal amount;
+
+    @Column(name = "accrued_on", nullable = false)
+    private LocalDate accruedOn;
+
+    @Column(name = "run_at", nullable = false)
+    private OffsetDateTime runAt;
+
+    public LateFee() {}
+
+    public Long getLateFeeId() { return lateFeeId; }
+    public void setLateFeeId(Long lateFeeId) { this.lateFeeId = lateFeeId; }
+
+    public Long getInvoiceId() { return invoiceId; }
+    public void setInvoiceId(Long invoiceId) { this.invoiceId = invoiceId; }
+
+    public AgingBucket getAgingBucket() { return agingBucket; }
+    public void setAgingBucket(AgingBucket agingBucket) { this.agingBucket = agingBucket; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public LocalDate getAccruedOn() { return accruedOn; }
+    public void setAccruedOn(LocalDate accruedOn) { this.accruedOn = accruedOn; }
+
+    public OffsetDateTime getRunAt() { return runAt; }
+    public void setRunAt(OffsetDateTime runAt) { this.runAt = runAt; }
+}
@@ -0,0 +1,62 @@
+package com.abc.postpaid.billing.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "payment_idempotency_keys")
+public class PaymentIdempotencyKey implements Persistable<String> {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    @Id
+    @Column(name = "idempotency_key", length = MAX_KEY_LENGTH)
+    private String idempotencyKey;
+
+    @Column(name = "invoice_id", nullable = false)
+    private Long invoiceId;
+
+    @Column(name = "payment_id", nullable = false)
+    private Long paymentId;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    // assigned key: always INSERT (persist) a fresh instance so a duplicate key fails on the primary
+    // key instead of being merged over the first request's row
+    @Transient
+    private boolean isNew = true;
+
+    public PaymentIdempotencyKey() {}
+
+    public PaymentIdempotencyKey(String idempotencyKey, Long invoiceId, Long paymentId, OffsetDateTime createdAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.invoiceId = invoiceId;
+        this.paymentId = paymentId;
+        this.createdAt = createdAt;
+    }
+
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+
+    public Long getInvoiceId() { return invoiceId; }
+    public void setInvoiceId(Long invoiceId) { this.invoiceId = invoiceId; }
+
+    public Long getPaymentId() { return paymentId; }
+    public void setPaymentId(Long paymentId) { this.paymentId = paymentId; }
+
+    public OffsetDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(OffsetDateTime createdAt) { this.createdAt = createdAt; }
+
+    @Override
+    public String getId() { return idempotencyKey; }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.isNew = false; }
+}
@@ -0,0 +1,10 @@
+package com.abc.postpaid.billing.event;
+
+import com.abc.postpaid.billing.entity.AgingBucket;
+import com.abc.postpaid.billing.entity.DunningAction;
+
+/**
+ * One customer-facing dunning notification. {@code agingBucket} is null for {@link DunningAction#RESTORE}.
+ */
+public record DunningNotice(Long customerId, DunningAction action, AgingBucket agingBucket) {
+}
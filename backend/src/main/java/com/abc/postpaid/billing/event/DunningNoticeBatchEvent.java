@@ -0,0 +1,10 @@
+package com.abc.postpaid.billing.event;
+
+import java.util.List;
+
+/**
+ * Notices produced by one dunning chunk, published inside the chunk's transaction so listeners bound to
+ * the commit only see notices whose state change was persisted.
+ */
+public record DunningNoticeBatchEvent(List<DunningNotice> notices) {
+}
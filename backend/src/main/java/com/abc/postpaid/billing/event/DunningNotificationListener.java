@@ -0,0 +1,24 @@
+package com.abc.postpaid.billing.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Hands committed dunning notices to the notification channel. There is no outbound channel in this
+ * service yet, so the batch is logged; a mail/SMS gateway plugs in here and receives whole batches.
+ */
+@Component
+public class DunningNotificationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(DunningNotificationListener.class);
+
+    @TransactionalEventListener
+    public void onNotices(DunningNoticeBatchEvent event) {
+        log.info("Dispatching {} dunning notices", event.notices().size());
+        for (DunningNotice notice : event.notices()) {
+            log.debug("Dunning {} for customer {} ({})", notice.action(), notice.customerId(), notice.agingBucket());
+        }
+    }
+}
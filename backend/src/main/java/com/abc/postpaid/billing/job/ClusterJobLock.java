@@ -0,0 +1,85 @@
+package com.abc.postpaid.billing.job;
+
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Runs a scheduled job on one node of the cluster at a time. Every node fires the same crons, so each job
+ * first takes a PostgreSQL session advisory lock named after it; a node that does not get the lock skips the
+ * run. The lock lives on its own unpooled connection and is released when the job ends or, if the node
+ * dies, when that connection drops. Whether the database is Postgres is checked once on the application
+ * {@code DataSource} (the one tests replace); on anything else (H2 in tests) jobs run unguarded and no lock
+ * connection is opened.
+ */
+@Component
+public class ClusterJobLock {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterJobLock.class);
+
+    /** First half of the two-key advisory lock, so job locks cannot collide with other advisory lock users. */
+    static final int LOCK_NAMESPACE = 0x62696c6c;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("unpooledDataSource")
+    private DataSource lockDataSource;
+
+    private volatile Boolean postgres;
+
+    /** Runs {@code job} unless another node is running the job of the same name; returns whether it ran. */
+    public boolean runExclusively(String jobName, Runnable job) {
+        if (!isPostgres()) {
+            job.run();
+            return true;
+        }
+        try (Connection connection = lockDataSource.getConnection()) {
+            if (!advisoryLock(connection, "select pg_try_advisory_lock(?, ?)", jobName)) {
+                log.info("Skipping {}: another node is running it", jobName);
+                return false;
+            }
+            try {
+                job.run();
+                return true;
+            } finally {
+                advisoryLock(connection, "select pg_advisory_unlock(?, ?)", jobName);
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("job_lock_unavailable", ex);
+        }
+    }
+
+    private boolean isPostgres() {
+        Boolean known = postgres;
+        if (known == null) {
+            try (Connection connection = dataSource.getConnection()) {
+                known = connection.isWrapperFor(PGConnection.class);
+            } catch (SQLException ex) {
+                throw new IllegalStateException("job_lock_unavailable", ex);
+            }
+            postgres = known;
+        }
+        return known;
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql, String jobName) throws SQLException {
+        try (PreparedStatement st = connection.prepareStatement(sql)) {
+            st.setInt(1, LOCK_NAMESPACE);
+            st.setInt(2, jobName.hashCode());
+            try (ResultSet rs = st.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+}
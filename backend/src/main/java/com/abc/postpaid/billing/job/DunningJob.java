@@ -0,0 +1,28 @@
+package com.abc.postpaid.billing.job;
+
+import com.abc.postpaid.billing.service.DunningService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Nightly dunning pass, scheduled after invoice aging. The schedule is {@code app.billing.dunning.cron};
+ * set it to "-" to disable.
+ * Only one node of the cluster runs it ({@link ClusterJobLock}).
+ */
+@Component
+public class DunningJob {
+
+    @Autowired
+    private DunningService dunningService;
+
+    @Autowired
+    private ClusterJobLock clusterJobLock;
+
+    @Scheduled(cron = "${app.billing.dunning.cron:0 0 3 * * *}")
+    public void run() {
+        clusterJobLock.runExclusively("dunning", () -> dunningService.runDunning(LocalDate.now()));
+    }
+}
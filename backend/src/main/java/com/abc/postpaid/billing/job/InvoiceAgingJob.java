@@ -0,0 +1,40 @@
+package com.abc.postpaid.billing.job;
+
+import com.abc.postpaid.billing.service.InvoiceAgingService;
+import com.abc.postpaid.billing.service.LateFeeAccrualService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Nightly receivables aging, followed by late-fee accrual. The schedule is {@code app.billing.aging.cron};
+ * set it to "-" to disable. Only one node of the cluster runs it ({@link ClusterJobLock}).
+ * <p>
+ * Accrual keys its high-water mark on the {@code agingChangedAt} stamps aging writes, so it runs in the same
+ * locked section, only after every aging partition has committed. Run on its own it could advance the mark
+ * past a stamp whose partition had not committed yet and skip those invoices for good. If aging fails,
+ * accrual waits for the next successful run.
+ */
+@Component
+public class InvoiceAgingJob {
+
+    @Autowired
+    private InvoiceAgingService invoiceAgingService;
+
+    @Autowired
+    private LateFeeAccrualService lateFeeAccrualService;
+
+    @Autowired
+    private ClusterJobLock clusterJobLock;
+
+    @Scheduled(cron = "${app.billing.aging.cron:0 30 1 * * *}")
+    public void run() {
+        clusterJobLock.runExclusively("invoice-aging", () -> {
+            LocalDate asOf = LocalDate.now();
+            invoiceAgingService.runAging(asOf);
+            lateFeeAccrualService.runAccrual(asOf);
+        });
+    }
+}
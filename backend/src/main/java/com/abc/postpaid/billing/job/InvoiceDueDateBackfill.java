@@ -0,0 +1,95 @@
+package com.abc.postpaid.billing.job;
+
+import com.abc.postpaid.billing.entity.Invoice;
+import com.abc.postpaid.billing.entity.JobWatermark;
+import com.abc.postpaid.billing.repository.InvoiceRepository;
+import com.abc.postpaid.billing.repository.JobWatermarkRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * One-time data migration for invoices created before due dates existed: they get {@code billingPeriodEnd}
+ * plus {@code app.billing.payment-terms-days}, the terms new invoices get. It runs at startup on one node,
+ * in keyset chunks of one transaction each, with the date computed in Java so it runs on any database.
+ * Completion is recorded as a row in {@code job_watermarks} (rows changed as {@code lastId}), so it never
+ * runs again; a failure is logged without stopping startup, and the next startup resumes with the invoices
+ * still missing a due date. The schema is managed by Hibernate rather than Flyway, so there is no migration script.
+ */
+@Component
+public class InvoiceDueDateBackfill {
+
+    static final String MIGRATION_NAME = "invoice-due-date-backfill";
+
+    private static final Logger log = LoggerFactory.getLogger(InvoiceDueDateBackfill.class);
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private JobWatermarkRepository jobWatermarkRepository;
+
+    @Autowired
+    private ClusterJobLock clusterJobLock;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.billing.payment-terms-days:15}")
+    private int paymentTermsDays;
+
+    @Value("${app.billing.due-date-backfill.chunk-size:500}")
+    private int chunkSize;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void run() {
+        try {
+            clusterJobLock.runExclusively(MIGRATION_NAME, this::backfill);
+        } catch (RuntimeException ex) {
+            log.error("Due-date backfill failed; it resumes on the next startup", ex);
+        }
+    }
+
+    void backfill() {
+        if (jobWatermarkRepository.existsById(MIGRATION_NAME)) return;
+        Limit chunk = Limit.of(Math.max(1, chunkSize));
+        long changed = 0;
+        Long afterInvoiceId = 0L;
+        while (true) {
+            Long from = afterInvoiceId;
+            List<Long> ids = transactionTemplate.execute(status -> backfillChunk(from, chunk));
+            changed += ids.size();
+            if (ids.size() < chunk.max()) break;
+            afterInvoiceId = ids.get(ids.size() - 1);
+        }
+        jobWatermarkRepository.save(new JobWatermark(MIGRATION_NAME, OffsetDateTime.now(), changed));
+        log.info("Backfilled due dates ({} days after the billing period) on {} invoices", paymentTermsDays, changed);
+    }
+
+    /** Sets the due date on one chunk of invoices, flushed on commit; returns their ids in order. */
+    private List<Long> backfillChunk(Long afterInvoiceId, Limit chunk) {
+        List<Invoice> invoices = invoiceRepository.findMissingDueDatesAfter(afterInvoiceId, chunk);
+        for (Invoice invoice : invoices) {
+            invoice.setDueDate(invoice.getBillingPeriodEnd().plusDays(paymentTermsDays));
+        }
+        return invoices.stream().map(Invoice::getInvoiceId).toList();
+    }
+}
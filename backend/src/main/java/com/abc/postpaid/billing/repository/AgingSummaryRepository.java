@@ -0,0 +1,29 @@
+package com.abc.postpaid.billing.repository;
+
+import com.abc.postpaid.billing.entity.AgingBucket;
+import com.abc.postpaid.billing.entity.AgingSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+
+@Repository
+public interface AgingSummaryRepository extends JpaRepository<AgingSummary, AgingBucket> {
+
+    @Modifying
+    @Query("delete from AgingSummary")
+    int deleteAllRows();
+
+    @Modifying
+    @Query(value = "insert into aging_summary (aging_bucket, invoice_count, outstanding_amount, refreshed_at) " +
+            "select i.aging_bucket, count(*), " +
+            "sum(i.total_amount + coalesce((select sum(f.amount) from late_fees f where f.invoice_id = i.invoice_id), 0) " +
+            "- coalesce((select sum(p.amount) from payments p where p.invoice_id = i.invoice_id), 0)), " +
+            ":refreshedAt " +
+            "from invoices i where i.status = 'overdue' and i.aging_bucket is not null " +
+            "group by i.aging_bucket", nativeQuery = true)
+    int insertFromInvoices(@Param("refreshedAt") OffsetDateTime refreshedAt);
+}
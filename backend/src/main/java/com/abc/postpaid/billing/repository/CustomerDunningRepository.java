@@ -0,0 +1,20 @@
+package com.abc.postpaid.billing.repository;
+
+import com.abc.postpaid.billing.entity.CustomerDunning;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CustomerDunningRepository extends JpaRepository<CustomerDunning, Long> {
+
+    /** Keyset page of customers in dunning whose overdue invoices have all been settled. */
+    @Query("select d from CustomerDunning d where d.customerId > :afterCustomerId " +
+            "and not exists (select 1 from Invoice i where i.customer.customerId = d.customerId and i.status = 'overdue') " +
+            "order by d.customerId")
+    List<CustomerDunning> findRecoveredAfter(@Param("afterCustomerId") Long afterCustomerId, Limit limit);
+}
@@ -1,15 +1,105 @@
 package com.abc.postpaid.billing.repository;
 
+import com.abc.postpaid.billing.entity.AgingBucket;
 import com.abc.postpaid.billing.entity.Invoice;
+import com.abc.postpaid.billing.dto.AgingChangeRow;
+import com.abc.postpaid.billing.dto.InvoiceResponse;
+import com.abc.postpaid.billing.dto.MonthlyAmountRow;
+import com.abc.postpaid.billing.dto.OverdueCustomerRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
 
 @Repository
 public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
-    List<Invoice> findByCustomerCustomerId(Long customerId);
-    List<Invoice> findByBillingPeriodStartBetween(LocalDate startDate, LocalDate endDate);
-    List<Invoice> findByStatus(String status);
+    // ---- list endpoints: selected straight into the response, no managed entities ----
+
+    String INVOICE_RESPONSE = "select new com.abc.postpaid.billing.dto.InvoiceResponse(i.invoiceId, i.customer.customerId, " +
+            "i.billingPeriodStart, i.billingPeriodEnd, i.totalAmount, i.status, i.dueDate, i.agingBucket) from Invoice i ";
+
+    @Query(INVOICE_RESPONSE + "where i.customer.customerId = :customerId order by i.invoiceId")
+    List<InvoiceResponse> findResponsesByCustomerId(@Param("customerId") Long customerId);
+
+    @Query(INVOICE_RESPONSE + "where i.billingPeriodStart between :start and :end order by i.invoiceId")
+    List<InvoiceResponse> findResponsesByBillingPeriodStartBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @Query(INVOICE_RESPONSE + "where i.status = :status order by i.invoiceId")
+    List<InvoiceResponse> findResponsesByStatus(@Param("status") String status);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.abc.postpaid.billing.dto.MonthlyAmountRow(year(i.billingPeriodStart), month(i.billingPeriodStart), count(i), sum(i.totalAmount)) " +
+            "from Invoice i where i.billingPeriodStart between :start and :end " +
+            "group by year(i.billingPeriodStart), month(i.billingPeriodStart)")
+    List<MonthlyAmountRow> sumByBillingMonth(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    // ---- receivables aging: set-based updates, one customer-id range per call ----
+
+    /** Keyset page of legacy invoices without a due date, for the one-time {@code InvoiceDueDateBackfill}. */
+    @Query("select i from Invoice i where i.dueDate is null and i.billingPeriodEnd is not null " +
+            "and i.invoiceId > :afterInvoiceId order by i.invoiceId")
+    List<Invoice> findMissingDueDatesAfter(@Param("afterInvoiceId") Long afterInvoiceId, Limit limit);
+
+    @Query("select min(i.customer.customerId) from Invoice i where i.status in ('unpaid', 'overdue')")
+    Long findMinOpenCustomerId();
+
+    @Query("select max(i.customer.customerId) from Invoice i where i.status in ('unpaid', 'overdue')")
+    Long findMaxOpenCustomerId();
+
+    /** Settles invoices whose payments cover the balance due: the billed total plus accrued late fees. */
+    @Modifying
+    @Query("update Invoice i set i.status = 'paid', i.agingBucket = null, i.agingChangedAt = :changedAt " +
+            "where i.customer.customerId between :fromCustomerId and :toCustomerId " +
+            "and i.status in ('unpaid', 'overdue') " +
+            "and i.totalAmount + (select coalesce(sum(f.amount), 0) from LateFee f where f.invoiceId = i.invoiceId) " +
+            "<= (select coalesce(sum(p.amount), 0) from Payment p where p.invoice = i)")
+    int settlePaidInvoices(@Param("fromCustomerId") Long fromCustomerId, @Param("toCustomerId") Long toCustomerId,
+                           @Param("changedAt") OffsetDateTime changedAt);
+
+    @Modifying
+    @Query("update Invoice i set i.status = 'overdue', i.agingBucket = :bucket, i.agingChangedAt = :changedAt " +
+            "where i.customer.customerId between :fromCustomerId and :toCustomerId " +
+            "and i.status in ('unpaid', 'overdue') " +
+            "and i.dueDate between :dueFrom and :dueTo " +
+            "and (i.agingBucket is null or i.agingBucket <> :bucket)")
+    int moveToAgingBucket(@Param("fromCustomerId") Long fromCustomerId, @Param("toCustomerId") Long toCustomerId,
+                          @Param("bucket") AgingBucket bucket,
+                          @Param("dueFrom") LocalDate dueFrom, @Param("dueTo") LocalDate dueTo,
+                          @Param("changedAt") OffsetDateTime changedAt);
+
+    @Modifying
+    @Query("update Invoice i set i.status = 'overdue', i.agingBucket = :bucket, i.agingChangedAt = :changedAt " +
+            "where i.customer.customerId between :fromCustomerId and :toCustomerId " +
+            "and i.status in ('unpaid', 'overdue') " +
+            "and i.dueDate <= :dueTo " +
+            "and (i.agingBucket is null or i.agingBucket <> :bucket)")
+    int moveToOpenEndedAgingBucket(@Param("fromCustomerId") Long fromCustomerId, @Param("toCustomerId") Long toCustomerId,
+                                   @Param("bucket") AgingBucket bucket, @Param("dueTo") LocalDate dueTo,
+                                   @Param("changedAt") OffsetDateTime changedAt);
+
+    /** Keyset page of customers with overdue invoices and the due date of their oldest one. */
+    @Query("select new com.abc.postpaid.billing.dto.OverdueCustomerRow(i.customer.customerId, min(i.dueDate)) " +
+            "from Invoice i where i.status = 'overdue' and i.customer.customerId > :afterCustomerId " +
+            "group by i.customer.customerId order by i.customer.customerId")
+    List<OverdueCustomerRow> findOverdueCustomersAfter(@Param("afterCustomerId") Long afterCustomerId, Limit limit);
+
+    /** Keyset page of invoices whose aging state changed after the given (changedAt, invoiceId) mark. */
+    @Query("select new com.abc.postpaid.billing.dto.AgingChangeRow(i.invoiceId, i.agingChangedAt) from Invoice i " +
+            "where i.agingChangedAt > :afterChangedAt " +
+            "or (i.agingChangedAt = :afterChangedAt and i.invoiceId > :afterInvoiceId) " +
+            "order by i.agingChangedAt, i.invoiceId")
+    List<AgingChangeRow> findAgingChangesAfter(@Param("afterChangedAt") OffsetDateTime afterChangedAt,
+                                               @Param("afterInvoiceId") Long afterInvoiceId, Limit limit);
 }
@@ -0,0 +1,9 @@
+package com.abc.postpaid.billing.repository;
+
+import com.abc.postpaid.billing.entity.JobWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobWatermarkRepository extends JpaRepository<JobWatermark, String> {
+}
@@ -0,0 +1,35 @@
+package com.abc.postpaid.billing.repository;
+
+import com.abc.postpaid.billing.entity.LateFee;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Repository
+public interface LateFeeRepository extends JpaRepository<LateFee, Long> {
+
+    /**
+     * Charges {@code rate} of the unpaid billed amount on each given invoice that is overdue and has not
+     * yet been charged for its current aging bucket. One statement per chunk of invoices. Earlier fees are
+     * not part of {@code total_amount}, so fees never compound.
+     */
+    @Modifying
+    @Query(value = "insert into late_fees (invoice_id, aging_bucket, amount, accrued_on, run_at) " +
+            "select i.invoice_id, i.aging_bucket, " +
+            "round((i.total_amount - (select coalesce(sum(p.amount), 0) from payments p where p.invoice_id = i.invoice_id)) * :rate, 2), " +
+            ":accruedOn, :runAt " +
+            "from invoices i " +
+            "where i.invoice_id in (:invoiceIds) and i.status = 'overdue' and i.aging_bucket is not null " +
+            "and i.total_amount > (select coalesce(sum(p.amount), 0) from payments p where p.invoice_id = i.invoice_id) " +
+            "and not exists (select 1 from late_fees f where f.invoice_id = i.invoice_id and f.aging_bucket = i.aging_bucket)",
+            nativeQuery = true)
+    int accrueForInvoices(@Param("invoiceIds") List<Long> invoiceIds, @Param("rate") BigDecimal rate,
+                          @Param("accruedOn") LocalDate accruedOn, @Param("runAt") OffsetDateTime runAt);
+}
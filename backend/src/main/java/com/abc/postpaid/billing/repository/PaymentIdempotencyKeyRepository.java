@@ -0,0 +1,9 @@
+package com.abc.postpaid.billing.repository;
+
+import com.abc.postpaid.billing.entity.PaymentIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PaymentIdempotencyKeyRepository extends JpaRepository<PaymentIdempotencyKey, String> {
+}
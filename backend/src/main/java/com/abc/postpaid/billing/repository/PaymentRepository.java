@@ -1,7 +1,15 @@
 package com.abc.postpaid.billing.repository;
 
 import com.abc.postpaid.billing.entity.Payment;
+import com.abc.postpaid.billing.dto.MonthlyAmountRow;
+import com.abc.postpaid.billing.dto.PaymentCollectionRow;
+import com.abc.postpaid.billing.dto.PaymentResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -9,6 +17,30 @@ import java.util.List;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
-    List<Payment> findByInvoiceInvoiceId(Long invoiceId);
-    List<Payment> findByPaymentDateBetween(LocalDate startDate, LocalDate endDate);
+    String PAYMENT_RESPONSE = "select new com.abc.postpaid.billing.dto.PaymentResponse(p.paymentId, p.invoice.invoiceId, " +
+            "p.paymentDate, p.amount, p.paymentMethod) from Payment p ";
+
+    @Query(PAYMENT_RESPONSE + "where p.invoice.invoiceId = :invoiceId order by p.paymentId")
+    List<PaymentResponse> findResponsesByInvoiceId(@Param("invoiceId") Long invoiceId);
+
+    @Query(PAYMENT_RESPONSE + "where p.paymentDate between :start and :end order by p.paymentId")
+    List<PaymentResponse> findResponsesByPaymentDateBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.abc.postpaid.billing.dto.PaymentCollectionRow(p.paymentDate, p.paymentMethod, count(p), sum(p.amount)) " +
+            "from Payment p where p.paymentDate between :start and :end " +
+            "group by p.paymentDate, p.paymentMethod order by p.paymentDate, p.paymentMethod")
+    List<PaymentCollectionRow> sumByPaymentDateAndMethod(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.abc.postpaid.billing.dto.MonthlyAmountRow(year(p.paymentDate), month(p.paymentDate), count(p), sum(p.amount)) " +
+            "from Payment p where p.paymentDate between :start and :end " +
+            "group by year(p.paymentDate), month(p.paymentDate)")
+    List<MonthlyAmountRow> sumByPaymentMonth(@Param("start") LocalDate start, @Param("end") LocalDate end);
 }
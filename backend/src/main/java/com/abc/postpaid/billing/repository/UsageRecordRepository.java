@@ -1,7 +1,14 @@
 package com.abc.postpaid.billing.repository;
 
 import com.abc.postpaid.billing.entity.UsageRecord;
+import com.abc.postpaid.billing.dto.UsageByServiceTypeRow;
+import com.abc.postpaid.billing.dto.UsageRecordResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -9,6 +16,22 @@ import java.util.List;
 
 @Repository
 public interface UsageRecordRepository extends JpaRepository<UsageRecord, Long> {
-    List<UsageRecord> findByServiceServiceId(Long serviceId);
-    List<UsageRecord> findByUsageDateBetween(LocalDate startDate, LocalDate endDate);
+    String USAGE_RECORD_RESPONSE = "select new com.abc.postpaid.billing.dto.UsageRecordResponse(u.usageId, u.service.serviceId, " +
+            "u.usageDate, u.usageAmount, u.unit) from UsageRecord u ";
+
+    @Query(USAGE_RECORD_RESPONSE + "where u.service.serviceId = :serviceId order by u.usageId")
+    List<UsageRecordResponse> findResponsesByServiceId(@Param("serviceId") Long serviceId);
+
+    @Query(USAGE_RECORD_RESPONSE + "where u.usageDate between :start and :end order by u.usageId")
+    List<UsageRecordResponse> findResponsesByUsageDateBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.abc.postpaid.billing.dto.UsageByServiceTypeRow(year(u.usageDate), month(u.usageDate), s.serviceType, u.unit, count(u), sum(u.usageAmount)) " +
+            "from UsageRecord u join u.service s where u.usageDate between :start and :end " +
+            "group by year(u.usageDate), month(u.usageDate), s.serviceType, u.unit " +
+            "order by year(u.usageDate), month(u.usageDate), s.serviceType, u.unit")
+    List<UsageByServiceTypeRow> sumByMonthAndServiceType(@Param("start") LocalDate start, @Param("end") LocalDate end);
 }
@@ -0,0 +1,16 @@
+package com.abc.postpaid.billing.service;
+
+import com.abc.postpaid.billing.dto.AgingSummaryRow;
+import com.abc.postpaid.billing.dto.InvoicedVsCollectedRow;
+import com.abc.postpaid.billing.dto.PaymentCollectionRow;
+import com.abc.postpaid.billing.dto.UsageByServiceTypeRow;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface BillingReportService {
+    List<PaymentCollectionRow> collectionsByDayAndMethod(LocalDate startDate, LocalDate endDate);
+    List<UsageByServiceTypeRow> usageByMonthAndServiceType(LocalDate startDate, LocalDate endDate);
+    List<InvoicedVsCollectedRow> invoicedVsCollectedByMonth(LocalDate startDate, LocalDate endDate);
+    List<AgingSummaryRow> agingSummary();
+}
@@ -0,0 +1,12 @@
+package com.abc.postpaid.billing.service;
+
+import java.time.LocalDate;
+
+public interface DunningService {
+    /**
+     * Escalates customers with overdue invoices through the configured dunning steps as of {@code asOf},
+     * suspending their services when a suspend step is reached, and restores customers whose overdue
+     * invoices have been settled. Returns the number of notices emitted.
+     */
+    int runDunning(LocalDate asOf);
+}
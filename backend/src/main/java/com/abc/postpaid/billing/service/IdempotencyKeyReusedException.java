@@ -0,0 +1,9 @@
+package com.abc.postpaid.billing.service;
+
+/** An {@code Idempotency-Key} already recorded a payment against a different invoice. */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException() {
+        super("idempotency_key_reused");
+    }
+}
@@ -0,0 +1,11 @@
+package com.abc.postpaid.billing.service;
+
+import java.time.LocalDate;
+
+public interface InvoiceAgingService {
+    /**
+     * Settles fully paid invoices, moves open invoices into their overdue bucket as of {@code asOf}
+     * and rebuilds the aging summary. Returns the number of invoices whose status or bucket changed.
+     */
+    int runAging(LocalDate asOf);
+}
@@ -0,0 +1,12 @@
+package com.abc.postpaid.billing.service;
+
+import java.time.LocalDate;
+
+public interface LateFeeAccrualService {
+    /**
+     * Charges late fees on invoices whose aging state changed since the previous run and advances the
+     * job's high-water mark. Re-running for the same day charges nothing twice. Returns the number of
+     * fees written.
+     */
+    int runAccrual(LocalDate asOf);
+}
@@ -0,0 +1,12 @@
+package com.abc.postpaid.billing.service;
+
+import com.abc.postpaid.billing.dto.PaymentRequest;
+
+public interface PaymentIdempotencyService {
+    /**
+     * Records the payment once per idempotency key. A repeated key for the same invoice returns the
+     * payment id of the first request; a key already used for another invoice is rejected with
+     * {@link IllegalStateException}.
+     */
+    Long recordPayment(Long invoiceId, PaymentRequest request, String idempotencyKey);
+}
@@ -8,6 +8,7 @@ import java.util.List;
 
 public interface PaymentService {
     Long recordPayment(Long invoiceId, PaymentRequest request);
+    Long recordPayment(Long invoiceId, PaymentRequest request, String idempotencyKey);
     PaymentResponse getPayment(Long paymentId);
     List<PaymentResponse> listPaymentsByInvoice(Long invoiceId);
     List<PaymentResponse> listPaymentsByDateRange(LocalDate startDate, LocalDate endDate);
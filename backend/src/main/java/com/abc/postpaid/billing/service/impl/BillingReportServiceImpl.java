@@ -0,0 +1,98 @@
+package com.abc.postpaid.billing.service.impl;
+
+import com.abc.postpaid.billing.dto.AgingSummaryRow;
+import com.abc.postpaid.billing.dto.InvoicedVsCollectedRow;
+import com.abc.postpaid.billing.dto.MonthlyAmountRow;
+import com.abc.postpaid.billing.dto.PaymentCollectionRow;
+import com.abc.postpaid.billing.dto.UsageByServiceTypeRow;
+import com.abc.postpaid.billing.entity.AgingSummary;
+import com.abc.postpaid.billing.repository.AgingSummaryRepository;
+import com.abc.postpaid.billing.repository.InvoiceRepository;
+import com.abc.postpaid.billing.repository.PaymentRepository;
+import com.abc.postpaid.billing.repository.UsageRecordRepository;
+import com.abc.postpaid.billing.service.BillingReportService;
+import com.abc.postpaid.config.ReportingWorkload;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Finance reports computed as grouped SQL aggregates: only the aggregated rows leave the database.
+ */
+@Service
+@ReportingWorkload
+@Transactional(readOnly = true)
+public class BillingReportServiceImpl implements BillingReportService {
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private UsageRecordRepository usageRecordRepository;
+
+    @Autowired
+    private AgingSummaryRepository agingSummaryRepository;
+
+    @Override
+    public List<PaymentCollectionRow> collectionsByDayAndMethod(LocalDate startDate, LocalDate endDate) {
+        checkRange(startDate, endDate);
+        return paymentRepository.sumByPaymentDateAndMethod(startDate, endDate);
+    }
+
+    @Override
+    public List<UsageByServiceTypeRow> usageByMonthAndServiceType(LocalDate startDate, LocalDate endDate) {
+        checkRange(startDate, endDate);
+        return usageRecordRepository.sumByMonthAndServiceType(startDate, endDate);
+    }
+
+    @Override
+    public List<InvoicedVsCollectedRow> invoicedVsCollectedByMonth(LocalDate startDate, LocalDate endDate) {
+        checkRange(startDate, endDate);
+        Map<YearMonth, InvoicedVsCollectedRow> byMonth = new TreeMap<>();
+        for (MonthlyAmountRow invoiced : invoiceRepository.sumByBillingMonth(startDate, endDate)) {
+            InvoicedVsCollectedRow row = rowFor(byMonth, invoiced);
+            row.setInvoiceCount(invoiced.getCount());
+            row.setInvoicedAmount(invoiced.getTotalAmount());
+        }
+        for (MonthlyAmountRow collected : paymentRepository.sumByPaymentMonth(startDate, endDate)) {
+            InvoicedVsCollectedRow row = rowFor(byMonth, collected);
+            row.setPaymentCount(collected.getCount());
+            row.setCollectedAmount(collected.getTotalAmount());
+        }
+        return new ArrayList<>(byMonth.values());
+    }
+
+    @Override
+    public List<AgingSummaryRow> agingSummary() {
+        // pre-aggregated by the aging job: at most one row per bucket
+        return agingSummaryRepository.findAll().stream()
+                .sorted(Comparator.comparing(AgingSummary::getAgingBucket))
+                .map(s -> new AgingSummaryRow(s.getAgingBucket().name(), s.getInvoiceCount(),
+                        s.getOutstandingAmount(), s.getRefreshedAt()))
+                .collect(Collectors.toList());
+    }
+
+    private InvoicedVsCollectedRow rowFor(Map<YearMonth, InvoicedVsCollectedRow> byMonth, MonthlyAmountRow source) {
+        return byMonth.computeIfAbsent(YearMonth.of(source.getYear(), source.getMonth()),
+                ym -> new InvoicedVsCollectedRow(ym.getYear(), ym.getMonthValue(), 0L, BigDecimal.ZERO, 0L, BigDecimal.ZERO));
+    }
+
+    private void checkRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("invalid_date_range");
+        }
+    }
+}
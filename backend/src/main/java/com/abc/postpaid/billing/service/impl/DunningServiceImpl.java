@@ -0,0 +1,188 @@
+package com.abc.postpaid.billing.service.impl;
+
+import com.abc.postpaid.billing.dto.OverdueCustomerRow;
+import com.abc.postpaid.billing.entity.AgingBucket;
+import com.abc.postpaid.billing.entity.CustomerDunning;
+import com.abc.postpaid.billing.entity.DunningAction;
+import com.abc.postpaid.billing.event.DunningNotice;
+import com.abc.postpaid.billing.event.DunningNoticeBatchEvent;
+import com.abc.postpaid.billing.repository.CustomerDunningRepository;
+import com.abc.postpaid.billing.repository.InvoiceRepository;
+import com.abc.postpaid.billing.service.DunningService;
+import com.abc.postpaid.cache.SecondLevelCacheInvalidation;
+import com.abc.postpaid.config.DunningProperties;
+import com.abc.postpaid.customer.entity.ServiceEntity;
+import com.abc.postpaid.customer.repository.ServiceRepository;
+import com.abc.postpaid.customer.service.CustomerCaches;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dunning in keyset-paged chunks of customers. Each chunk runs in its own transaction: one grouped
+ * query over overdue invoices, one lookup of the chunk's dunning state, a batched state write, one
+ * set-based service suspension and one notification event for the whole chunk. Nothing is held across
+ * chunks, so a pass over a large customer base streams at constant memory.
+ */
+@Service
+public class DunningServiceImpl implements DunningService {
+
+    private static final Logger log = LoggerFactory.getLogger(DunningServiceImpl.class);
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private CustomerDunningRepository customerDunningRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private CustomerCaches customerCaches;
+
+    @Autowired
+    private SecondLevelCacheInvalidation secondLevelCacheInvalidation;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DunningProperties dunningProperties;
+
+    private TransactionTemplate transactionTemplate;
+
+    private record ChunkResult(int fetched, Long lastCustomerId, int notices) {}
+
+    @PostConstruct
+    public void init() {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public int runDunning(LocalDate asOf) {
+        List<DunningProperties.Step> steps = new ArrayList<>(dunningProperties.getSteps());
+        steps.sort(Comparator.comparing(DunningProperties.Step::getBucket));
+        Limit chunk = Limit.of(Math.max(1, dunningProperties.getChunkSize()));
+
+        int notices = 0;
+        Long afterCustomerId = 0L;
+        ChunkResult result;
+        do {
+            Long after = afterCustomerId;
+            result = transactionTemplate.execute(status -> escalateChunk(after, chunk, steps, asOf));
+            notices += result.notices();
+            afterCustomerId = result.lastCustomerId();
+        } while (result.fetched() == chunk.max());
+
+        afterCustomerId = 0L;
+        do {
+            Long after = afterCustomerId;
+            result = transactionTemplate.execute(status -> restoreChunk(after, chunk));
+            notices += result.notices();
+            afterCustomerId = result.lastCustomerId();
+        } while (result.fetched() == chunk.max());
+
+        log.info("Dunning as of {} emitted {} notices", asOf, notices);
+        return notices;
+    }
+
+    private ChunkResult escalateChunk(Long afterCustomerId, Limit chunk, List<DunningProperties.Step> steps, LocalDate asOf) {
+        List<OverdueCustomerRow> rows = invoiceRepository.findOverdueCustomersAfter(afterCustomerId, chunk);
+        if (rows.isEmpty()) return new ChunkResult(0, afterCustomerId, 0);
+
+        List<Long> customerIds = rows.stream().map(OverdueCustomerRow::getCustomerId).toList();
+        Map<Long, CustomerDunning> states = new HashMap<>();
+        for (CustomerDunning state : customerDunningRepository.findAllById(customerIds)) {
+            states.put(state.getCustomerId(), state);
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        List<CustomerDunning> changed = new ArrayList<>();
+        List<Long> toSuspend = new ArrayList<>();
+        List<DunningNotice> notices = new ArrayList<>();
+        for (OverdueCustomerRow row : rows) {
+            AgingBucket bucket = AgingBucket.of(asOf, row.getOldestDueDate());
+            int target = reachedSteps(steps, bucket);
+            CustomerDunning state = states.getOrDefault(row.getCustomerId(), new CustomerDunning(row.getCustomerId()));
+            if (target <= state.getDunningStep()) continue;
+
+            // a customer may skip several steps at once; suspend if any skipped step suspends,
+            // but only notify with the most severe one
+            boolean suspend = false;
+            for (int i = state.getDunningStep(); i < target; i++) {
+                suspend |= steps.get(i).getAction() == DunningAction.SUSPEND;
+            }
+            if (suspend && !state.isSuspended()) {
+                state.setSuspended(true);
+                toSuspend.add(row.getCustomerId());
+            }
+            state.setDunningStep(target);
+            state.setUpdatedAt(now);
+            changed.add(state);
+            notices.add(new DunningNotice(row.getCustomerId(), steps.get(target - 1).getAction(), bucket));
+        }
+
+        customerDunningRepository.saveAll(changed);
+        if (!toSuspend.isEmpty()) {
+            serviceRepository.suspendForNonPayment(toSuspend);
+            customerCaches.evictServices(toSuspend);
+            secondLevelCacheInvalidation.entitiesChanged(ServiceEntity.class);
+        }
+        if (!notices.isEmpty()) eventPublisher.publishEvent(new DunningNoticeBatchEvent(notices));
+        return new ChunkResult(rows.size(), rows.get(rows.size() - 1).getCustomerId(), notices.size());
+    }
+
+    private ChunkResult restoreChunk(Long afterCustomerId, Limit chunk) {
+        List<CustomerDunning> recovered = customerDunningRepository.findRecoveredAfter(afterCustomerId, chunk);
+        if (recovered.isEmpty()) return new ChunkResult(0, afterCustomerId, 0);
+
+        List<Long> customerIds = new ArrayList<>();
+        List<Long> suspendedIds = new ArrayList<>();
+        for (CustomerDunning state : recovered) {
+            customerIds.add(state.getCustomerId());
+            if (state.isSuspended()) suspendedIds.add(state.getCustomerId());
+        }
+
+        if (!suspendedIds.isEmpty()) {
+            serviceRepository.restoreAfterPayment(suspendedIds);
+            customerCaches.evictServices(suspendedIds);
+            secondLevelCacheInvalidation.entitiesChanged(ServiceEntity.class);
+        }
+        customerDunningRepository.deleteAllByIdInBatch(customerIds);
+
+        List<DunningNotice> notices = suspendedIds.stream()
+                .map(id -> new DunningNotice(id, DunningAction.RESTORE, null))
+                .toList();
+        if (!notices.isEmpty()) eventPublisher.publishEvent(new DunningNoticeBatchEvent(notices));
+        return new ChunkResult(recovered.size(), customerIds.get(customerIds.size() - 1), notices.size());
+    }
+
+    /** Number of leading steps whose bucket has been reached by a customer in {@code bucket}. */
+    static int reachedSteps(List<DunningProperties.Step> steps, AgingBucket bucket) {
+        if (bucket == null) return 0;
+        int reached = 0;
+        for (DunningProperties.Step step : steps) {
+            if (step.getBucket().compareTo(bucket) > 0) break;
+            reached++;
+        }
+        return reached;
+    }
+}
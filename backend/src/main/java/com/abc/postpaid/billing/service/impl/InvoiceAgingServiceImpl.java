@@ -0,0 +1,137 @@
+package com.abc.postpaid.billing.service.impl;
+
+import com.abc.postpaid.billing.entity.AgingBucket;
+import com.abc.postpaid.billing.repository.AgingSummaryRepository;
+import com.abc.postpaid.billing.repository.InvoiceRepository;
+import com.abc.postpaid.billing.service.InvoiceAgingService;
+import com.abc.postpaid.monitoring.BillRunPartitionEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Receivables aging as set-based UPDATEs. Open invoices are split into customer-id ranges and each
+ * range is aged in its own transaction on a small worker pool, so no invoice rows are loaded into the
+ * application and partitions do not contend on the same rows. Every changed row is stamped with the
+ * run's {@code agingChangedAt}, which incremental consumers such as late-fee accrual key on.
+ */
+@Service
+public class InvoiceAgingServiceImpl implements InvoiceAgingService {
+
+    private static final Logger log = LoggerFactory.getLogger(InvoiceAgingServiceImpl.class);
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private AgingSummaryRepository agingSummaryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.billing.aging.partitions:8}")
+    private int partitions;
+
+    @Value("${app.billing.aging.threads:4}")
+    private int threads;
+
+    private ExecutorService executor;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        this.executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("invoice-aging-"));
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public int runAging(LocalDate asOf) {
+        int changed = 0;
+        OffsetDateTime changedAt = OffsetDateTime.now();
+        Long minCustomerId = invoiceRepository.findMinOpenCustomerId();
+        Long maxCustomerId = invoiceRepository.findMaxOpenCustomerId();
+        if (minCustomerId != null && maxCustomerId != null) {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (long[] range : partition(minCustomerId, maxCustomerId, partitions)) {
+                results.add(executor.submit(() -> agePartition(range[0], range[1], asOf, changedAt)));
+            }
+            for (Future<Integer> result : results) {
+                changed += await(result);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            agingSummaryRepository.deleteAllRows();
+            agingSummaryRepository.insertFromInvoices(OffsetDateTime.now());
+        });
+        log.info("Invoice aging as of {} changed {} invoices", asOf, changed);
+        return changed;
+    }
+
+    private int agePartition(long fromCustomerId, long toCustomerId, LocalDate asOf, OffsetDateTime changedAt) {
+        BillRunPartitionEvent event = new BillRunPartitionEvent();
+        event.begin();
+        Integer changed = transactionTemplate.execute(status -> {
+            int rows = invoiceRepository.settlePaidInvoices(fromCustomerId, toCustomerId, changedAt);
+            for (AgingBucket bucket : AgingBucket.values()) {
+                LocalDate earliest = bucket.earliestDueDate(asOf);
+                rows += earliest == null
+                        ? invoiceRepository.moveToOpenEndedAgingBucket(fromCustomerId, toCustomerId, bucket,
+                                bucket.latestDueDate(asOf), changedAt)
+                        : invoiceRepository.moveToAgingBucket(fromCustomerId, toCustomerId, bucket,
+                                earliest, bucket.latestDueDate(asOf), changedAt);
+            }
+            return rows;
+        });
+        int rows = changed != null ? changed : 0;
+        if (event.shouldCommit()) {
+            event.fromCustomerId = fromCustomerId;
+            event.toCustomerId = toCustomerId;
+            event.asOf = asOf.toString();
+            event.invoicesChanged = rows;
+            event.commit();
+        }
+        return rows;
+    }
+
+    private int await(Future<Integer> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("aging_interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("aging_partition_failed", ex.getCause());
+        }
+    }
+
+    static List<long[]> partition(long min, long max, int parts) {
+        List<long[]> ranges = new ArrayList<>();
+        long width = Math.max(1, (max - min + parts) / Math.max(1, parts));
+        for (long from = min; from <= max; from += width) {
+            ranges.add(new long[] {from, Math.min(max, from + width - 1)});
+        }
+        return ranges;
+    }
+}
@@ -5,15 +5,20 @@ import com.abc.postpaid.billing.dto.InvoiceResponse;
 import com.abc.postpaid.billing.entity.Invoice;
 import com.abc.postpaid.billing.repository.InvoiceRepository;
 import com.abc.postpaid.billing.service.InvoiceService;
+import com.abc.postpaid.cache.SingleFlight;
+import com.abc.postpaid.config.AfterCommit;
+import com.abc.postpaid.config.ReportingWorkload;
 import com.abc.postpaid.customer.entity.Customer;
 import com.abc.postpaid.customer.repository.CustomerRepository;
+import com.abc.postpaid.monitoring.BillingMetrics;
+import com.abc.postpaid.monitoring.InvoiceCreateEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class InvoiceServiceImpl implements InvoiceService {
@@ -24,9 +29,20 @@ public class InvoiceServiceImpl implements InvoiceService {
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private BillingMetrics billingMetrics;
+
+    @Value("${app.billing.payment-terms-days:15}")
+    private int paymentTermsDays;
+
     @Override
     @Transactional
     public Long createInvoice(Long customerId, InvoiceRequest request) {
+        InvoiceCreateEvent event = new InvoiceCreateEvent();
+        event.begin();
         Customer customer = customerRepository.findById(customerId)
                 .orElseThrow(() -> new IllegalArgumentException("Customer not found"));
 
@@ -35,38 +51,63 @@ public class InvoiceServiceImpl implements InvoiceService {
         invoice.setBillingPeriodStart(request.getBillingPeriodStart());
         invoice.setBillingPeriodEnd(request.getBillingPeriodEnd());
         invoice.setTotalAmount(request.getTotalAmount());
-        invoice.setStatus(request.getStatus() != null ? request.getStatus() : "unpaid");
+        invoice.setStatus(request.getStatus() != null ? request.getStatus() : Invoice.STATUS_UNPAID);
+        LocalDate dueDate = request.getDueDate();
+        if (dueDate == null && request.getBillingPeriodEnd() != null) {
+            dueDate = request.getBillingPeriodEnd().plusDays(paymentTermsDays);
+        }
+        invoice.setDueDate(dueDate);
 
         Invoice saved = invoiceRepository.save(invoice);
+        billingMetrics.invoiceGenerated();
+        // recorded after commit, so the event's duration includes the commit and a rollback records nothing
+        AfterCommit.run(() -> {
+            if (event.shouldCommit()) {
+                event.customerId = customerId;
+                event.invoiceId = saved.getInvoiceId();
+                event.totalAmount = saved.getTotalAmount() != null ? saved.getTotalAmount().doubleValue() : 0;
+                event.status = saved.getStatus();
+                event.commit();
+            }
+        });
         return saved.getInvoiceId();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public InvoiceResponse getInvoice(Long invoiceId) {
-        Invoice invoice = invoiceRepository.findById(invoiceId)
-                .orElseThrow(() -> new IllegalArgumentException("Invoice not found"));
-        return mapToResponse(invoice);
+        // collapsed callers share the leader's result; each gets its own copy of the mutable DTO
+        return new InvoiceResponse(singleFlight.execute("getInvoice", () -> {
+            Invoice invoice = invoiceRepository.findById(invoiceId)
+                    .orElseThrow(() -> new IllegalArgumentException("Invoice not found"));
+            return mapToResponse(invoice);
+        }, invoiceId));
     }
 
+    // list reads select straight into the response DTOs: no managed entities, snapshots or flush
+
     @Override
+    @Transactional(readOnly = true)
     public List<InvoiceResponse> listInvoicesByCustomer(Long customerId) {
-        return invoiceRepository.findByCustomerCustomerId(customerId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        // a dashboard opened by many staff at once asks for the same list concurrently; the query is shared,
+        // the DTOs are copied per caller. Callers waiting on the shared call run no statement, so behind the
+        // lazy connection proxy their transactions never take a connection.
+        return singleFlight.execute("listInvoicesByCustomer",
+                () -> List.copyOf(invoiceRepository.findResponsesByCustomerId(customerId)), customerId)
+                .stream().map(InvoiceResponse::new).toList();
     }
 
     @Override
+    @ReportingWorkload
+    @Transactional(readOnly = true)
     public List<InvoiceResponse> listInvoicesByDateRange(LocalDate startDate, LocalDate endDate) {
-        return invoiceRepository.findByBillingPeriodStartBetween(startDate, endDate).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return invoiceRepository.findResponsesByBillingPeriodStartBetween(startDate, endDate);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<InvoiceResponse> listInvoicesByStatus(String status) {
-        return invoiceRepository.findByStatus(status).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return invoiceRepository.findResponsesByStatus(status);
     }
 
     private InvoiceResponse mapToResponse(Invoice invoice) {
@@ -77,6 +118,8 @@ public class InvoiceServiceImpl implements InvoiceService {
         resp.setBillingPeriodEnd(invoice.getBillingPeriodEnd());
         resp.setTotalAmount(invoice.getTotalAmount());
         resp.setStatus(invoice.getStatus());
+        resp.setDueDate(invoice.getDueDate());
+        resp.setAgingBucket(invoice.getAgingBucket() != null ? invoice.getAgingBucket().name() : null);
         return resp;
     }
 }
@@ -0,0 +1,83 @@
+package com.abc.postpaid.billing.service.impl;
+
+import com.abc.postpaid.billing.dto.PaymentRequest;
+import com.abc.postpaid.billing.entity.PaymentIdempotencyKey;
+import com.abc.postpaid.billing.repository.PaymentIdempotencyKeyRepository;
+import com.abc.postpaid.billing.service.IdempotencyKeyReusedException;
+import com.abc.postpaid.billing.service.PaymentIdempotencyService;
+import com.abc.postpaid.billing.service.PaymentService;
+import com.abc.postpaid.config.DataSourceRoute;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Idempotent front for {@link PaymentService#recordPayment}. Known keys are answered from a bounded,
+ * TTL-evicted in-memory cache and then from the persistent key table, so a gateway retry never opens
+ * a write transaction. Only a first-seen key reaches the transactional path.
+ */
+@Service
+public class PaymentIdempotencyServiceImpl implements PaymentIdempotencyService {
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentIdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Value("${app.payments.idempotency.cache-max-entries:10000}")
+    private long cacheMaxEntries;
+
+    @Value("${app.payments.idempotency.cache-ttl-minutes:60}")
+    private long cacheTtlMinutes;
+
+    private Cache<String, RecordedPayment> recentKeys;
+
+    private record RecordedPayment(Long invoiceId, Long paymentId) {}
+
+    @PostConstruct
+    public void init() {
+        this.recentKeys = Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .expireAfterWrite(Duration.ofMinutes(cacheTtlMinutes))
+                .build();
+    }
+
+    @Override
+    public Long recordPayment(Long invoiceId, PaymentRequest request, String idempotencyKey) {
+        Long existing = findRecordedPayment(invoiceId, idempotencyKey);
+        if (existing != null) return existing;
+
+        try {
+            Long paymentId = paymentService.recordPayment(invoiceId, request, idempotencyKey);
+            recentKeys.put(idempotencyKey, new RecordedPayment(invoiceId, paymentId));
+            return paymentId;
+        } catch (DataIntegrityViolationException ex) {
+            // a concurrent retry with the same key committed first; answer with its payment, read from the
+            // primary: the replica may not have the winner's key yet
+            Long winner = DataSourceRoute.onPrimary(() -> findRecordedPayment(invoiceId, idempotencyKey));
+            if (winner == null) throw ex;
+            return winner;
+        }
+    }
+
+    private Long findRecordedPayment(Long invoiceId, String idempotencyKey) {
+        RecordedPayment recorded = recentKeys.getIfPresent(idempotencyKey);
+        if (recorded == null) {
+            PaymentIdempotencyKey row = idempotencyKeyRepository.findById(idempotencyKey).orElse(null);
+            if (row == null) return null;
+            recorded = new RecordedPayment(row.getInvoiceId(), row.getPaymentId());
+            recentKeys.put(idempotencyKey, recorded);
+        }
+        if (!recorded.invoiceId().equals(invoiceId)) {
+            throw new IdempotencyKeyReusedException();
+        }
+        return recorded.paymentId();
+    }
+}
@@ -4,16 +4,22 @@ import com.abc.postpaid.billing.dto.PaymentRequest;
 import com.abc.postpaid.billing.dto.PaymentResponse;
 import com.abc.postpaid.billing.entity.Invoice;
 import com.abc.postpaid.billing.entity.Payment;
+import com.abc.postpaid.billing.entity.PaymentIdempotencyKey;
 import com.abc.postpaid.billing.repository.InvoiceRepository;
+import com.abc.postpaid.billing.repository.PaymentIdempotencyKeyRepository;
 import com.abc.postpaid.billing.repository.PaymentRepository;
 import com.abc.postpaid.billing.service.PaymentService;
+import com.abc.postpaid.config.AfterCommit;
+import com.abc.postpaid.config.ReportingWorkload;
+import com.abc.postpaid.monitoring.BillingMetrics;
+import com.abc.postpaid.monitoring.PaymentRecordEvent;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class PaymentServiceImpl implements PaymentService {
@@ -24,9 +30,23 @@ public class PaymentServiceImpl implements PaymentService {
     @Autowired
     private InvoiceRepository invoiceRepository;
 
+    @Autowired
+    private PaymentIdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private BillingMetrics billingMetrics;
+
     @Override
     @Transactional
     public Long recordPayment(Long invoiceId, PaymentRequest request) {
+        return recordPayment(invoiceId, request, null);
+    }
+
+    @Override
+    @Transactional
+    public Long recordPayment(Long invoiceId, PaymentRequest request, String idempotencyKey) {
+        PaymentRecordEvent event = new PaymentRecordEvent();
+        event.begin();
         Invoice invoice = invoiceRepository.findById(invoiceId)
                 .orElseThrow(() -> new IllegalArgumentException("Invoice not found"));
 
@@ -37,10 +57,29 @@ public class PaymentServiceImpl implements PaymentService {
         payment.setPaymentMethod(request.getPaymentMethod());
 
         Payment saved = paymentRepository.save(payment);
+        if (idempotencyKey != null) {
+            // claimed in the same transaction as the payment: a concurrent retry with the same key
+            // fails on the primary key here and rolls its payment back
+            idempotencyKeyRepository.saveAndFlush(new PaymentIdempotencyKey(idempotencyKey, invoiceId,
+                    saved.getPaymentId(), OffsetDateTime.now()));
+        }
+        billingMetrics.paymentRecorded();
+        // recorded after commit: a payment rolled back on an idempotency-key collision leaves no event
+        AfterCommit.run(() -> {
+            if (event.shouldCommit()) {
+                event.invoiceId = invoiceId;
+                event.paymentId = saved.getPaymentId();
+                event.amount = saved.getAmount() != null ? saved.getAmount().doubleValue() : 0;
+                event.paymentMethod = saved.getPaymentMethod();
+                event.idempotencyKey = idempotencyKey != null;
+                event.commit();
+            }
+        });
         return saved.getPaymentId();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PaymentResponse getPayment(Long paymentId) {
         Payment payment = paymentRepository.findById(paymentId)
                 .orElseThrow(() -> new IllegalArgumentException("Payment not found"));
@@ -48,17 +87,16 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<PaymentResponse> listPaymentsByInvoice(Long invoiceId) {
-        return paymentRepository.findByInvoiceInvoiceId(invoiceId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return paymentRepository.findResponsesByInvoiceId(invoiceId);
     }
 
     @Override
+    @ReportingWorkload
+    @Transactional(readOnly = true)
     public List<PaymentResponse> listPaymentsByDateRange(LocalDate startDate, LocalDate endDate) {
-        return paymentRepository.findByPaymentDateBetween(startDate, endDate).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return paymentRepository.findResponsesByPaymentDateBetween(startDate, endDate);
     }
 
     private PaymentResponse mapToResponse(Payment payment) {
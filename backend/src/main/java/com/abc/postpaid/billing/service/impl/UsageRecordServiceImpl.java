@@ -5,15 +5,17 @@ import com.abc.postpaid.billing.dto.UsageRecordResponse;
 import com.abc.postpaid.billing.entity.UsageRecord;
 import com.abc.postpaid.billing.repository.UsageRecordRepository;
 import com.abc.postpaid.billing.service.UsageRecordService;
+import com.abc.postpaid.config.ReportingWorkload;
 import com.abc.postpaid.customer.entity.ServiceEntity;
 import com.abc.postpaid.customer.repository.ServiceRepository;
+import com.abc.postpaid.monitoring.BillingMetrics;
+import com.abc.postpaid.monitoring.UsageIngestEvent;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class UsageRecordServiceImpl implements UsageRecordService {
@@ -24,9 +26,14 @@ public class UsageRecordServiceImpl implements UsageRecordService {
     @Autowired
     private ServiceRepository serviceRepository;
 
+    @Autowired
+    private BillingMetrics billingMetrics;
+
     @Override
     @Transactional
     public Long createUsageRecord(Long serviceId, UsageRecordRequest request) {
+        UsageIngestEvent event = new UsageIngestEvent();
+        event.begin();
         ServiceEntity service = serviceRepository.findById(serviceId)
                 .orElseThrow(() -> new IllegalArgumentException("Service not found"));
 
@@ -37,10 +44,18 @@ public class UsageRecordServiceImpl implements UsageRecordService {
         record.setUnit(request.getUnit());
 
         UsageRecord saved = usageRecordRepository.save(record);
+        billingMetrics.usageRecordsIngested(1);
+        if (event.shouldCommit()) {
+            event.serviceId = serviceId;
+            event.records = 1;
+            event.unit = request.getUnit();
+            event.commit();
+        }
         return saved.getUsageId();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UsageRecordResponse getUsageRecord(Long usageId) {
         UsageRecord record = usageRecordRepository.findById(usageId)
                 .orElseThrow(() -> new IllegalArgumentException("Usage record not found"));
@@ -48,17 +63,16 @@ public class UsageRecordServiceImpl implements UsageRecordService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UsageRecordResponse> listUsageRecordsByService(Long serviceId) {
-        return usageRecordRepository.findByServiceServiceId(serviceId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return usageRecordRepository.findResponsesByServiceId(serviceId);
     }
 
     @Override
+    @ReportingWorkload
+    @Transactional(readOnly = true)
     public List<UsageRecordResponse> listUsageRecordsByDateRange(LocalDate startDate, LocalDate endDate) {
-        return usageRecordRepository.findByUsageDateBetween(startDate, endDate).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return usageRecordRepository.findResponsesByUsageDateBetween(startDate, endDate);
     }
 
     private UsageRecordResponse mapToResponse(UsageRecord record) {
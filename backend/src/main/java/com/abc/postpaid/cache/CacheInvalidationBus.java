@@ -0,0 +1,169 @@
+package com.abc.postpaid.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Keeps in-process caches consistent across nodes. A write path calls {@link #publish}: the keys are
+ * evicted locally at once and queued; a flusher drains the queue every {@code flush-ms} and sends the
+ * coalesced keys to the other nodes with Postgres {@code pg_notify}, so a burst of writes costs a few
+ * notifications rather than one per key. {@link PostgresInvalidationListener} hands incoming
+ * notifications to {@link #onNotification}, which evicts through the handlers caches registered.
+ */
+@Component
+public class CacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    /** Key meaning "every entry of the region". */
+    public static final String ALL_KEYS = InvalidationMessage.ALL_KEYS;
+
+    // Postgres rejects NOTIFY payloads of 8000 bytes or more
+    private static final int MAX_PAYLOAD = 7900;
+
+    @Autowired(required = false)
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.cache.invalidation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cache.invalidation.channel:cache_invalidation}")
+    private String channel;
+
+    @Value("${app.cache.invalidation.flush-ms:50}")
+    private long flushMillis;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, Consumer<Collection<String>>> handlers = new ConcurrentHashMap<>();
+
+    private Map<String, Set<String>> pending = new LinkedHashMap<>();
+
+    private volatile boolean remoteEnabled;
+
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) return;
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "cache-invalidation-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher == null) return;
+        flusher.shutdown();
+        flush();
+    }
+
+    /** Registers how to evict keys of {@code region}; {@code *} in the keys means the whole region. */
+    public void register(String region, Consumer<Collection<String>> evictor) {
+        handlers.put(region, evictor);
+    }
+
+    /** Evicts the keys here and queues them for the other nodes. */
+    public void publish(String region, Collection<?> keys) {
+        if (keys.isEmpty()) return;
+        Set<String> asStrings = new LinkedHashSet<>();
+        for (Object key : keys) asStrings.add(String.valueOf(key));
+        evict(region, asStrings);
+        queue(region, asStrings);
+    }
+
+    /** Queues the keys for the other nodes only, for caches that already evicted here. */
+    void publishRemote(String region, Collection<?> keys) {
+        if (keys.isEmpty()) return;
+        Set<String> asStrings = new LinkedHashSet<>();
+        for (Object key : keys) asStrings.add(String.valueOf(key));
+        queue(region, asStrings);
+    }
+
+    /** Evictor for a region keyed by {@code Long} ids. */
+    public static Consumer<Collection<String>> longKeys(Cache<Long, ?> cache) {
+        return keys -> {
+            if (keys.contains(InvalidationMessage.ALL_KEYS)) {
+                cache.invalidateAll();
+                return;
+            }
+            for (String key : keys) cache.invalidate(Long.valueOf(key));
+        };
+    }
+
+    public String getChannel() { return channel; }
+
+    public boolean isEnabled() { return enabled; }
+
+    /** Called by the listener once it listens on a Postgres connection (or lost it). */
+    void setRemoteEnabled(boolean remoteEnabled) {
+        this.remoteEnabled = remoteEnabled;
+    }
+
+    void onNotification(String payload) {
+        InvalidationMessage message = InvalidationMessage.decode(payload);
+        if (nodeId.equals(message.origin())) return;
+        message.keysByRegion().forEach(this::evict);
+    }
+
+    /** After missing notifications (listener reconnect) every registered region is cleared. */
+    void evictAll() {
+        handlers.values().forEach(h -> h.accept(Set.of(InvalidationMessage.ALL_KEYS)));
+    }
+
+    void flush() {
+        Map<String, Set<String>> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) return;
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+        List<String> payloads = InvalidationMessage.encode(nodeId, batch, MAX_PAYLOAD);
+        try {
+            for (String payload : payloads) {
+                jdbcTemplate.queryForObject("select pg_notify(?, ?)", String.class, channel, payload);
+            }
+        } catch (RuntimeException ex) {
+            // other nodes keep stale entries until their TTL; nothing else to do without the database
+            log.warn("Could not publish {} cache invalidation notification(s)", payloads.size(), ex);
+        }
+    }
+
+    String getNodeId() { return nodeId; }
+
+    private void queue(String region, Set<String> keys) {
+        if (!remoteEnabled) return;
+        synchronized (this) {
+            Set<String> queued = pending.computeIfAbsent(region, r -> new LinkedHashSet<>());
+            if (!queued.contains(InvalidationMessage.ALL_KEYS)) queued.addAll(keys);
+        }
+    }
+
+    private void evict(String region, Collection<String> keys) {
+        Consumer<Collection<String>> handler = handlers.get(region);
+        if (handler != null) handler.accept(keys);
+    }
+}
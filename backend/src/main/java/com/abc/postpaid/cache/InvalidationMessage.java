@@ -0,0 +1,59 @@
+package com.abc.postpaid.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Wire format of a cache invalidation notification: the origin node id on the first line, then one
+ * line per region, {@code region<TAB>key,key,...}. A key of {@code *} clears the whole region. Batches
+ * that would exceed the NOTIFY payload limit are split across several messages.
+ */
+record InvalidationMessage(String origin, Map<String, Set<String>> keysByRegion) {
+
+    static final String ALL_KEYS = "*";
+
+    /** Packs the keys into as few payloads as possible, each at most {@code maxLength} chars (all ASCII). */
+    static List<String> encode(String origin, Map<String, ? extends Collection<String>> keysByRegion, int maxLength) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(origin);
+        String openRegion = null;
+        for (Map.Entry<String, ? extends Collection<String>> region : keysByRegion.entrySet()) {
+            for (String key : region.getValue()) {
+                boolean continues = region.getKey().equals(openRegion);
+                int added = continues ? 1 + key.length() : 2 + region.getKey().length() + key.length();
+                if (payload.length() + added > maxLength && payload.length() > origin.length()) {
+                    payloads.add(payload.toString());
+                    payload = new StringBuilder(origin);
+                    continues = false;
+                }
+                if (continues) {
+                    payload.append(',').append(key);
+                } else {
+                    payload.append('\n').append(region.getKey()).append('\t').append(key);
+                    openRegion = region.getKey();
+                }
+            }
+        }
+        if (payload.length() > origin.length()) payloads.add(payload.toString());
+        return payloads;
+    }
+
+    static InvalidationMessage decode(String payload) {
+        String[] lines = payload.split("\n");
+        Map<String, Set<String>> keysByRegion = new LinkedHashMap<>();
+        for (int i = 1; i < lines.length; i++) {
+            int tab = lines[i].indexOf('\t');
+            if (tab <= 0) continue;
+            Set<String> keys = keysByRegion.computeIfAbsent(lines[i].substring(0, tab), r -> new LinkedHashSet<>());
+            for (String key : lines[i].substring(tab + 1).split(",")) {
+                if (!key.isEmpty()) keys.add(key);
+            }
+        }
+        return new InvalidationMessage(lines[0], keysByRegion);
+    }
+}
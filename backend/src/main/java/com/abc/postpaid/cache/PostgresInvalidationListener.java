@@ -0,0 +1,109 @@
+package com.abc.postpaid.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Holds one connection in {@code LISTEN} on the invalidation channel and feeds notifications to the
+ * {@link CacheInvalidationBus}. The connection comes from {@code unpooledDataSource}, outside the pools and
+ * their limiters, so holding it for the life of the node costs request traffic neither a pooled connection
+ * nor a limiter permit. When it drops, the listener reconnects with backoff and clears every registered
+ * region, since notifications sent meanwhile are lost. Whether the database is Postgres is probed on the
+ * application {@code DataSource}, the one tests replace; on anything else (H2 in tests) the listener stays
+ * off, never dials the configured server, and caches are only invalidated locally.
+ */
+@Component
+public class PostgresInvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresInvalidationListener.class);
+
+    private static final int POLL_MILLIS = 500;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("unpooledDataSource")
+    private DataSource listenDataSource;
+
+    @Autowired
+    private CacheInvalidationBus bus;
+
+    private volatile boolean running;
+
+    private Thread thread;
+
+    @PostConstruct
+    public void start() {
+        if (!bus.isEnabled()) return;
+        try (Connection probe = dataSource.getConnection()) {
+            if (!probe.isWrapperFor(PGConnection.class)) {
+                log.info("Database is not PostgreSQL; cache invalidation stays node-local");
+                return;
+            }
+        } catch (SQLException ex) {
+            log.warn("Could not probe the database; cache invalidation will be retried in the background", ex);
+        }
+        running = true;
+        thread = new Thread(this::run, "cache-invalidation-listen");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (thread != null) thread.interrupt();
+    }
+
+    private void run() {
+        long backoff = 1000;
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = listenDataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement st = connection.createStatement()) {
+                    st.execute("LISTEN " + bus.getChannel());
+                }
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                bus.setRemoteEnabled(true);
+                if (connectedBefore) bus.evictAll();
+                connectedBefore = true;
+                backoff = 1000;
+                log.info("Listening for cache invalidations on channel {}", bus.getChannel());
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(POLL_MILLIS);
+                    if (notifications == null) continue;
+                    for (PGNotification n : notifications) {
+                        bus.onNotification(n.getParameter());
+                    }
+                }
+            } catch (SQLException | RuntimeException ex) {
+                bus.setRemoteEnabled(false);
+                if (!running) return;
+                log.warn("Cache invalidation listener lost its connection; retrying in {} ms", backoff, ex);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+        bus.setRemoteEnabled(false);
+    }
+}
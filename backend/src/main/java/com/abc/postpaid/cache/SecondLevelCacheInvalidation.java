@@ -0,0 +1,92 @@
+package com.abc.postpaid.cache;
+
+import com.abc.postpaid.config.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Carries Hibernate second-level cache evictions to the other nodes over the {@link CacheInvalidationBus}.
+ * Hibernate keeps this node's regions current by itself; after a cached entity is updated or deleted here,
+ * its id is sent to the other nodes, which evict it and drop their query results (their update
+ * timestamps never saw the write). Bulk JPQL updates fire no entity events, so their callers report them
+ * through {@link #entitiesChanged}.
+ */
+@Component
+public class SecondLevelCacheInvalidation implements PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final String REGION_PREFIX = "l2:";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    private SessionFactoryImplementor sessionFactory;
+
+    @PostConstruct
+    public void init() {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (!persister.canWriteToCache()) return;
+            String entityName = persister.getEntityName();
+            invalidationBus.register(REGION_PREFIX + entityName, keys -> evict(persister, keys));
+        });
+        EventListenerRegistry listeners = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    /** Tells the other nodes, once the current transaction commits, that rows of {@code entityType} changed in bulk. */
+    public void entitiesChanged(Class<?> entityType) {
+        String region = REGION_PREFIX + entityType.getName();
+        AfterCommit.run(() -> invalidationBus.publishRemote(region, List.of(CacheInvalidationBus.ALL_KEYS)));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        invalidationBus.publishRemote(REGION_PREFIX + event.getPersister().getEntityName(), List.of(event.getId()));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        invalidationBus.publishRemote(REGION_PREFIX + event.getPersister().getEntityName(), List.of(event.getId()));
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    private void evict(EntityPersister persister, Collection<String> keys) {
+        Cache cache = sessionFactory.getCache();
+        if (keys.contains(CacheInvalidationBus.ALL_KEYS) || persister.getIdentifierType().getReturnedClass() != Long.class) {
+            cache.evictEntityData(persister.getEntityName());
+        } else {
+            for (String key : keys) cache.evictEntityData(persister.getEntityName(), Long.valueOf(key));
+        }
+        cache.evictQueryRegions();
+    }
+}
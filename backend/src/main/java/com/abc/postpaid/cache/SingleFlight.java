@@ -0,0 +1,94 @@
+package com.abc.postpaid.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical reads: while a call for an operation and arguments is in flight, other
+ * callers with the same key wait for it and share its result (or exception) instead of running their own
+ * query. Nothing is kept once the call completes, so this is not a cache; results handed to several
+ * callers must not be mutated. Published as {@code singleflight.calls} tagged with the operation and
+ * {@code outcome} executed or collapsed.
+ *
+ * <p>Reads that already go through a cache region do not need this: a Caffeine load runs once per key
+ * and concurrent callers wait for it.
+ */
+@Component
+public class SingleFlight {
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private record Key(String operation, List<Object> args) {}
+
+    public SingleFlight() {}
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Supplier<T> call, Object... args) {
+        Key key = new Key(operation, Arrays.asList(args));
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            count(operation, "collapsed");
+            return (T) await(running);
+        }
+        count(operation, "executed");
+        try {
+            T result = call.get();
+            inFlight.remove(key, mine);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> running) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return running.get();
+                } catch (InterruptedException ex) {
+                    // keep waiting: the leader's call does not stop for us
+                    interrupted = true;
+                } catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    if (cause instanceof RuntimeException re) throw re;
+                    if (cause instanceof Error err) throw err;
+                    throw new IllegalStateException(cause);
+                }
+            }
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    private void count(String operation, String outcome) {
+        if (meterRegistry == null) return;
+        counters.computeIfAbsent(operation + '|' + outcome, k -> Counter.builder("singleflight.calls")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)).increment();
+    }
+}
@@ -0,0 +1,27 @@
+package com.abc.postpaid.config;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers side effects of a write until its transaction commits: cache evictions (so a concurrent read cannot
+ * reload the old state before the write is visible), business counters and Flight Recorder events (so a
+ * rolled-back write is neither counted nor recorded). Outside a transaction the action runs at once.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {}
+
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
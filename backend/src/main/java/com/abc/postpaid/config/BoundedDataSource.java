@@ -0,0 +1,151 @@
+package com.abc.postpaid.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admits as many concurrent connections as the pool behind it holds and bounds the queue in front of it.
+ * On virtual threads there is no request thread pool left to throttle the database, so without this every
+ * request in flight would park in Hikari until its connection timeout. A caller that finds
+ * {@code maxWaiting} callers already queued, or gets no permit within {@code maxWait}, fails at once with
+ * {@link ConnectionLimitExceededException}. The permit is returned when the connection is closed.
+ * Waiting on the semaphore parks a virtual thread without pinning its carrier.
+ */
+public class BoundedDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final int maxWaiting;
+    private final long maxWaitNanos;
+    private final String poolName;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Counter queueFull;
+    private final Counter timedOut;
+
+    /** {@code meterRegistry} may be null. */
+    public BoundedDataSource(DataSource target, String poolName, int maxPermits, int maxWaiting, Duration maxWait,
+                             MeterRegistry meterRegistry) {
+        super(target);
+        this.poolName = poolName;
+        this.maxPermits = maxPermits;
+        this.maxWaiting = maxWaiting;
+        this.maxWaitNanos = maxWait.toNanos();
+        // fair, so a burst of new callers cannot starve the ones already queued
+        this.permits = new Semaphore(maxPermits, true);
+        if (meterRegistry != null) {
+            Gauge.builder("db.limiter.active", this, BoundedDataSource::getActive).tag("pool", poolName).register(meterRegistry);
+            Gauge.builder("db.limiter.waiting", this, BoundedDataSource::getWaiting).tag("pool", poolName).register(meterRegistry);
+            this.queueFull = Counter.builder("db.limiter.rejected").tags("pool", poolName, "reason", "queue_full").register(meterRegistry);
+            this.timedOut = Counter.builder("db.limiter.rejected").tags("pool", poolName, "reason", "timeout").register(meterRegistry);
+        } else {
+            this.queueFull = null;
+            this.timedOut = null;
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return new PermitReleasingHandler(super.getConnection()).proxy();
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return new PermitReleasingHandler(super.getConnection(username, password)).proxy();
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    int getActive() {
+        return maxPermits - permits.availablePermits();
+    }
+
+    int getWaiting() {
+        return waiting.get();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) return;
+            if (waiting.incrementAndGet() > maxWaiting) {
+                waiting.decrementAndGet();
+                if (queueFull != null) queueFull.increment();
+                throw new ConnectionLimitExceededException(poolName + " connection queue is full (" + maxWaiting + " waiting)");
+            }
+            try {
+                if (!permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                    if (timedOut != null) timedOut.increment();
+                    throw new ConnectionLimitExceededException("no " + poolName + " connection within "
+                            + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + "ms");
+                }
+            } finally {
+                waiting.decrementAndGet();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("interrupted while waiting for a " + poolName + " connection", ex);
+        }
+    }
+
+    private final class PermitReleasingHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        PermitReleasingHandler(Connection target) {
+            this.target = target;
+        }
+
+        Connection proxy() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    try {
+                        target.close();
+                    } finally {
+                        if (released.compareAndSet(false, true)) permits.release();
+                    }
+                    return null;
+                default:
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.abc.postpaid.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Request executors per traffic class ({@code app.bulkheads}, see {@code Bulkheads}). Classes without an
+ * entry under {@code classes} use {@code defaults}.
+ */
+@ConfigurationProperties(prefix = "app.bulkheads")
+public class BulkheadProperties {
+
+    private Pool defaults = new Pool();
+    private Map<String, Pool> classes = new HashMap<>();
+
+    public Pool getDefaults() { return defaults; }
+    public void setDefaults(Pool defaults) { this.defaults = defaults; }
+
+    public Map<String, Pool> getClasses() { return classes; }
+    public void setClasses(Map<String, Pool> classes) { this.classes = classes; }
+
+    public Pool forClass(String name) {
+        return classes.getOrDefault(name, defaults);
+    }
+
+    public static class Pool {
+        private int threads = 20;
+        /** Requests queued once every thread is busy; beyond that they are rejected with 503. */
+        private int queueCapacity = 100;
+        /** Longest a request may take, queueing included, before it is answered with 503. */
+        private Duration timeout = Duration.ofSeconds(30);
+
+        public Pool() {}
+
+        public Pool(int threads, int queueCapacity, Duration timeout) {
+            this.threads = threads;
+            this.queueCapacity = queueCapacity;
+            this.timeout = timeout;
+        }
+
+        public int getThreads() { return threads; }
+        public void setThreads(int threads) { this.threads = threads; }
+
+        public int getQueueCapacity() { return queueCapacity; }
+        public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+
+        public Duration getTimeout() { return timeout; }
+        public void setTimeout(Duration timeout) { this.timeout = timeout; }
+    }
+}
@@ -0,0 +1,46 @@
+package com.abc.postpaid.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Size and TTL of the in-memory read caches ({@code app.cache}), per named region. Regions without an
+ * entry use {@code defaults}.
+ */
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+
+    private Region defaults = new Region();
+    private Map<String, Region> regions = new HashMap<>();
+
+    public Region getDefaults() { return defaults; }
+    public void setDefaults(Region defaults) { this.defaults = defaults; }
+
+    public Map<String, Region> getRegions() { return regions; }
+    public void setRegions(Map<String, Region> regions) { this.regions = regions; }
+
+    public Region region(String name) {
+        return regions.getOrDefault(name, defaults);
+    }
+
+    public static class Region {
+        private long maxEntries = 10_000;
+        private Duration ttl = Duration.ofMinutes(10);
+
+        public Region() {}
+
+        public Region(long maxEntries, Duration ttl) {
+            this.maxEntries = maxEntries;
+            this.ttl = ttl;
+        }
+
+        public long getMaxEntries() { return maxEntries; }
+        public void setMaxEntries(long maxEntries) { this.maxEntries = maxEntries; }
+
+        public Duration getTtl() { return ttl; }
+        public void setTtl(Duration ttl) { this.ttl = ttl; }
+    }
+}
@@ -0,0 +1,43 @@
+package com.abc.postpaid.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the named Caffeine caches from {@link CacheProperties}, each bounded in size, expired after
+ * write and published as {@code cache.*} metrics tagged with the region name (gets by hit/miss, so the
+ * hit ratio, plus evictions and size).
+ */
+@Component
+public class CacheRegions {
+
+    @Autowired
+    private CacheProperties cacheProperties;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    public CacheRegions() {}
+
+    public CacheRegions(CacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        this.cacheProperties = cacheProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <K, V> Cache<K, V> create(String name) {
+        CacheProperties.Region region = cacheProperties.region(name);
+        Cache<K, V> cache = Caffeine.newBuilder()
+                .maximumSize(region.getMaxEntries())
+                .expireAfterWrite(region.getTtl())
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,14 @@
+package com.abc.postpaid.config;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Thrown by {@link BoundedDataSource} when a pool's queue is full or no connection freed up in time.
+ * Answered with 503 and {@code Retry-After} by {@link GlobalExceptionHandler}.
+ */
+public class ConnectionLimitExceededException extends SQLTransientConnectionException {
+
+    public ConnectionLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,28 @@
+package com.abc.postpaid.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Limiter in front of each connection pool ({@code app.datasource.limiter}, see {@link BoundedDataSource}).
+ * Permits always equal the pool's maximum size; these settings bound the queue in front of it.
+ */
+@ConfigurationProperties(prefix = "app.datasource.limiter")
+public class ConnectionLimiterProperties {
+
+    private boolean enabled = true;
+    /** How long a caller waits for a permit; capped by the pool's own connection timeout. */
+    private Duration maxWait = Duration.ofSeconds(2);
+    /** Callers allowed to queue per pooled connection; beyond that they are turned away at once. */
+    private int maxWaitingPerConnection = 20;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Duration getMaxWait() { return maxWait; }
+    public void setMaxWait(Duration maxWait) { this.maxWait = maxWait; }
+
+    public int getMaxWaitingPerConnection() { return maxWaitingPerConnection; }
+    public void setMaxWaitingPerConnection(int maxWaitingPerConnection) { this.maxWaitingPerConnection = maxWaitingPerConnection; }
+}
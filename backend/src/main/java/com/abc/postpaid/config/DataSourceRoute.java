@@ -0,0 +1,48 @@
+package com.abc.postpaid.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread override of where {@link RoutingDataSource} sends the next connection. Cache loaders use
+ * {@link #onPrimary}: a value read from a lagging replica right after a write would otherwise be cached
+ * for the whole TTL. {@link ReportingWorkload} methods are routed to the reporting pool through here.
+ */
+public final class DataSourceRoute {
+
+    public enum Target { PRIMARY, REPLICA, REPORTING }
+
+    private static final ThreadLocal<Target> OVERRIDE = new ThreadLocal<>();
+
+    private DataSourceRoute() {}
+
+    /** Runs {@code work} with every connection it opens taken from the primary, read-only or not. */
+    public static <T> T onPrimary(Supplier<T> work) {
+        return with(Target.PRIMARY, work);
+    }
+
+    static <T> T with(Target target, Supplier<T> work) {
+        Target previous = enter(target);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /** Sets the route and returns the one to {@link #restore} afterwards. */
+    static Target enter(Target target) {
+        Target previous = OVERRIDE.get();
+        OVERRIDE.set(target);
+        return previous;
+    }
+
+    static void restore(Target previous) {
+        if (previous == null) OVERRIDE.remove();
+        else OVERRIDE.set(previous);
+    }
+
+    /** The route forced on this thread, or null when {@link RoutingDataSource} decides. */
+    public static Target current() {
+        return OVERRIDE.get();
+    }
+}
@@ -0,0 +1,160 @@
+package com.abc.postpaid.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Connection pools behind one routing {@link DataSource} (see {@link RoutingDataSource}):
+ * <ul>
+ *   <li>primary: OLTP reads and all writes, configured through {@code spring.datasource};</li>
+ *   <li>reporting: {@link ReportingWorkload} methods, small and statement-timeout limited;</li>
+ *   <li>replica: read-only transactions, only with {@code app.datasource.replica.enabled}.</li>
+ * </ul>
+ * Each pool is published as {@code hikaricp.*} tagged with its pool name, plus {@code db.pool.saturation},
+ * (active + waiting) / max: above 1, callers are queueing for that pool. Unless {@code app.datasource.limiter}
+ * is disabled, every pool sits behind a {@link BoundedDataSource} sized to it ({@code db.limiter.*}).
+ * Sessions held for minutes or for the life of the node use {@code unpooledDataSource} instead.
+ */
+@Configuration
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Plain connections to the primary database, outside the pools and their limiters, for sessions held open
+     * for a long time (cluster-wide job locks, the cache invalidation LISTEN). A held session must not take a
+     * pooled connection and limiter permit away from request traffic.
+     */
+    @Bean
+    public DriverManagerDataSource unpooledDataSource(DataSourceProperties dataSourceProperties) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        dataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource reportingDataSource(DataSourceProperties dataSourceProperties, ReportingPoolProperties reporting) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("reporting");
+        dataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        String url = reporting.getUrl() != null ? reporting.getUrl() : dataSourceProperties.determineUrl();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(reporting.getUsername() != null ? reporting.getUsername() : dataSourceProperties.determineUsername());
+        dataSource.setPassword(reporting.getPassword() != null ? reporting.getPassword() : dataSourceProperties.determinePassword());
+        dataSource.setMaximumPoolSize(reporting.getMaximumPoolSize());
+        dataSource.setMinimumIdle(0);
+        dataSource.setConnectionTimeout(reporting.getConnectionTimeout().toMillis());
+        if (url != null && url.startsWith("jdbc:postgresql:")) {
+            dataSource.setConnectionInitSql("set statement_timeout = " + reporting.getStatementTimeout().toMillis());
+        }
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+    public HikariDataSource replicaDataSource(DataSourceProperties dataSourceProperties, ReplicaProperties replica) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.determineUsername());
+        dataSource.setPassword(replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.determinePassword());
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        // the app must start while the replica is down; reads stay on the primary until it answers
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+                                               ReplicaProperties replica, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ReplicaLagMonitor(replicaDataSource, replica, meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 @Qualifier("reportingDataSource") HikariDataSource reportingDataSource,
+                                 ObjectProvider<ReplicaLagMonitor> replicaLagMonitor,
+                                 @Qualifier("replicaDataSource") ObjectProvider<HikariDataSource> replicaDataSource,
+                                 ConnectionLimiterProperties limiter, ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource replica = replicaDataSource.getIfAvailable();
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        return new LazyConnectionDataSourceProxy(new RoutingDataSource(
+                bounded(primaryDataSource, limiter, registry),
+                bounded(reportingDataSource, limiter, registry),
+                replica != null ? bounded(replica, limiter, registry) : null,
+                replicaLagMonitor.getIfAvailable()));
+    }
+
+    /** Fronts a pool with a limiter holding exactly as many permits as the pool has connections. */
+    private static DataSource bounded(HikariDataSource pool, ConnectionLimiterProperties limiter, MeterRegistry registry) {
+        if (!limiter.isEnabled()) return pool;
+        int size = pool.getMaximumPoolSize();
+        Duration maxWait = limiter.getMaxWait();
+        Duration poolTimeout = Duration.ofMillis(pool.getConnectionTimeout());
+        return new BoundedDataSource(pool, pool.getPoolName(), size, size * limiter.getMaxWaitingPerConnection(),
+                maxWait.compareTo(poolTimeout) < 0 ? maxWait : poolTimeout, registry);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor reportingWorkloadAdvisor() {
+        ComposablePointcut pointcut = new ComposablePointcut(AnnotationMatchingPointcut.forClassAnnotation(ReportingWorkload.class))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(ReportingWorkload.class));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new ReportingWorkloadInterceptor());
+        // outside the transaction interceptor, so the whole transaction runs on the reporting pool
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean
+    public MeterBinder dataSourcePoolSaturation(List<HikariDataSource> pools) {
+        return registry -> {
+            for (HikariDataSource pool : pools) {
+                Gauge.builder("db.pool.saturation", pool, DataSourceRoutingConfig::saturation)
+                        .tag("pool", pool.getPoolName())
+                        .register(registry);
+            }
+        };
+    }
+
+    private static double saturation(HikariDataSource pool) {
+        HikariPoolMXBean mx = pool.getHikariPoolMXBean();
+        if (mx == null) return 0;
+        return (double) (mx.getActiveConnections() + mx.getThreadsAwaitingConnection()) / pool.getMaximumPoolSize();
+    }
+}
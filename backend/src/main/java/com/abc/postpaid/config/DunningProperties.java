@@ -0,0 +1,43 @@
+package com.abc.postpaid.config;
+
+import com.abc.postpaid.billing.entity.AgingBucket;
+import com.abc.postpaid.billing.entity.DunningAction;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dunning escalation ladder ({@code app.billing.dunning}). Each step fires once per customer when the
+ * customer's oldest overdue invoice reaches the step's aging bucket; steps are applied in bucket order.
+ */
+@ConfigurationProperties(prefix = "app.billing.dunning")
+public class DunningProperties {
+
+    private int chunkSize = 1000;
+    private List<Step> steps = new ArrayList<>();
+
+    public int getChunkSize() { return chunkSize; }
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+
+    public List<Step> getSteps() { return steps; }
+    public void setSteps(List<Step> steps) { this.steps = steps; }
+
+    public static class Step {
+        private AgingBucket bucket;
+        private DunningAction action;
+
+        public Step() {}
+
+        public Step(AgingBucket bucket, DunningAction action) {
+            this.bucket = bucket;
+            this.action = action;
+        }
+
+        public AgingBucket getBucket() { return bucket; }
+        public void setBucket(AgingBucket bucket) { this.bucket = bucket; }
+
+        public DunningAction getAction() { return action; }
+        public void setAction(DunningAction action) { this.action = action; }
+    }
+}
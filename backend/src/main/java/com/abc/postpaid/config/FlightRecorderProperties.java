@@ -0,0 +1,42 @@
+package com.abc.postpaid.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Continuous JDK Flight Recorder recording ({@code app.jfr}). The recording is a ring buffer bounded by
+ * {@code max-age} and {@code max-size}, whichever is reached first; dumps are written to {@code dump-directory},
+ * which keeps the newest {@code max-dumps} of them.
+ */
+@ConfigurationProperties(prefix = "app.jfr")
+public class FlightRecorderProperties {
+
+    private boolean enabled = true;
+    /** JFR settings file name ({@code default} or {@code profile}) or path. */
+    private String settings = "default";
+    private Duration maxAge = Duration.ofMinutes(30);
+    private DataSize maxSize = DataSize.ofMegabytes(256);
+    private String dumpDirectory = System.getProperty("java.io.tmpdir") + "/postpaid-jfr";
+    /** Dumps kept in {@code dump-directory}; older ones are deleted after each new dump. */
+    private int maxDumps = 10;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getSettings() { return settings; }
+    public void setSettings(String settings) { this.settings = settings; }
+
+    public Duration getMaxAge() { return maxAge; }
+    public void setMaxAge(Duration maxAge) { this.maxAge = maxAge; }
+
+    public DataSize getMaxSize() { return maxSize; }
+    public void setMaxSize(DataSize maxSize) { this.maxSize = maxSize; }
+
+    public String getDumpDirectory() { return dumpDirectory; }
+    public void setDumpDirectory(String dumpDirectory) { this.dumpDirectory = dumpDirectory; }
+
+    public int getMaxDumps() { return maxDumps; }
+    public void setMaxDumps(int maxDumps) { this.maxDumps = maxDumps; }
+}
@@ -0,0 +1,62 @@
+package com.abc.postpaid.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache on JCache (Caffeine). Every region is created here, sized from
+ * {@code app.cache.regions} like the other read caches. Entries are stored by reference: Hibernate
+ * caches disassembled state, so copying on every read would buy nothing.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String CUSTOMERS = "l2-customers";
+    public static final String SERVICES = "l2-services";
+    public static final String USERS = "l2-users";
+    public static final String SERVICES_BY_CUSTOMER = "l2-services-by-customer";
+
+    private static final String QUERY_RESULTS = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    private static final String UPDATE_TIMESTAMPS = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(CacheProperties cacheProperties) {
+        // a manager per application context; test contexts each have their own database
+        CacheManager manager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("urn:postpaid:l2:" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String region : List.of(CUSTOMERS, SERVICES, USERS, SERVICES_BY_CUSTOMER, QUERY_RESULTS)) {
+            CacheProperties.Region sizing = cacheProperties.region(region);
+            CaffeineConfiguration<Object, Object> config = byReference();
+            config.setMaximumSize(OptionalLong.of(sizing.getMaxEntries()));
+            config.setExpireAfterWrite(OptionalLong.of(sizing.getTtl().toNanos()));
+            manager.createCache(region, config);
+        }
+        // must not evict: a lost timestamp would let a query result outlive the update that staled it
+        manager.createCache(UPDATE_TIMESTAMPS, byReference());
+        return manager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> byReference() {
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setStoreByValue(false);
+        config.setStatisticsEnabled(true);
+        return config;
+    }
+}
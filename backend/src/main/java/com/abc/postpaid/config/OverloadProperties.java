@@ -0,0 +1,76 @@
+package com.abc.postpaid.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Adaptive concurrency limits per traffic class ({@code app.overload}, see
+ * {@code AdaptiveConcurrencyLimitFilter}). Classes without an entry under {@code classes} use {@code defaults}.
+ */
+@ConfigurationProperties(prefix = "app.overload")
+public class OverloadProperties {
+
+    private boolean enabled = true;
+    /** Latency may grow to this multiple of its long-term average before the limit shrinks. */
+    private double tolerance = 2.0;
+    /** Weight of each new limit estimate; lower reacts slower but steadier. */
+    private double smoothing = 0.2;
+    /** Multiplier applied to the limit when a request ends in 503 (a pool or limiter downstream gave up). */
+    private double backoffRatio = 0.9;
+    /** How long a class counts as under pressure after it last turned a request away. */
+    private Duration pressureWindow = Duration.ofSeconds(1);
+    private ClassLimit defaults = new ClassLimit();
+    private Map<String, ClassLimit> classes = new HashMap<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public double getTolerance() { return tolerance; }
+    public void setTolerance(double tolerance) { this.tolerance = tolerance; }
+
+    public double getSmoothing() { return smoothing; }
+    public void setSmoothing(double smoothing) { this.smoothing = smoothing; }
+
+    public double getBackoffRatio() { return backoffRatio; }
+    public void setBackoffRatio(double backoffRatio) { this.backoffRatio = backoffRatio; }
+
+    public Duration getPressureWindow() { return pressureWindow; }
+    public void setPressureWindow(Duration pressureWindow) { this.pressureWindow = pressureWindow; }
+
+    public ClassLimit getDefaults() { return defaults; }
+    public void setDefaults(ClassLimit defaults) { this.defaults = defaults; }
+
+    public Map<String, ClassLimit> getClasses() { return classes; }
+    public void setClasses(Map<String, ClassLimit> classes) { this.classes = classes; }
+
+    public ClassLimit forClass(String name) {
+        return classes.getOrDefault(name, defaults);
+    }
+
+    public static class ClassLimit {
+        private int initialLimit = 20;
+        /** Floor of the adaptive limit, and all a class gets while a higher-priority class is under pressure. */
+        private int minLimit = 2;
+        private int maxLimit = 200;
+
+        public ClassLimit() {}
+
+        public ClassLimit(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+
+        public int getInitialLimit() { return initialLimit; }
+        public void setInitialLimit(int initialLimit) { this.initialLimit = initialLimit; }
+
+        public int getMinLimit() { return minLimit; }
+        public void setMinLimit(int minLimit) { this.minLimit = minLimit; }
+
+        public int getMaxLimit() { return maxLimit; }
+        public void setMaxLimit(int maxLimit) { this.maxLimit = maxLimit; }
+    }
+}
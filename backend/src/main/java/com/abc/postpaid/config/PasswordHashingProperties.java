@@ -0,0 +1,39 @@
+package com.abc.postpaid.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Password hashing ({@code app.security.password-hashing}). BCrypt runs on a dedicated bounded pool so a
+ * login burst cannot occupy every request thread; when the pool and its queue are full, callers are
+ * rejected immediately instead of queueing behind the burst.
+ */
+@ConfigurationProperties(prefix = "app.security.password-hashing")
+public class PasswordHashingProperties {
+
+    /** BCrypt log rounds for new hashes; stored hashes with a lower cost are re-hashed on next login. */
+    private int cost = 10;
+    /**
+     * When positive, the cost is calibrated at startup to the highest one hashing within this many ms, never
+     * below {@code cost} or 10.
+     */
+    private long targetMillis = 0;
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private int queueCapacity = 64;
+    /** Longest a caller waits for a queued hash before giving up as busy. */
+    private long timeoutMillis = 2000;
+
+    public int getCost() { return cost; }
+    public void setCost(int cost) { this.cost = cost; }
+
+    public long getTargetMillis() { return targetMillis; }
+    public void setTargetMillis(long targetMillis) { this.targetMillis = targetMillis; }
+
+    public int getThreads() { return threads; }
+    public void setThreads(int threads) { this.threads = threads; }
+
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+
+    public long getTimeoutMillis() { return timeoutMillis; }
+    public void setTimeoutMillis(long timeoutMillis) { this.timeoutMillis = timeoutMillis; }
+}
@@ -0,0 +1,47 @@
+package com.abc.postpaid.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Rate limits for the unauthenticated auth endpoints ({@code app.security.rate-limit}), applied per
+ * client IP and per submitted username before any lookup or password hashing happens.
+ */
+@ConfigurationProperties(prefix = "app.security.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    /** Most distinct IPs/usernames tracked at once; least recently used keys are dropped first. */
+    private long maxKeys = 100_000;
+    private Limit perIp = new Limit(30, 60);
+    private Limit perUsername = new Limit(5, 10);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getMaxKeys() { return maxKeys; }
+    public void setMaxKeys(long maxKeys) { this.maxKeys = maxKeys; }
+
+    public Limit getPerIp() { return perIp; }
+    public void setPerIp(Limit perIp) { this.perIp = perIp; }
+
+    public Limit getPerUsername() { return perUsername; }
+    public void setPerUsername(Limit perUsername) { this.perUsername = perUsername; }
+
+    public static class Limit {
+        private int burst;
+        private int perMinute;
+
+        public Limit() {}
+
+        public Limit(int burst, int perMinute) {
+            this.burst = burst;
+            this.perMinute = perMinute;
+        }
+
+        public int getBurst() { return burst; }
+        public void setBurst(int burst) { this.burst = burst; }
+
+        public int getPerMinute() { return perMinute; }
+        public void setPerMinute(int perMinute) { this.perMinute = perMinute; }
+    }
+}
@@ -0,0 +1,91 @@
+package com.abc.postpaid.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the replica's replay lag on its own thread (a long billing job on the shared scheduler must not
+ * leave a stale verdict) and answers whether reads may go there. A replica that cannot be queried, or is
+ * further behind than {@code max-lag}, is unusable until a later check passes. Published as
+ * {@code db.replica.lag} (seconds) and {@code db.replica.usable}.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // no lag when everything received is replayed, else the age of the last replayed commit;
+    // null (treated as no lag) when the server is not a standby
+    static final String LAG_QUERY = "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 "
+            + "else extract(epoch from now() - pg_last_xact_replay_timestamp()) end";
+
+    private final DataSource replica;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+
+    private volatile boolean usable;
+    private volatile double lagSeconds = Double.NaN;
+
+    private ScheduledExecutorService checker;
+
+    public ReplicaLagMonitor(DataSource replica, ReplicaProperties properties, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.maxLag = properties.getMaxLag();
+        this.checkInterval = properties.getLagCheckInterval();
+        if (meterRegistry != null) {
+            Gauge.builder("db.replica.lag", this, m -> m.lagSeconds).baseUnit("seconds").register(meterRegistry);
+            Gauge.builder("db.replica.usable", this, m -> m.usable ? 1 : 0).register(meterRegistry);
+        }
+    }
+
+    public void start() {
+        check();
+        checker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-lag-check");
+            t.setDaemon(true);
+            return t;
+        });
+        long millis = checkInterval.toMillis();
+        checker.scheduleWithFixedDelay(this::check, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (checker != null) checker.shutdownNow();
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    void check() {
+        boolean wasUsable = usable;
+        try (Connection connection = replica.getConnection();
+             Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery(LAG_QUERY)) {
+            rs.next();
+            double lag = rs.getDouble(1);
+            lagSeconds = rs.wasNull() ? 0 : lag;
+            usable = lagSeconds * 1000 <= maxLag.toMillis();
+        } catch (SQLException | RuntimeException ex) {
+            lagSeconds = Double.NaN;
+            usable = false;
+            if (wasUsable) log.warn("Replica check failed; reads go to the primary", ex);
+            return;
+        }
+        if (wasUsable != usable) {
+            log.info(usable ? "Replica lag {}s within limit; reads go to the replica"
+                    : "Replica lag {}s over limit; reads go to the primary", lagSeconds);
+        }
+    }
+}
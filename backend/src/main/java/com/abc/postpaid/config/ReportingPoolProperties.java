@@ -0,0 +1,40 @@
+package com.abc.postpaid.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Reporting pool ({@code app.datasource.reporting}) used by {@link ReportingWorkload} methods. Without a
+ * url it connects to the primary database; point it at the replica to take reports off the primary.
+ */
+@ConfigurationProperties(prefix = "app.datasource.reporting")
+public class ReportingPoolProperties {
+
+    private String url;
+    private String username;
+    private String password;
+    private int maximumPoolSize = 3;
+    /** How long a report waits for a free reporting connection before failing. */
+    private Duration connectionTimeout = Duration.ofSeconds(5);
+    /** Server-side limit per statement (PostgreSQL {@code statement_timeout}). */
+    private Duration statementTimeout = Duration.ofSeconds(60);
+
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+
+    public int getMaximumPoolSize() { return maximumPoolSize; }
+    public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+
+    public Duration getConnectionTimeout() { return connectionTimeout; }
+    public void setConnectionTimeout(Duration connectionTimeout) { this.connectionTimeout = connectionTimeout; }
+
+    public Duration getStatementTimeout() { return statementTimeout; }
+    public void setStatementTimeout(Duration statementTimeout) { this.statementTimeout = statementTimeout; }
+}
@@ -0,0 +1,18 @@
+package com.abc.postpaid.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated service method (or every method of the annotated class) on the reporting pool: a
+ * small, statement-timeout-limited pool for date-range reports and exports, so a long report cannot take
+ * the connections logins and customer reads need. Only effective on calls through the Spring proxy.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReportingWorkload {
+}
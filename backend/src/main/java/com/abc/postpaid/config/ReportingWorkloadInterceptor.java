@@ -0,0 +1,19 @@
+package com.abc.postpaid.config;
+
+import com.abc.postpaid.config.DataSourceRoute.Target;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/** Routes the connections of a {@link ReportingWorkload} call to the reporting pool. */
+class ReportingWorkloadInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Target previous = DataSourceRoute.enter(Target.REPORTING);
+        try {
+            return invocation.proceed();
+        } finally {
+            DataSourceRoute.restore(previous);
+        }
+    }
+}
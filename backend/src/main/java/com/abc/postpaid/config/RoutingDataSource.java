@@ -0,0 +1,42 @@
+package com.abc.postpaid.config;
+
+import com.abc.postpaid.config.DataSourceRoute.Target;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Picks the pool for each connection: {@link ReportingWorkload} methods get the reporting pool; read-only
+ * transactions get the replica, when one is configured and {@link ReplicaLagMonitor} allows it; everything
+ * else, and anything under {@link DataSourceRoute#onPrimary}, gets the primary. Must sit behind a
+ * {@code LazyConnectionDataSourceProxy}: the transaction manager asks for a connection before it marks the
+ * transaction read-only, and the proxy defers the lookup to the first statement.
+ */
+public class RoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    /** {@code replica} and {@code lagMonitor} are null when no replica is configured. */
+    public RoutingDataSource(DataSource primary, DataSource reporting, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = replica != null ? lagMonitor : null;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(Target.PRIMARY, primary);
+        targets.put(Target.REPORTING, reporting);
+        if (replica != null) targets.put(Target.REPLICA, replica);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Target forced = DataSourceRoute.current();
+        if (forced != null) return forced;
+        boolean readOnly = TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return readOnly && lagMonitor != null && lagMonitor.isReplicaUsable() ? Target.REPLICA : Target.PRIMARY;
+    }
+}
@@ -0,0 +1,12 @@
+package com.abc.postpaid.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the {@code @Scheduled} billing jobs (receivables aging and friends).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
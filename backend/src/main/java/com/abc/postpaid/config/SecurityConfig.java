@@ -1,8 +1,14 @@
 package com.abc.postpaid.config;
 
+import com.abc.postpaid.security.AuthRateLimitFilter;
 import com.abc.postpaid.security.JwtAuthenticationFilter;
 import com.abc.postpaid.security.JwtProvider;
+import com.abc.postpaid.security.OffloadingPasswordEncoder;
+import com.abc.postpaid.security.TokenRevocationList;
+import com.abc.postpaid.security.VerifiedTokenCache;
 import com.abc.postpaid.user.service.impl.AuthServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,7 +18,6 @@ import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -28,20 +33,34 @@ public class SecurityConfig {
     @Autowired
     private JwtProvider jwtProvider;
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @Autowired
+    private RateLimitProperties rateLimitProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties) {
+        return new OffloadingPasswordEncoder(properties, meterRegistry);
     }
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
-        JwtAuthenticationFilter jwtFilter = new JwtAuthenticationFilter(jwtProvider);
+        JwtAuthenticationFilter jwtFilter = new JwtAuthenticationFilter(jwtProvider, verifiedTokenCache, tokenRevocationList);
 
     http.csrf(csrf -> csrf.disable())
         .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers(HttpMethod.POST, "/api/register", "/api/login").permitAll()
+                        // a bulkhead's result is rendered on an ASYNC dispatch of a request authorized on the way in
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/register", "/api/login", "/api/token/refresh", "/api/token/revoke").permitAll()
                         .requestMatchers("/swagger-ui/**",
                                 "/swagger-ui.html",
                                 "/v3/api-docs/**",
@@ -50,8 +69,15 @@ public class SecurityConfig {
                                 "/webjars/**",
                                 "/error")
                         .permitAll()
+                        // scraped without a token: actuator is served only on management.server.port, bound to
+                        // management.server.address on the internal network, never on the public port
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated());
 
+        if (rateLimitProperties.isEnabled()) {
+            http.addFilterBefore(new AuthRateLimitFilter(rateLimitProperties, meterRegistry), UsernamePasswordAuthenticationFilter.class);
+        }
         http.addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
@@ -63,7 +89,7 @@ public class SecurityConfig {
         // Allow the frontend dev servers and any other origins you need
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:3000", "http://localhost:5173", "http://localhost:8080"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Cache-Control", "Content-Type"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Cache-Control", "Content-Type", "Idempotency-Key"));
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
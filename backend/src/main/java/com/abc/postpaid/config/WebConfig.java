@@ -0,0 +1,43 @@
+package com.abc.postpaid.config;
+
+import com.abc.postpaid.security.AuthPrincipalArgumentResolver;
+import com.abc.postpaid.web.AdaptiveConcurrencyLimitFilter;
+import com.abc.postpaid.web.Bulkheads;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new AuthPrincipalArgumentResolver());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public Bulkheads bulkheads(BulkheadProperties properties, MeterRegistry meterRegistry,
+                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        return new Bulkheads(properties, meterRegistry, virtualThreads);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.overload", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<AdaptiveConcurrencyLimitFilter> adaptiveConcurrencyLimitFilter(OverloadProperties properties,
+                                                                                                MeterRegistry meterRegistry) {
+        FilterRegistrationBean<AdaptiveConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new AdaptiveConcurrencyLimitFilter(properties, meterRegistry));
+        // ahead of Spring Security: shed requests before spending a token verification on them
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -3,10 +3,13 @@ package com.abc.postpaid.customer.controller;
 import com.abc.postpaid.customer.dto.*;
 import jakarta.validation.Valid;
 import com.abc.postpaid.customer.service.CustomerService;
+import com.abc.postpaid.web.Bulkheads;
+import com.abc.postpaid.web.TrafficClass;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import java.util.List;
 
@@ -18,42 +21,53 @@ public class AdminCustomerController {
     @Autowired
     private CustomerService customerService;
 
+    @Autowired
+    private Bulkheads bulkheads;
+
     @PostMapping
-    public ResponseEntity<?> createCustomer(@Valid @RequestBody CustomerRequest req) {
-        Long id = customerService.createCustomer(req);
-        return ResponseEntity.status(201).body(java.util.Map.of("customer_id", id));
+    public WebAsyncTask<ResponseEntity<?>> createCustomer(@Valid @RequestBody CustomerRequest req) {
+        return bulkheads.run(TrafficClass.ADMIN, () -> {
+            Long id = customerService.createCustomer(req);
+            return ResponseEntity.status(201).body(java.util.Map.of("customer_id", id));
+        });
     }
 
     @GetMapping
-    public ResponseEntity<List<CustomerResponse>> listCustomers() {
-        return ResponseEntity.ok(customerService.listCustomers());
+    public WebAsyncTask<ResponseEntity<List<CustomerResponse>>> listCustomers() {
+        return bulkheads.run(TrafficClass.ADMIN, () -> ResponseEntity.ok(customerService.listCustomers()));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CustomerResponse> getCustomer(@PathVariable Long id) {
-        return ResponseEntity.ok(customerService.getCustomer(id));
+    public WebAsyncTask<ResponseEntity<CustomerResponse>> getCustomer(@PathVariable Long id) {
+        return bulkheads.run(TrafficClass.ADMIN, () -> ResponseEntity.ok(customerService.getCustomer(id)));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateCustomer(@PathVariable Long id, @Valid @RequestBody CustomerRequest req) {
-        customerService.updateCustomer(id, req);
-        return ResponseEntity.ok().build();
+    public WebAsyncTask<ResponseEntity<?>> updateCustomer(@PathVariable Long id, @Valid @RequestBody CustomerRequest req) {
+        return bulkheads.run(TrafficClass.ADMIN, () -> {
+            customerService.updateCustomer(id, req);
+            return ResponseEntity.ok().build();
+        });
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteCustomer(@PathVariable Long id) {
-        customerService.deleteCustomer(id);
-        return ResponseEntity.noContent().build();
+    public WebAsyncTask<ResponseEntity<?>> deleteCustomer(@PathVariable Long id) {
+        return bulkheads.run(TrafficClass.ADMIN, () -> {
+            customerService.deleteCustomer(id);
+            return ResponseEntity.noContent().build();
+        });
     }
 
     @PostMapping("/{customerId}/services")
-    public ResponseEntity<?> createService(@PathVariable Long customerId, @Valid @RequestBody ServiceRequest req) {
-        Long id = customerService.createServiceForCustomer(customerId, req);
-        return ResponseEntity.status(201).body(java.util.Map.of("service_id", id));
+    public WebAsyncTask<ResponseEntity<?>> createService(@PathVariable Long customerId, @Valid @RequestBody ServiceRequest req) {
+        return bulkheads.run(TrafficClass.ADMIN, () -> {
+            Long id = customerService.createServiceForCustomer(customerId, req);
+            return ResponseEntity.status(201).body(java.util.Map.of("service_id", id));
+        });
     }
 
     @GetMapping("/{customerId}/services")
-    public ResponseEntity<List<ServiceResponse>> listServices(@PathVariable Long customerId) {
-        return ResponseEntity.ok(customerService.listServicesForCustomer(customerId));
+    public WebAsyncTask<ResponseEntity<List<ServiceResponse>>> listServices(@PathVariable Long customerId) {
+        return bulkheads.run(TrafficClass.ADMIN, () -> ResponseEntity.ok(customerService.listServicesForCustomer(customerId)));
     }
 }
@@ -3,18 +3,20 @@ package com.abc.postpaid.customer.controller;
 import com.abc.postpaid.customer.dto.CustomerRequest;
 import com.abc.postpaid.customer.dto.CustomerResponse;
 import com.abc.postpaid.customer.dto.OwnerCustomerUpdateRequest;
+import com.abc.postpaid.customer.service.CustomerOwnershipService;
 import com.abc.postpaid.customer.service.CustomerService;
+import com.abc.postpaid.security.AuthPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import com.abc.postpaid.customer.dto.ServiceResponse;
+import com.abc.postpaid.web.Bulkheads;
+import com.abc.postpaid.web.TrafficClass;
 
-import java.util.Collection;
 import java.util.List;
 
 @RestController
@@ -24,54 +26,46 @@ public class CustomerController {
     @Autowired
     private CustomerService customerService;
 
-    private static final Logger log = LoggerFactory.getLogger(CustomerController.class);
-
-    private Long getAuthUserId(Authentication auth) {
-        if (auth == null || auth.getPrincipal() == null) return null;
-        try {
-            return Long.valueOf(String.valueOf(auth.getPrincipal()));
-        } catch (Exception ex) {
-            return null;
-        }
-    }
+    @Autowired
+    private CustomerOwnershipService customerOwnershipService;
 
-    @GetMapping("/{id}")
-    public ResponseEntity<CustomerResponse> getCustomer(@PathVariable Long id) {
-        log.debug("Entered getCustomer with id = {}", id);
-        // Fetch customer by path id (do not use authenticated user id to fetch)
-        CustomerResponse resp = customerService.getCustomer(id);
-        if (resp == null) return ResponseEntity.status(404).build();
+    @Autowired
+    private Bulkheads bulkheads;
 
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        Long authUserId = getAuthUserId(auth);
-        if (authUserId == null) {
-            return ResponseEntity.status(401).build();
-        }
+    private static final Logger log = LoggerFactory.getLogger(CustomerController.class);
 
-        if (authUserId.equals(resp.getUserId())) {
+    @GetMapping("/{id}")
+    public WebAsyncTask<ResponseEntity<CustomerResponse>> getCustomer(@PathVariable Long id, AuthPrincipal principal) {
+        return bulkheads.run(TrafficClass.CUSTOMER, () -> {
+            log.debug("Entered getCustomer with id = {}", id);
+            if (principal == null) {
+                return ResponseEntity.status(401).build();
+            }
+            // authorize from the token / cached mapping before loading anything
+            if (!customerOwnershipService.owns(principal, id)) {
+                return ResponseEntity.status(403).build();
+            }
+
+            CustomerResponse resp = customerService.getCustomer(id);
+            if (resp == null) return ResponseEntity.status(404).build();
             return ResponseEntity.ok(resp);
-        }
-
-        return ResponseEntity.status(403).build();
+        });
     }
 
    
 
     @GetMapping("/{id}/services")
-    public ResponseEntity<List<ServiceResponse>> listServices(@PathVariable Long id) {
-        // Fetch customer by path id (do not use authenticated user id to fetch)
-        CustomerResponse existing = customerService.getCustomer(id);
-        if (existing == null) return ResponseEntity.status(404).build();
-
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        Long authUserId = getAuthUserId(auth);
-        if (authUserId == null) return ResponseEntity.status(401).build();
+    public WebAsyncTask<ResponseEntity<List<ServiceResponse>>> listServices(@PathVariable Long id, AuthPrincipal principal) {
+        return bulkheads.run(TrafficClass.CUSTOMER, () -> {
+            if (principal == null) return ResponseEntity.status(401).build();
 
-        if (!authUserId.equals(existing.getUserId())) {
-            return ResponseEntity.status(403).build();
-        }
+            // an owned customer exists, so the services can be listed without loading the customer
+            if (!customerOwnershipService.owns(principal, id)) {
+                return ResponseEntity.status(403).build();
+            }
 
-        return ResponseEntity.ok(customerService.listServicesForCustomer(existing.getCustomerId()));
+            return ResponseEntity.ok(customerService.listServicesForCustomer(id));
+        });
     }
 
 }
@@ -7,6 +7,16 @@ public class CustomerResponse {
     private String address;
     private String phoneNumber;
 
+    public CustomerResponse() {}
+
+    public CustomerResponse(Long customerId, Long userId, String fullName, String address, String phoneNumber) {
+        this.customerId = customerId;
+        this.userId = userId;
+        this.fullName = fullName;
+        this.address = address;
+        this.phoneNumber = phoneNumber;
+    }
+
     public Long getCustomerId() { return customerId; }
     public void setCustomerId(Long customerId) { this.customerId = customerId; }
 
@@ -2,9 +2,13 @@ package com.abc.postpaid.customer.entity;
 
 import com.abc.postpaid.user.entity.User;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "customers")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "l2-customers")
 public class Customer {
 
     @Id
@@ -1,6 +1,8 @@
 package com.abc.postpaid.customer.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
@@ -10,8 +12,14 @@ import com.abc.postpaid.billing.entity.UsageRecord;
 
 @Entity
 @Table(name = "services")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "l2-services")
 public class ServiceEntity {
 
+    public static final String STATUS_ACTIVE = "ACTIVE";
+    /** Suspended by dunning; only services in this status are re-activated when the debt is settled. */
+    public static final String STATUS_SUSPENDED_NONPAYMENT = "SUSPENDED_NONPAYMENT";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "service_id")
@@ -1,10 +1,20 @@
 package com.abc.postpaid.customer.repository;
 
+import com.abc.postpaid.customer.dto.CustomerResponse;
 import com.abc.postpaid.customer.entity.Customer;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 	java.util.Optional<Customer> findByUserUserId(Long userId);
+
+	@Query("select c.customerId from Customer c where c.user.userId = :userId")
+	java.util.Optional<Long> findCustomerIdByUserId(@Param("userId") Long userId);
+
+	@Query("select new com.abc.postpaid.customer.dto.CustomerResponse(c.customerId, c.user.userId, c.fullName, c.address, c.phoneNumber) " +
+			"from Customer c order by c.customerId")
+	java.util.List<CustomerResponse> findAllResponses();
 }
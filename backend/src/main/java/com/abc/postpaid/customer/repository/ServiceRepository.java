@@ -1,12 +1,34 @@
 package com.abc.postpaid.customer.repository;
 
 import com.abc.postpaid.customer.entity.ServiceEntity;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import java.util.List;
 
 @Repository
 public interface ServiceRepository extends JpaRepository<ServiceEntity, Long> {
+    // query cache: invalidated by any write to the services table, including the bulk updates below
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "l2-services-by-customer")
+    })
     List<ServiceEntity> findByCustomerCustomerId(Long customerId);
+
+    @Modifying
+    @Query("update ServiceEntity s set s.status = 'SUSPENDED_NONPAYMENT' " +
+            "where s.customer.customerId in :customerIds and s.status = 'ACTIVE'")
+    int suspendForNonPayment(@Param("customerIds") List<Long> customerIds);
+
+    @Modifying
+    @Query("update ServiceEntity s set s.status = 'ACTIVE' " +
+            "where s.customer.customerId in :customerIds and s.status = 'SUSPENDED_NONPAYMENT'")
+    int restoreAfterPayment(@Param("customerIds") List<Long> customerIds);
 }
@@ -0,0 +1,79 @@
+package com.abc.postpaid.customer.service;
+
+import com.abc.postpaid.cache.CacheInvalidationBus;
+import com.abc.postpaid.config.AfterCommit;
+import com.abc.postpaid.config.CacheRegions;
+import com.abc.postpaid.customer.dto.CustomerResponse;
+import com.abc.postpaid.customer.dto.ServiceResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read-through caches for customer profiles and their service lists, which the dashboard reads on every
+ * refresh but which change rarely. Writers evict after their transaction commits, so a concurrent read
+ * cannot re-cache the state being replaced; the region TTL bounds staleness from any write path that
+ * misses an eviction. Evictions go through the {@link CacheInvalidationBus} so other nodes drop the same
+ * keys.
+ */
+@Component
+public class CustomerCaches {
+
+    public static final String CUSTOMERS = "customers";
+    public static final String CUSTOMERS_BY_USER = "customers-by-user";
+    public static final String CUSTOMER_SERVICES = "customer-services";
+
+    @Autowired
+    private CacheRegions cacheRegions;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    private Cache<Long, CustomerResponse> customers;
+    private Cache<Long, CustomerResponse> customersByUser;
+    private Cache<Long, List<ServiceResponse>> services;
+
+    public CustomerCaches() {}
+
+    public CustomerCaches(CacheRegions cacheRegions, CacheInvalidationBus invalidationBus) {
+        this.cacheRegions = cacheRegions;
+        this.invalidationBus = invalidationBus;
+    }
+
+    @PostConstruct
+    public void init() {
+        this.customers = cacheRegions.create(CUSTOMERS);
+        this.customersByUser = cacheRegions.create(CUSTOMERS_BY_USER);
+        this.services = cacheRegions.create(CUSTOMER_SERVICES);
+        invalidationBus.register(CUSTOMERS, CacheInvalidationBus.longKeys(customers));
+        invalidationBus.register(CUSTOMERS_BY_USER, CacheInvalidationBus.longKeys(customersByUser));
+        invalidationBus.register(CUSTOMER_SERVICES, CacheInvalidationBus.longKeys(services));
+    }
+
+    public Cache<Long, CustomerResponse> customers() { return customers; }
+
+    public Cache<Long, CustomerResponse> customersByUser() { return customersByUser; }
+
+    public Cache<Long, List<ServiceResponse>> services() { return services; }
+
+    /** Evicts a customer's profile (by id and by its user) and its service list. */
+    public void evictCustomer(Long customerId, Long userId) {
+        AfterCommit.run(() -> {
+            if (customerId != null) {
+                invalidationBus.publish(CUSTOMERS, List.of(customerId));
+                invalidationBus.publish(CUSTOMER_SERVICES, List.of(customerId));
+            }
+            if (userId != null) invalidationBus.publish(CUSTOMERS_BY_USER, List.of(userId));
+        });
+    }
+
+    public void evictServices(Collection<Long> customerIds) {
+        if (customerIds.isEmpty()) return;
+        List<Long> ids = List.copyOf(customerIds);
+        AfterCommit.run(() -> invalidationBus.publish(CUSTOMER_SERVICES, ids));
+    }
+}
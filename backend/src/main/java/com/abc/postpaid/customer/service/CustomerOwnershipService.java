@@ -0,0 +1,20 @@
+package com.abc.postpaid.customer.service;
+
+import com.abc.postpaid.security.AuthPrincipal;
+
+/**
+ * Which customer record belongs to which user, answered from the token or a bounded in-memory map so
+ * ownership checks run before (and without) loading the customer.
+ */
+public interface CustomerOwnershipService {
+
+    /** The customer id of the user's customer record, or null when the user has none. */
+    Long findCustomerIdForUser(long userId);
+
+    /** True when {@code principal} owns {@code customerId}; uses the token's customer id when it has one. */
+    boolean owns(AuthPrincipal principal, long customerId);
+
+    void evictUser(long userId);
+
+    void evictCustomer(long customerId);
+}
@@ -0,0 +1,86 @@
+package com.abc.postpaid.customer.service.impl;
+
+import com.abc.postpaid.cache.CacheInvalidationBus;
+import com.abc.postpaid.config.AfterCommit;
+import com.abc.postpaid.config.CacheRegions;
+import com.abc.postpaid.config.DataSourceRoute;
+import com.abc.postpaid.customer.repository.CustomerRepository;
+import com.abc.postpaid.customer.service.CustomerOwnershipService;
+import com.abc.postpaid.security.AuthPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * userId to customerId map in the "customer-ownership" cache region. Users without a customer record
+ * (admins) are cached too, so their checks do not reach the database either. The mapping only changes
+ * when a customer is created or deleted; both evict it on every node through the invalidation bus once
+ * their transaction commits. Evicting earlier would let a concurrent check reload the old mapping (no
+ * customer) from the primary and keep it, and so deny the new customer, for the whole region TTL.
+ */
+@Service
+public class CustomerOwnershipServiceImpl implements CustomerOwnershipService {
+
+    public static final String REGION = "customer-ownership";
+
+    // same cache, evicted by the mapped customer id since other nodes do not know the user id
+    private static final String BY_CUSTOMER = REGION + ":by-customer";
+
+    private static final long NONE = AuthPrincipal.NO_CUSTOMER;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CacheRegions cacheRegions;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    private Cache<Long, Long> customerIdsByUser;
+
+    @PostConstruct
+    public void init() {
+        this.customerIdsByUser = cacheRegions.create(REGION);
+        invalidationBus.register(REGION, CacheInvalidationBus.longKeys(customerIdsByUser));
+        invalidationBus.register(BY_CUSTOMER, keys -> {
+            if (keys.contains(CacheInvalidationBus.ALL_KEYS)) {
+                customerIdsByUser.invalidateAll();
+                return;
+            }
+            for (String key : keys) {
+                long customerId = Long.parseLong(key);
+                customerIdsByUser.asMap().values().removeIf(id -> id == customerId);
+            }
+        });
+    }
+
+    @Override
+    public Long findCustomerIdForUser(long userId) {
+        long customerId = customerIdsByUser.get(userId,
+                id -> DataSourceRoute.onPrimary(() -> customerRepository.findCustomerIdByUserId(id).orElse(NONE)));
+        return customerId == NONE ? null : customerId;
+    }
+
+    @Override
+    public boolean owns(AuthPrincipal principal, long customerId) {
+        if (principal == null) return false;
+        if (principal.customerId() != NONE) return principal.ownsCustomer(customerId);
+        // token issued without a customer id (none at login time, or an older token)
+        Long mapped = findCustomerIdForUser(principal.userId());
+        return mapped != null && mapped == customerId;
+    }
+
+    @Override
+    public void evictUser(long userId) {
+        AfterCommit.run(() -> invalidationBus.publish(REGION, List.of(userId)));
+    }
+
+    @Override
+    public void evictCustomer(long customerId) {
+        AfterCommit.run(() -> invalidationBus.publish(BY_CUSTOMER, List.of(customerId)));
+    }
+}
@@ -1,5 +1,6 @@
 package com.abc.postpaid.customer.service.impl;
 
+import com.abc.postpaid.config.DataSourceRoute;
 import com.abc.postpaid.customer.dto.*;
 import com.abc.postpaid.customer.entity.Customer;
 import com.abc.postpaid.user.entity.User;
@@ -7,6 +8,8 @@ import com.abc.postpaid.user.repository.UserRepository;
 import com.abc.postpaid.customer.entity.ServiceEntity;
 import com.abc.postpaid.customer.repository.CustomerRepository;
 import com.abc.postpaid.customer.repository.ServiceRepository;
+import com.abc.postpaid.customer.service.CustomerCaches;
+import com.abc.postpaid.customer.service.CustomerOwnershipService;
 import com.abc.postpaid.customer.service.CustomerService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -14,7 +17,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class CustomerServiceImpl implements CustomerService {
@@ -28,6 +30,12 @@ public class CustomerServiceImpl implements CustomerService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CustomerOwnershipService customerOwnershipService;
+
+    @Autowired
+    private CustomerCaches customerCaches;
+
     @Override
     @Transactional
     public Long createCustomer(CustomerRequest req) {
@@ -38,44 +46,33 @@ public class CustomerServiceImpl implements CustomerService {
         c.setAddress(req.getAddress());
         c.setPhoneNumber(req.getPhoneNumber());
         Customer saved = customerRepository.save(c);
+        customerOwnershipService.evictUser(u.getUserId());
+        customerCaches.evictCustomer(null, u.getUserId());
         return saved.getCustomerId();
     }
 
     @Override
     public CustomerResponse getCustomer(Long id) {
-        Customer c = customerRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("not_found"));
-        CustomerResponse r = new CustomerResponse();
-        r.setCustomerId(c.getCustomerId());
-        r.setUserId(c.getUser() != null ? c.getUser().getUserId() : null);
-        r.setFullName(c.getFullName());
-        r.setAddress(c.getAddress());
-        r.setPhoneNumber(c.getPhoneNumber());
-        return r;
+        // a missing customer throws out of the loader and is not cached; loaders read the primary so a
+        // lagging replica cannot put the pre-write state back into the cache
+        return customerCaches.customers().get(id, key -> DataSourceRoute.onPrimary(() -> {
+            Customer c = customerRepository.findById(key).orElseThrow(() -> new IllegalArgumentException("not_found"));
+            return toResponse(c);
+        }));
     }
 
     @Override
     public CustomerResponse getCustomerByUserId(Long userId){
-        Customer c = customerRepository.findByUserUserId(userId).orElseThrow(() -> new IllegalArgumentException("not_found"));
-        CustomerResponse r = new CustomerResponse();
-        r.setCustomerId(c.getCustomerId());
-        r.setUserId(c.getUser() != null ? c.getUser().getUserId() : null);
-        r.setFullName(c.getFullName());
-        r.setAddress(c.getAddress());
-        r.setPhoneNumber(c.getPhoneNumber());
-        return r;
+        return customerCaches.customersByUser().get(userId, key -> DataSourceRoute.onPrimary(() -> {
+            Customer c = customerRepository.findByUserUserId(key).orElseThrow(() -> new IllegalArgumentException("not_found"));
+            return toResponse(c);
+        }));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CustomerResponse> listCustomers() {
-        return customerRepository.findAll().stream().map(c -> {
-            CustomerResponse r = new CustomerResponse();
-            r.setCustomerId(c.getCustomerId());
-            r.setUserId(c.getUser() != null ? c.getUser().getUserId() : null);
-            r.setFullName(c.getFullName());
-            r.setAddress(c.getAddress());
-            r.setPhoneNumber(c.getPhoneNumber());
-            return r;
-        }).collect(Collectors.toList());
+        return customerRepository.findAllResponses();
     }
 
     @Override
@@ -86,12 +83,16 @@ public class CustomerServiceImpl implements CustomerService {
         if (req.getAddress() != null) c.setAddress(req.getAddress());
         if (req.getPhoneNumber() != null) c.setPhoneNumber(req.getPhoneNumber());
         customerRepository.save(c);
+        customerCaches.evictCustomer(id, c.getUser() != null ? c.getUser().getUserId() : null);
     }
 
     @Override
     @Transactional
     public void deleteCustomer(Long id) {
+        Customer c = customerRepository.findById(id).orElse(null);
         customerRepository.deleteById(id);
+        customerOwnershipService.evictCustomer(id);
+        customerCaches.evictCustomer(id, c != null && c.getUser() != null ? c.getUser().getUserId() : null);
     }
 
     @Override
@@ -102,14 +103,16 @@ public class CustomerServiceImpl implements CustomerService {
         s.setCustomer(c);
         s.setServiceType(req.getServiceType());
         s.setStartDate(req.getStartDate() != null ? req.getStartDate() : OffsetDateTime.now());
-        s.setStatus(req.getStatus() != null ? req.getStatus() : "ACTIVE");
+        s.setStatus(req.getStatus() != null ? req.getStatus() : ServiceEntity.STATUS_ACTIVE);
         ServiceEntity saved = serviceRepository.save(s);
+        customerCaches.evictServices(List.of(customerId));
         return saved.getServiceId();
     }
 
     @Override
     public List<ServiceResponse> listServicesForCustomer(Long customerId) {
-        return serviceRepository.findByCustomerCustomerId(customerId).stream().map(s -> {
+        // cached lists are shared between callers, so they are immutable
+        return customerCaches.services().get(customerId, key -> DataSourceRoute.onPrimary(() -> serviceRepository.findByCustomerCustomerId(key)).stream().map(s -> {
             ServiceResponse r = new ServiceResponse();
             r.setServiceId(s.getServiceId());
             r.setCustomerId(s.getCustomer().getCustomerId());
@@ -117,6 +120,16 @@ public class CustomerServiceImpl implements CustomerService {
             r.setStartDate(s.getStartDate());
             r.setStatus(s.getStatus());
             return r;
-        }).collect(Collectors.toList());
+        }).toList());
+    }
+
+    private static CustomerResponse toResponse(Customer c) {
+        CustomerResponse r = new CustomerResponse();
+        r.setCustomerId(c.getCustomerId());
+        r.setUserId(c.getUser() != null ? c.getUser().getUserId() : null);
+        r.setFullName(c.getFullName());
+        r.setAddress(c.getAddress());
+        r.setPhoneNumber(c.getPhoneNumber());
+        return r;
     }
 }
@@ -0,0 +1,29 @@
+package com.abc.postpaid.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Flight Recorder event for one customer-id range of an invoice aging run, aged in its own transaction. */
+@Name("com.abc.postpaid.BillRunPartition")
+@Label("Bill Run Partition")
+@Category({"Postpaid Billing", "Billing"})
+@Description("One customer-id range of an invoice aging run")
+@StackTrace(false)
+public class BillRunPartitionEvent extends Event {
+
+    @Label("From Customer Id")
+    public long fromCustomerId;
+
+    @Label("To Customer Id")
+    public long toCustomerId;
+
+    @Label("As Of")
+    public String asOf;
+
+    @Label("Invoices Changed")
+    public int invoicesChanged;
+}
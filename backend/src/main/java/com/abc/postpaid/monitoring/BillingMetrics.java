@@ -0,0 +1,41 @@
+package com.abc.postpaid.monitoring;
+
+import com.abc.postpaid.config.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Business counters for the billing write paths. Each is incremented once the surrounding transaction
+ * commits, so a rolled-back ingest, invoice or payment (an idempotency-key collision, say) is never counted.
+ * Exported as {@code billing_usage_records_ingested_total}, {@code billing_invoices_generated_total} and
+ * {@code billing_payments_recorded_total} on {@code /actuator/prometheus}.
+ */
+@Component
+public class BillingMetrics {
+
+    private final Counter usageRecordsIngested;
+    private final Counter invoicesGenerated;
+    private final Counter paymentsRecorded;
+
+    public BillingMetrics(MeterRegistry meterRegistry) {
+        this.usageRecordsIngested = Counter.builder("billing.usage.records.ingested")
+                .description("Usage rows committed").register(meterRegistry);
+        this.invoicesGenerated = Counter.builder("billing.invoices.generated")
+                .description("Invoices committed").register(meterRegistry);
+        this.paymentsRecorded = Counter.builder("billing.payments.recorded")
+                .description("Payments committed").register(meterRegistry);
+    }
+
+    public void usageRecordsIngested(int rows) {
+        AfterCommit.run(() -> usageRecordsIngested.increment(rows));
+    }
+
+    public void invoiceGenerated() {
+        AfterCommit.run(invoicesGenerated::increment);
+    }
+
+    public void paymentRecorded() {
+        AfterCommit.run(paymentsRecorded::increment);
+    }
+}
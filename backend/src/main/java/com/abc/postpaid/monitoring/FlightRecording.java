@@ -0,0 +1,129 @@
+package com.abc.postpaid.monitoring;
+
+import com.abc.postpaid.config.FlightRecorderProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordingFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Always-on Flight Recorder recording with the JDK's low-overhead settings plus the billing events in this
+ * package. Old data falls off the ring buffer after {@code app.jfr.max-age} or {@code max-size}; an incident
+ * is captured by dumping the last few minutes with {@link #dump(Duration)}. Only the newest
+ * {@code app.jfr.max-dumps} dumps are kept on disk.
+ */
+@Component
+public class FlightRecording {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightRecording.class);
+
+    static final String RECORDING_NAME = "postpaid-continuous";
+
+    private static final String DUMP_PREFIX = "postpaid-";
+
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+    private final FlightRecorderProperties properties;
+
+    private volatile Recording recording;
+
+    public FlightRecording(FlightRecorderProperties properties) {
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void start() throws IOException, ParseException {
+        if (!properties.isEnabled()) return;
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("Flight Recorder is not available in this JVM; continuous recording is off");
+            return;
+        }
+        Recording started = new Recording(Configuration.getConfiguration(properties.getSettings()));
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        started.setMaxAge(properties.getMaxAge());
+        started.setMaxSize(properties.getMaxSize().toBytes());
+        started.start();
+        this.recording = started;
+        log.info("Continuous Flight Recorder recording started (max-age {}, max-size {})",
+                properties.getMaxAge(), properties.getMaxSize());
+    }
+
+    @PreDestroy
+    public void stop() {
+        Recording running = this.recording;
+        this.recording = null;
+        if (running != null) running.close();
+    }
+
+    /**
+     * Writes the events of the last {@code window} to a new file in the dump directory and returns its path.
+     * The whole ring buffer is copied to a scratch file first and then filtered by event end time.
+     */
+    public Path dump(Duration window) throws IOException {
+        Recording running = this.recording;
+        if (running == null || running.getState() != RecordingState.RUNNING) {
+            throw new IllegalArgumentException("recording_not_running");
+        }
+        if (window.isNegative() || window.isZero() || window.compareTo(properties.getMaxAge()) > 0) {
+            throw new IllegalArgumentException("invalid_window");
+        }
+
+        Instant now = Instant.now();
+        Instant since = now.minus(window);
+        Path directory = Files.createDirectories(Path.of(properties.getDumpDirectory()));
+        Path target = directory.resolve(DUMP_PREFIX + FILE_TIMESTAMP.format(now) + "-" + window.toMinutes() + "m.jfr");
+        Path scratch = Files.createTempFile(directory, "ring-buffer-", ".jfr");
+        try {
+            running.dump(scratch);
+            try (RecordingFile ringBuffer = new RecordingFile(scratch)) {
+                ringBuffer.write(target, event -> !event.getEndTime().isBefore(since));
+            }
+        } finally {
+            Files.deleteIfExists(scratch);
+        }
+        log.info("Dumped the last {} of Flight Recorder data to {}", window, target);
+        pruneDumps(directory);
+        return target;
+    }
+
+    /** Deletes all but the newest {@code max-dumps} dumps; file names start with a sortable UTC timestamp. */
+    private void pruneDumps(Path directory) throws IOException {
+        List<Path> dumps;
+        try (Stream<Path> files = Files.list(directory)) {
+            dumps = files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(DUMP_PREFIX) && name.endsWith(".jfr");
+                    })
+                    .sorted(Comparator.comparing((Path file) -> file.getFileName().toString()).reversed())
+                    .toList();
+        }
+        for (Path old : dumps.subList(Math.min(dumps.size(), Math.max(1, properties.getMaxDumps())), dumps.size())) {
+            try {
+                Files.deleteIfExists(old);
+                log.info("Deleted old Flight Recorder dump {}", old);
+            } catch (IOException ex) {
+                log.warn("Could not delete old Flight Recorder dump {}", old, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.abc.postpaid.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Flight Recorder event spanning {@code InvoiceService#createInvoice}, from customer lookup to insert. */
+@Name("com.abc.postpaid.InvoiceCreate")
+@Label("Invoice Create")
+@Category({"Postpaid Billing", "Billing"})
+@Description("An invoice written for a customer")
+@StackTrace(false)
+public class InvoiceCreateEvent extends Event {
+
+    @Label("Customer Id")
+    public long customerId;
+
+    @Label("Invoice Id")
+    public long invoiceId;
+
+    @Label("Total Amount")
+    public double totalAmount;
+
+    @Label("Status")
+    public String status;
+}
@@ -0,0 +1,29 @@
+package com.abc.postpaid.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a bearer token checked by {@code JwtAuthenticationFilter}. Only signature
+ * verifications and rejections are committed; a valid token answered from the verified-token cache is a map
+ * lookup and would only crowd the ring buffer.
+ */
+@Name("com.abc.postpaid.JwtValidation")
+@Label("JWT Validation")
+@Category({"Postpaid Billing", "Security"})
+@Description("A bearer token verified or rejected")
+@StackTrace(false)
+public class JwtValidationEvent extends Event {
+
+    @Label("Signature Verified")
+    @Description("False when the token came from the verified-token cache")
+    public boolean signatureVerified;
+
+    @Label("Outcome")
+    @Description("valid, or the rejection reason such as token_expired or token_revoked")
+    public String outcome;
+}
@@ -0,0 +1,33 @@
+package com.abc.postpaid.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Flight Recorder event spanning {@code PaymentService#recordPayment}, including the idempotency-key claim. */
+@Name("com.abc.postpaid.PaymentRecord")
+@Label("Payment Record")
+@Category({"Postpaid Billing", "Billing"})
+@Description("A payment recorded against an invoice")
+@StackTrace(false)
+public class PaymentRecordEvent extends Event {
+
+    @Label("Invoice Id")
+    public long invoiceId;
+
+    @Label("Payment Id")
+    public long paymentId;
+
+    @Label("Amount")
+    public double amount;
+
+    @Label("Payment Method")
+    public String paymentMethod;
+
+    @Label("Idempotency Key")
+    @Description("Whether the request carried an idempotency key")
+    public boolean idempotencyKey;
+}
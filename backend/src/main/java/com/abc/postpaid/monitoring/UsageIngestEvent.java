@@ -0,0 +1,26 @@
+package com.abc.postpaid.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Flight Recorder event spanning one usage ingest call and the rows it wrote for a service. */
+@Name("com.abc.postpaid.UsageIngest")
+@Label("Usage Ingest Batch")
+@Category({"Postpaid Billing", "Usage"})
+@Description("Usage rows written for a service in one ingest call")
+@StackTrace(false)
+public class UsageIngestEvent extends Event {
+
+    @Label("Service Id")
+    public long serviceId;
+
+    @Label("Records")
+    public int records;
+
+    @Label("Unit")
+    public String unit;
+}
@@ -0,0 +1,39 @@
+package com.abc.postpaid.monitoring.controller;
+
+import com.abc.postpaid.monitoring.FlightRecording;
+import com.abc.postpaid.web.Bulkheads;
+import com.abc.postpaid.web.TrafficClass;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/jfr")
+@PreAuthorize("hasRole('ADMIN')")
+public class FlightRecordingController {
+
+    @Autowired
+    private FlightRecording flightRecording;
+
+    @Autowired
+    private Bulkheads bulkheads;
+
+    /** Dumps the last {@code minutes} of the continuous recording to a file on this node. */
+    @PostMapping("/dumps")
+    public WebAsyncTask<ResponseEntity<?>> dump(@RequestParam(defaultValue = "5") int minutes) {
+        return bulkheads.run(TrafficClass.ADMIN, () -> {
+            Path file = flightRecording.dump(Duration.ofMinutes(minutes));
+            return ResponseEntity.status(201).body(Map.of("file", file.toString(), "size_bytes", Files.size(file)));
+        });
+    }
+}
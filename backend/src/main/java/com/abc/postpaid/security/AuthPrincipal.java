@@ -0,0 +1,49 @@
+package com.abc.postpaid.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * The authenticated caller, built once per verified token by {@link JwtAuthenticationFilter} and handed
+ * to controllers as a method argument (see {@link AuthPrincipalArgumentResolver}). Ownership checks
+ * compare primitives; {@code customerId} is {@link #NO_CUSTOMER} when the token carries none.
+ *
+ * <p>Not a {@code java.security.Principal}: Spring MVC resolves any parameter of that type itself, from
+ * {@code request.getUserPrincipal()}, before custom resolvers are asked.
+ */
+public record AuthPrincipal(long userId, Role role, long customerId) implements AuthenticatedPrincipal {
+
+    public static final long NO_CUSTOMER = -1L;
+
+    public enum Role {
+        ADMIN, CUSTOMER, OTHER;
+
+        public static Role of(String role) {
+            if ("admin".equalsIgnoreCase(role)) return ADMIN;
+            if ("customer".equalsIgnoreCase(role)) return CUSTOMER;
+            return OTHER;
+        }
+    }
+
+    static AuthPrincipal of(TokenClaims claims) {
+        long customerId = claims.customerId() != null ? claims.customerId() : NO_CUSTOMER;
+        return new AuthPrincipal(Long.parseLong(claims.subject()), Role.of(claims.role()), customerId);
+    }
+
+    public boolean isAdmin() {
+        return role == Role.ADMIN;
+    }
+
+    public boolean isUser(long userId) {
+        return this.userId == userId;
+    }
+
+    public boolean ownsCustomer(long customerId) {
+        return this.customerId != NO_CUSTOMER && this.customerId == customerId;
+    }
+
+    /** The user id, so {@code Authentication.getName()} keeps returning the token subject. */
+    @Override
+    public String getName() {
+        return Long.toString(userId);
+    }
+}
@@ -0,0 +1,158 @@
+package com.abc.postpaid.security;
+
+import com.abc.postpaid.config.RateLimitProperties;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket limits on {@code POST /api/login} and {@code /api/register}, per client IP and per
+ * submitted username, ahead of the controller: a rejected request gets 429 before any user lookup or
+ * password hash. The allowed path costs one map lookup and one CAS per key. The client IP is
+ * {@code getRemoteAddr()}, which reflects {@code X-Forwarded-For} only from trusted proxies
+ * ({@code server.forward-headers-strategy} and {@code server.tomcat.remoteip.internal-proxies}).
+ */
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final int MAX_BODY_BYTES = 8 * 1024;
+
+    private final TokenBucketRateLimiter perIp;
+    private final TokenBucketRateLimiter perUsername;
+    private final Counter ipRejections;
+    private final Counter usernameRejections;
+
+    public AuthRateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.perIp = new TokenBucketRateLimiter(properties.getPerIp().getBurst(),
+                properties.getPerIp().getPerMinute(), properties.getMaxKeys());
+        this.perUsername = new TokenBucketRateLimiter(properties.getPerUsername().getBurst(),
+                properties.getPerUsername().getPerMinute(), properties.getMaxKeys());
+        this.ipRejections = Counter.builder("auth.rate_limited").tag("key", "ip").register(meterRegistry);
+        this.usernameRejections = Counter.builder("auth.rate_limited").tag("key", "username").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) return true;
+        String path = request.getServletPath();
+        return !"/api/login".equals(path) && !"/api/register".equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long wait = perIp.tryAcquire(request.getRemoteAddr());
+        if (wait > 0) {
+            ipRejections.increment();
+            reject(response, wait);
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return;
+        }
+        String username = readUsername(body);
+        if (username != null) {
+            wait = perUsername.tryAcquire(username.toLowerCase(Locale.ROOT));
+            if (wait > 0) {
+                usernameRejections.increment();
+                reject(response, wait);
+                return;
+            }
+        }
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"rate_limited\"}");
+    }
+
+    /** Top-level "username" string of the JSON body, or null; a malformed body is left to the controller. */
+    private static String readUsername(byte[] body) {
+        try (JsonParser p = JSON.createParser(body)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) return null;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String name = p.currentName();
+                p.nextToken();
+                if ("username".equals(name)) return p.getValueAsString();
+                p.skipChildren();
+            }
+        } catch (IOException ex) {
+            // not JSON
+        }
+        return null;
+    }
+
+    /** Replays the body already read by the filter to the controller. */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override public boolean isFinished() { return in.available() == 0; }
+                @Override public boolean isReady() { return true; }
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // the whole body is already in memory: it is available at once and then complete
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException ex) {
+                        listener.onError(ex);
+                    }
+                }
+                @Override public int read() { return in.read(); }
+                @Override public int read(byte[] b, int off, int len) { return in.read(b, off, len); }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding != null ? java.nio.charset.Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.abc.postpaid.security;
+
+import java.util.Collection;
+
+/**
+ * Immutable Bloom filter over strings, built once from a known set. Answers "definitely absent" in a
+ * handful of bit probes without touching the string set it was built from; a positive answer must be
+ * confirmed by the caller.
+ */
+final class BloomFilter {
+
+    private static final BloomFilter EMPTY = new BloomFilter(new long[1], 1);
+
+    private final long[] bits;
+    private final long numBits;
+    private final int hashes;
+
+    private BloomFilter(long[] bits, int hashes) {
+        this.bits = bits;
+        this.numBits = (long) bits.length * Long.SIZE;
+        this.hashes = hashes;
+    }
+
+    /** Filter sized for {@code items} at roughly the given false-positive probability. */
+    static BloomFilter of(Collection<String> items, double falsePositiveRate) {
+        if (items.isEmpty()) return EMPTY;
+        int n = items.size();
+        double ln2 = Math.log(2);
+        long m = Math.max(Long.SIZE, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2)));
+        int k = Math.max(1, (int) Math.round((double) m / n * ln2));
+        BloomFilter filter = new BloomFilter(new long[(int) ((m + Long.SIZE - 1) / Long.SIZE)], k);
+        for (String item : items) filter.put(item);
+        return filter;
+    }
+
+    boolean mightContain(String item) {
+        if (this == EMPTY) return false;
+        long h1 = hash(item);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numBits);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    private void put(String item) {
+        long h1 = hash(item);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numBits);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    // FNV-1a over the chars, finished with the murmur3 mixer so low bits are usable
+    private static long hash(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
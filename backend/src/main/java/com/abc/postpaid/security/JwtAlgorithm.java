@@ -0,0 +1,48 @@
+package com.abc.postpaid.security;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+
+/**
+ * Supported JWS signing algorithms. ES256 uses the IEEE P1363 (r||s) signature encoding that JWS requires.
+ */
+public enum JwtAlgorithm {
+    RS256("RS256", "SHA256withRSA", "RSA"),
+    ES256("ES256", "SHA256withECDSAinP1363Format", "EC"),
+    ED25519("EdDSA", "Ed25519", "Ed25519");
+
+    private final String jwsName;
+    private final String signatureAlgorithm;
+    private final String keyAlgorithm;
+
+    JwtAlgorithm(String jwsName, String signatureAlgorithm, String keyAlgorithm) {
+        this.jwsName = jwsName;
+        this.signatureAlgorithm = signatureAlgorithm;
+        this.keyAlgorithm = keyAlgorithm;
+    }
+
+    /** The {@code alg} header value. */
+    public String getJwsName() { return jwsName; }
+    public String getSignatureAlgorithm() { return signatureAlgorithm; }
+    public String getKeyAlgorithm() { return keyAlgorithm; }
+
+    /** Accepts either the enum name or the JWS name, e.g. "ED25519" or "EdDSA". */
+    public static JwtAlgorithm fromName(String name) {
+        for (JwtAlgorithm algorithm : values()) {
+            if (algorithm.name().equalsIgnoreCase(name) || algorithm.jwsName.equals(name)) return algorithm;
+        }
+        throw new IllegalArgumentException("unsupported_jwt_algorithm: " + name);
+    }
+
+    public KeyPair generateKeyPair() throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(keyAlgorithm);
+        switch (this) {
+            case RS256 -> generator.initialize(2048);
+            case ES256 -> generator.initialize(new ECGenParameterSpec("secp256r1"));
+            case ED25519 -> { }
+        }
+        return generator.generateKeyPair();
+    }
+}
@@ -1,25 +1,27 @@
 package com.abc.postpaid.security;
 
+import com.abc.postpaid.monitoring.JwtValidationEvent;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
-import java.util.Map;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtProvider jwtProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationList revocationList;
 
-    public JwtAuthenticationFilter(JwtProvider jwtProvider) {
+    public JwtAuthenticationFilter(JwtProvider jwtProvider, VerifiedTokenCache verifiedTokenCache, TokenRevocationList revocationList) {
         this.jwtProvider = jwtProvider;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.revocationList = revocationList;
     }
 
     @Override
@@ -27,16 +29,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String header = request.getHeader("Authorization");
         if (StringUtils.hasText(header) && header.startsWith("Bearer ")) {
             String token = header.substring(7);
+            JwtValidationEvent event = new JwtValidationEvent();
+            event.begin();
             try {
-                Map<String, Object> claims = jwtProvider.validateTokenAndGetClaims(token);
-                String sub = String.valueOf(claims.get("sub"));
-                String role = String.valueOf(claims.get("role"));
-                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(sub, null,
-                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase())));
+                VerifiedTokenCache.VerifiedToken verified = verifiedTokenCache.get(token);
+                if (verified == null) {
+                    event.signatureVerified = true;
+                    verified = new VerifiedTokenCache.VerifiedToken(jwtProvider.validateToken(token));
+                    verifiedTokenCache.put(token, verified);
+                }
+                // checked on every request, cached or not: revocation happens after verification
+                if (revocationList.isRevoked(verified.claims().sessionId())) throw new IllegalArgumentException("token_revoked");
+                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                        verified.principal(), null, verified.authorities());
                 SecurityContextHolder.getContext().setAuthentication(auth);
+                event.outcome = "valid";
             } catch (Exception ex) {
                 // invalid token, ignore and proceed without auth
+                event.outcome = ex instanceof IllegalArgumentException && ex.getMessage() != null
+                        ? ex.getMessage() : ex.getClass().getSimpleName();
             }
+            if (event.signatureVerified || !"valid".equals(event.outcome)) event.commit();
         }
         filterChain.doFilter(request, response);
     }
@@ -0,0 +1,111 @@
+package com.abc.postpaid.security;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * One signing key of the {@link JwtKeyRegistry}. Keys without a private part only verify tokens, e.g. a
+ * rotated-out key kept until the tokens it signed have expired.
+ */
+public final class JwtKey {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    /** Idle Signature objects kept per key and direction; more concurrent callers just build their own. */
+    static final int POOL_SIZE = 16;
+
+    private final String kid;
+    private final JwtAlgorithm algorithm;
+    private final PrivateKey privateKey;
+    private final PublicKey publicKey;
+    private final byte[] headerB64;
+
+    // Signature objects are not thread-safe but are reusable once initialized: verify()/sign() reset
+    // them to the initialized state. They are borrowed from a small pool owned by this key rather than
+    // held per thread, so a rotated-out key is collectable at once and short-lived (virtual) threads
+    // still reuse them.
+    private final BlockingQueue<Signature> signers = new ArrayBlockingQueue<>(POOL_SIZE);
+    private final BlockingQueue<Signature> verifiers = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    public JwtKey(String kid, JwtAlgorithm algorithm, PrivateKey privateKey, PublicKey publicKey) {
+        this.kid = kid;
+        this.algorithm = algorithm;
+        this.privateKey = privateKey;
+        this.publicKey = publicKey;
+        this.headerB64 = Base64.getUrlEncoder().withoutPadding().encode(header(kid, algorithm));
+    }
+
+    public static JwtKey generate(String kid, JwtAlgorithm algorithm) throws GeneralSecurityException {
+        KeyPair keyPair = algorithm.generateKeyPair();
+        return new JwtKey(kid, algorithm, keyPair.getPrivate(), keyPair.getPublic());
+    }
+
+    public String getKid() { return kid; }
+    public JwtAlgorithm getAlgorithm() { return algorithm; }
+    public PublicKey getPublicKey() { return publicKey; }
+
+    public boolean canSign() { return privateKey != null; }
+
+    /** Base64url of the {@code {"alg","typ","kid"}} header this key signs with. */
+    byte[] headerB64() { return headerB64; }
+
+    byte[] sign(byte[] signingInput) throws GeneralSecurityException {
+        if (privateKey == null) throw new IllegalStateException("verify_only_key: " + kid);
+        Signature signer = borrow(signers, true);
+        // not returned to the pool when it throws: its state is then unknown
+        signer.update(signingInput);
+        byte[] signature = signer.sign();
+        signers.offer(signer);
+        return signature;
+    }
+
+    boolean verify(byte[] data, int length, byte[] signature, int signatureOffset, int signatureLength) throws GeneralSecurityException {
+        Signature verifier = borrow(verifiers, false);
+        verifier.update(data, 0, length);
+        boolean valid = verifier.verify(signature, signatureOffset, signatureLength);
+        verifiers.offer(verifier);
+        return valid;
+    }
+
+    private Signature borrow(BlockingQueue<Signature> pool, boolean forSigning) {
+        Signature pooled = pool.poll();
+        return pooled != null ? pooled : newSignature(forSigning);
+    }
+
+    private Signature newSignature(boolean forSigning) {
+        try {
+            Signature signature = Signature.getInstance(algorithm.getSignatureAlgorithm());
+            if (forSigning) signature.initSign(privateKey);
+            else signature.initVerify(publicKey);
+            return signature;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static byte[] header(String kid, JwtAlgorithm algorithm) {
+        ByteArrayBuilder out = new ByteArrayBuilder(64);
+        try (JsonGenerator g = JSON.createGenerator(out)) {
+            g.writeStartObject();
+            g.writeStringField("alg", algorithm.getJwsName());
+            g.writeStringField("typ", "JWT");
+            g.writeStringField("kid", kid);
+            g.writeEndObject();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,187 @@
+package com.abc.postpaid.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Signing and verification keys by {@code kid}.
+ *
+ * <p>Without {@code app.jwt.keyset} the RS256 pair at {@code app.jwt.private-key}/{@code public-key} is
+ * the only key (kid "default"). With it, keys come from a JSON key set on the filesystem that is re-read
+ * when it changes, so the algorithm or key can be rotated without a restart:
+ * <pre>
+ * {"active": "k2",
+ *  "keys": [{"kid": "k2", "alg": "EdDSA", "privateKey": "k2.key.pem", "publicKey": "k2.pub.pem"},
+ *           {"kid": "k1", "alg": "RS256", "publicKey": "k1.pub.pem"}]}
+ * </pre>
+ * PEM paths are relative to the key set file. A key dropped from the set keeps verifying for one token
+ * lifetime, so tokens it signed stay valid across the switch.
+ */
+@Component
+public class JwtKeyRegistry {
+
+    public static final String DEFAULT_KID = "default";
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRegistry.class);
+
+    @Value("${app.jwt.private-key:keystore/private.pem}")
+    private String privateKeyPath;
+
+    @Value("${app.jwt.public-key:keystore/public.pem}")
+    private String publicKeyPath;
+
+    @Value("${app.jwt.keyset:}")
+    private String keysetPath;
+
+    @Value("${app.jwt.expires-minutes:15}")
+    private long expiresMinutes;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private record Entry(JwtKey key, long usableUntilEpochSecond) {}
+
+    private volatile JwtKey signingKey;
+    private volatile Map<String, Entry> keys = Map.of();
+    private long keysetLastModified = -1;
+
+    @PostConstruct
+    public void init() throws Exception {
+        if (StringUtils.hasText(keysetPath)) {
+            reloadKeyset();
+            return;
+        }
+        try {
+            install(new JwtKey(DEFAULT_KID, JwtAlgorithm.RS256,
+                    loadPrivateKey(readResource(privateKeyPath), JwtAlgorithm.RS256),
+                    loadPublicKey(readResource(publicKeyPath), JwtAlgorithm.RS256)), List.of());
+        } catch (Exception e) {
+            // Fallback for development: generate an in-memory RSA keypair
+            log.warn("Failed to load RSA keys from classpath ({} / {}). Generating ephemeral keypair for development.", privateKeyPath, publicKeyPath);
+            install(JwtKey.generate(DEFAULT_KID, JwtAlgorithm.RS256), List.of());
+        }
+    }
+
+    /** Re-reads the key set file when it has changed; a broken file keeps the current keys. */
+    @Scheduled(fixedDelayString = "${app.jwt.keyset-reload-ms:60000}", initialDelayString = "${app.jwt.keyset-reload-ms:60000}")
+    public void reload() {
+        if (!StringUtils.hasText(keysetPath)) return;
+        try {
+            reloadKeyset();
+        } catch (Exception ex) {
+            log.warn("Failed to reload JWT key set {}; keeping current keys", keysetPath, ex);
+        }
+    }
+
+    public JwtKey signingKey() {
+        return signingKey;
+    }
+
+    /** Key for a token's {@code kid} header, or null when unknown or retired. Tokens without a kid use "default". */
+    public JwtKey verificationKey(String kid) {
+        Entry entry = keys.get(kid != null ? kid : DEFAULT_KID);
+        if (entry == null || Instant.now().getEpochSecond() > entry.usableUntilEpochSecond()) return null;
+        return entry.key();
+    }
+
+    /**
+     * Makes {@code active} the signing key and {@code others} verification keys. Keys that were present
+     * before but are not any more are kept for verification until tokens they signed have expired.
+     */
+    public synchronized void install(JwtKey active, Collection<JwtKey> others) {
+        if (!active.canSign()) throw new IllegalArgumentException("active_key_cannot_sign: " + active.getKid());
+        long now = Instant.now().getEpochSecond();
+        Map<String, Entry> next = new HashMap<>();
+        next.put(active.getKid(), new Entry(active, Long.MAX_VALUE));
+        for (JwtKey key : others) {
+            next.putIfAbsent(key.getKid(), new Entry(key, Long.MAX_VALUE));
+        }
+        for (Map.Entry<String, Entry> previous : keys.entrySet()) {
+            if (next.containsKey(previous.getKey())) continue;
+            long until = Math.min(previous.getValue().usableUntilEpochSecond(), now + expiresMinutes * 60);
+            if (until >= now) next.put(previous.getKey(), new Entry(previous.getValue().key(), until));
+        }
+        this.keys = Map.copyOf(next);
+        this.signingKey = active;
+        log.info("JWT signing key is {} ({}), {} keys accepted", active.getKid(), active.getAlgorithm().getJwsName(), next.size());
+    }
+
+    private synchronized void reloadKeyset() throws Exception {
+        Path file = Path.of(keysetPath);
+        long modified = Files.getLastModifiedTime(file).toMillis();
+        if (modified == keysetLastModified) return;
+
+        JsonNode root = mapper.readTree(file.toFile());
+        String activeKid = root.path("active").asText(null);
+        JwtKey active = null;
+        List<JwtKey> others = new ArrayList<>();
+        for (JsonNode node : root.path("keys")) {
+            JwtKey key = readKey(node, file.getParent());
+            if (key.getKid().equals(activeKid)) active = key;
+            else others.add(key);
+        }
+        if (active == null) throw new IllegalArgumentException("active_key_not_found: " + activeKid);
+        install(active, others);
+        keysetLastModified = modified;
+    }
+
+    private JwtKey readKey(JsonNode node, Path dir) throws Exception {
+        String kid = node.path("kid").asText(null);
+        if (!StringUtils.hasText(kid)) throw new IllegalArgumentException("missing_kid");
+        JwtAlgorithm algorithm = JwtAlgorithm.fromName(node.path("alg").asText());
+        String privatePem = node.hasNonNull("privateKey") ? Files.readString(resolve(dir, node.get("privateKey").asText())) : null;
+        String publicPem = Files.readString(resolve(dir, node.path("publicKey").asText()));
+        return new JwtKey(kid, algorithm,
+                privatePem != null ? loadPrivateKey(privatePem, algorithm) : null,
+                loadPublicKey(publicPem, algorithm));
+    }
+
+    private static Path resolve(Path dir, String path) {
+        return dir != null ? dir.resolve(path) : Path.of(path);
+    }
+
+    static PrivateKey loadPrivateKey(String pem, JwtAlgorithm algorithm) throws Exception {
+        PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(pemBody(pem));
+        return KeyFactory.getInstance(algorithm.getKeyAlgorithm()).generatePrivate(spec);
+    }
+
+    static PublicKey loadPublicKey(String pem, JwtAlgorithm algorithm) throws Exception {
+        X509EncodedKeySpec spec = new X509EncodedKeySpec(pemBody(pem));
+        return KeyFactory.getInstance(algorithm.getKeyAlgorithm()).generatePublic(spec);
+    }
+
+    private static byte[] pemBody(String pem) {
+        String normalized = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s+", "");
+        return Base64.getDecoder().decode(normalized);
+    }
+
+    private String readResource(String path) throws Exception {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
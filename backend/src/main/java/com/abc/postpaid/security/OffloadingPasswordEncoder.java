@@ -0,0 +1,148 @@
+package com.abc.postpaid.security;
+
+import com.abc.postpaid.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt on a dedicated pool with a bounded queue. Request threads hand the hash off and wait for it;
+ * when the pool is saturated they fail fast with {@link PasswordHashingBusyException} (HTTP 503) rather
+ * than pile up, so a login burst leaves CPU and request threads for every other endpoint.
+ */
+public class OffloadingPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(OffloadingPasswordEncoder.class);
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+    /** Calibration never settles below this: the long-standing default, whatever the host's speed. */
+    static final int MIN_CALIBRATED_COST = 10;
+    private static final int MAX_COST = 16;
+
+    private final int cost;
+    private final BCryptPasswordEncoder bcrypt;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public OffloadingPasswordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this.cost = properties.getTargetMillis() > 0
+                ? calibrate(properties.getTargetMillis(), Math.max(MIN_CALIBRATED_COST, properties.getCost()))
+                : properties.getCost();
+        this.bcrypt = new BCryptPasswordEncoder(cost);
+        this.timeoutMillis = properties.getTimeoutMillis();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                new CustomizableThreadFactory("password-hashing-"), new ThreadPoolExecutor.AbortPolicy());
+
+        new ExecutorServiceMetrics(executor, "password-hashing", Tags.empty()).bindTo(meterRegistry);
+        this.encodeTimer = Timer.builder("auth.password.hashing").tag("operation", "encode")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hashing").tag("operation", "matches")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.hashing.rejected").register(meterRegistry);
+        log.info("Password hashing: bcrypt cost {}, {} threads, queue {}", cost, properties.getThreads(), properties.getQueueCapacity());
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return offload(timed(encodeTimer, () -> bcrypt.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return offload(timed(matchesTimer, () -> bcrypt.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * True only when the stored hash is weaker than the configured cost. A stronger hash is kept, so nodes
+     * calibrated to different costs do not re-hash the same user back and forth on every login.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) return false;
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < cost;
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T offload(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new PasswordHashingBusyException("password_hashing_busy", ex);
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            rejected.increment();
+            throw new PasswordHashingBusyException("password_hashing_busy", ex);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("password_hashing_interrupted", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private static <T> Callable<T> timed(Timer timer, Supplier<T> work) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                return work.get();
+            } finally {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    /**
+     * Highest cost whose hash takes at most {@code targetMillis} on this machine (each step doubles the work),
+     * but never below {@code floor}, so a slow or overloaded host cannot weaken new hashes.
+     */
+    static int calibrate(long targetMillis, int floor) {
+        int cost = floor;
+        while (cost < MAX_COST) {
+            BCryptPasswordEncoder candidate = new BCryptPasswordEncoder(cost + 1);
+            candidate.encode("calibration"); // warm-up
+            long start = System.nanoTime();
+            candidate.encode("calibration");
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (elapsedMillis > targetMillis) break;
+            cost++;
+        }
+        return cost;
+    }
+}
@@ -0,0 +1,10 @@
+package com.abc.postpaid.security;
+
+/**
+ * The password hashing pool is saturated; the request should be retried later.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
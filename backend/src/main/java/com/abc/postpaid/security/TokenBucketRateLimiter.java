@@ -0,0 +1,58 @@
+package com.abc.postpaid.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key token buckets, lock-free. Each bucket is one {@link AtomicLong} holding the bucket's
+ * "theoretical arrival time" (GCRA): a request is allowed when advancing that time by one emission
+ * interval keeps it within {@code burst} intervals of now, and the advance is a single CAS. Buckets live
+ * in a size-bounded map that drops keys idle for longer than a full refill, since an idle bucket is full
+ * and therefore equivalent to a new one.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoTime;
+
+    /**
+     * @param burst     requests allowed at once from a full bucket
+     * @param perMinute sustained refill rate
+     */
+    public TokenBucketRateLimiter(int burst, int perMinute, long maxKeys) {
+        this(burst, perMinute, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int burst, int perMinute, long maxKeys, LongSupplier nanoTime) {
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute);
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+        this.nanoTime = nanoTime;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(burstNanos))
+                .build();
+    }
+
+    /**
+     * Takes a token for {@code key}. Returns 0 when allowed, otherwise the nanoseconds until the next
+     * token is available.
+     */
+    public long tryAcquire(String key) {
+        long now = nanoTime.getAsLong();
+        AtomicLong tat = buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) return wait;
+            if (tat.compareAndSet(current, next)) return 0;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.abc.postpaid.security;
+
+/**
+ * The claims the application reads from a verified access token. {@code sessionId} is the {@code sid}
+ * of the refresh session the token was issued for and {@code customerId} the {@code cid} of the user's
+ * customer record; either is null when the token does not carry it.
+ */
+public record TokenClaims(String subject, String role, long expiresAt, String sessionId, Long customerId) {
+
+    public TokenClaims(String subject, String role, long expiresAt) {
+        this(subject, role, expiresAt, null, null);
+    }
+
+    public TokenClaims(String subject, String role, long expiresAt, String sessionId) {
+        this(subject, role, expiresAt, sessionId, null);
+    }
+}
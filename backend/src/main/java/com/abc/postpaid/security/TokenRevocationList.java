@@ -0,0 +1,88 @@
+package com.abc.postpaid.security;
+
+import com.abc.postpaid.user.repository.RefreshSessionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Session ids whose access tokens must no longer be accepted, held in memory so the per-request check
+ * never goes to the database. Only sessions revoked within the last access-token lifetime are loaded
+ * (older ones can have no live access tokens), a Bloom filter answers the common "not revoked" case and
+ * the exact set confirms its positives. The snapshot is rebuilt from {@code refresh_sessions} on a
+ * schedule; revocations made on this node are applied immediately, other nodes see them on their next
+ * reload.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private record Snapshot(BloomFilter filter, Set<String> revoked) {}
+
+    @Autowired
+    private RefreshSessionRepository refreshSessionRepository;
+
+    @Value("${app.jwt.expires-minutes:15}")
+    private long accessTokenMinutes;
+
+    @Value("${app.jwt.revocation.reload-ms:30000}")
+    private long reloadMillis;
+
+    // revocations made on this node, kept across reloads until the database read is sure to include them
+    private final Map<String, Long> localRevocations = new HashMap<>();
+
+    private volatile Snapshot snapshot = new Snapshot(BloomFilter.of(List.of(), FALSE_POSITIVE_RATE), Set.of());
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.reload-ms:30000}", initialDelayString = "${app.jwt.revocation.reload-ms:30000}")
+    public void reload() {
+        try {
+            // one extra minute of overlap for clock skew between nodes and the database
+            OffsetDateTime since = OffsetDateTime.now().minusMinutes(accessTokenMinutes + 1);
+            Set<String> revoked = new HashSet<>(refreshSessionRepository.findSessionIdsRevokedSince(since));
+            synchronized (this) {
+                long cutoff = System.currentTimeMillis() - 2 * reloadMillis;
+                localRevocations.values().removeIf(at -> at < cutoff);
+                revoked.addAll(localRevocations.keySet());
+                snapshot = new Snapshot(BloomFilter.of(revoked, FALSE_POSITIVE_RATE), Set.copyOf(revoked));
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not reload the token revocation list, keeping the previous one", ex);
+        }
+    }
+
+    public boolean isRevoked(String sessionId) {
+        if (sessionId == null) return false;
+        Snapshot s = snapshot;
+        return s.filter().mightContain(sessionId) && s.revoked().contains(sessionId);
+    }
+
+    /** Applies revocations on this node without waiting for the next reload. */
+    public synchronized void revokeLocally(Collection<String> sessionIds) {
+        if (sessionIds.isEmpty()) return;
+        long now = System.currentTimeMillis();
+        for (String sessionId : sessionIds) localRevocations.put(sessionId, now);
+        Set<String> revoked = new HashSet<>(snapshot.revoked());
+        revoked.addAll(sessionIds);
+        snapshot = new Snapshot(BloomFilter.of(revoked, FALSE_POSITIVE_RATE), Set.copyOf(revoked));
+    }
+}
@@ -0,0 +1,114 @@
+package com.abc.postpaid.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens that already passed signature verification, so a token reused across requests is verified
+ * once in its lifetime. Entries are keyed by the SHA-256 of the compact token (the token itself is not
+ * retained), bounded in size and expire at the token's {@code exp}; a lookup also re-checks {@code exp}
+ * so an entry is never served past it. Hit/miss/eviction metrics are published as cache "jwt.verified".
+ */
+@Component
+public class VerifiedTokenCache {
+
+    /** Claims of a verified token, with the principal and authorities list built once. */
+    public record VerifiedToken(TokenClaims claims, AuthPrincipal principal, List<GrantedAuthority> authorities) {
+        public VerifiedToken(TokenClaims claims) {
+            this(claims, AuthPrincipal.of(claims), List.of(new SimpleGrantedAuthority("ROLE_" + claims.role().toUpperCase())));
+        }
+    }
+
+    private record TokenDigest(long a, long b, long c, long d) {}
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    });
+
+    @Value("${app.jwt.cache.max-entries:100000}")
+    private long maxEntries;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private Clock clock = Clock.systemUTC();
+
+    private Cache<TokenDigest, VerifiedToken> cache;
+
+    @PostConstruct
+    public void init() {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(Math.max(0, maxEntries))
+                .expireAfter(new Expiry<TokenDigest, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(TokenDigest key, VerifiedToken value, long currentTime) {
+                        long seconds = value.claims().expiresAt() - clock.instant().getEpochSecond();
+                        return TimeUnit.SECONDS.toNanos(Math.max(0, seconds));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified");
+        }
+    }
+
+    /** The verified principal for {@code token}, or null when unknown or expired. */
+    public VerifiedToken get(String token) {
+        if (maxEntries <= 0) return null;
+        TokenDigest key = digest(token);
+        VerifiedToken verified = cache.getIfPresent(key);
+        if (verified == null) return null;
+        if (clock.instant().getEpochSecond() > verified.claims().expiresAt()) {
+            cache.invalidate(key);
+            return null;
+        }
+        return verified;
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        if (maxEntries <= 0) return;
+        cache.put(digest(token), verified);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static TokenDigest digest(String token) {
+        MessageDigest md = SHA256.get();
+        ByteBuffer hash = ByteBuffer.wrap(md.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+    }
+}
@@ -2,10 +2,13 @@ package com.abc.postpaid.user.controller;
 
 import com.abc.postpaid.user.dto.*;
 import com.abc.postpaid.user.service.AdminUserService;
+import com.abc.postpaid.web.Bulkheads;
+import com.abc.postpaid.web.TrafficClass;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import java.util.List;
 
@@ -17,38 +20,49 @@ public class AdminUserController {
     @Autowired
     private AdminUserService adminUserService;
 
+    @Autowired
+    private Bulkheads bulkheads;
+
     @PostMapping
-    public ResponseEntity<?> createUser(@RequestBody AdminCreateUserRequest req) {
-        Long id = adminUserService.createUser(req);
-        return ResponseEntity.status(201).body(java.util.Map.of("user_id", id));
+    public WebAsyncTask<ResponseEntity<?>> createUser(@RequestBody AdminCreateUserRequest req) {
+        return bulkheads.run(TrafficClass.ADMIN, () -> {
+            Long id = adminUserService.createUser(req);
+            return ResponseEntity.status(201).body(java.util.Map.of("user_id", id));
+        });
     }
 
     @GetMapping
-    public ResponseEntity<List<UserResponse>> listUsers() {
-        return ResponseEntity.ok(adminUserService.listUsers());
+    public WebAsyncTask<ResponseEntity<List<UserResponse>>> listUsers() {
+        return bulkheads.run(TrafficClass.ADMIN, () -> ResponseEntity.ok(adminUserService.listUsers()));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<UserResponse> getUser(@PathVariable Long id) {
-        return ResponseEntity.ok(adminUserService.getUser(id));
+    public WebAsyncTask<ResponseEntity<UserResponse>> getUser(@PathVariable Long id) {
+        return bulkheads.run(TrafficClass.ADMIN, () -> ResponseEntity.ok(adminUserService.getUser(id)));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateUser(@PathVariable Long id, @RequestBody AdminUpdateUserRequest req) {
-        adminUserService.updateUser(id, req);
-        return ResponseEntity.ok().build();
+    public WebAsyncTask<ResponseEntity<?>> updateUser(@PathVariable Long id, @RequestBody AdminUpdateUserRequest req) {
+        return bulkheads.run(TrafficClass.ADMIN, () -> {
+            adminUserService.updateUser(id, req);
+            return ResponseEntity.ok().build();
+        });
     }
 
     @PostMapping("/{id}/password")
-    public ResponseEntity<?> setPassword(@PathVariable Long id, @RequestBody SetPasswordRequest req) {
-        adminUserService.setPassword(id, req);
-        return ResponseEntity.ok().build();
+    public WebAsyncTask<ResponseEntity<?>> setPassword(@PathVariable Long id, @RequestBody SetPasswordRequest req) {
+        return bulkheads.run(TrafficClass.ADMIN, () -> {
+            adminUserService.setPassword(id, req);
+            return ResponseEntity.ok().build();
+        });
     }
 
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteUser(@PathVariable Long id) {
-        adminUserService.deleteUser(id);
-        return ResponseEntity.noContent().build();
+    public WebAsyncTask<ResponseEntity<?>> deleteUser(@PathVariable Long id) {
+        return bulkheads.run(TrafficClass.ADMIN, () -> {
+            adminUserService.deleteUser(id);
+            return ResponseEntity.noContent().build();
+        });
     }
 }
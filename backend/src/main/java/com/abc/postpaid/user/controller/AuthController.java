@@ -2,6 +2,7 @@ package com.abc.postpaid.user.controller;
 
 import com.abc.postpaid.user.dto.AuthResponse;
 import com.abc.postpaid.user.dto.LoginRequest;
+import com.abc.postpaid.user.dto.RefreshTokenRequest;
 import com.abc.postpaid.user.dto.RegisterRequest;
 import com.abc.postpaid.user.service.AuthService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,4 +27,16 @@ public class AuthController {
         AuthResponse resp = authService.login(request);
         return ResponseEntity.ok(resp);
     }
+
+    @PostMapping("/token/refresh")
+    public ResponseEntity<AuthResponse> refresh(@RequestBody RefreshTokenRequest request) {
+        AuthResponse resp = authService.refresh(request.getRefreshToken());
+        return ResponseEntity.ok(resp);
+    }
+
+    @PostMapping("/token/revoke")
+    public ResponseEntity<Void> revoke(@RequestBody RefreshTokenRequest request) {
+        authService.revoke(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
 }
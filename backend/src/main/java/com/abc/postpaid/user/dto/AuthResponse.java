@@ -3,6 +3,7 @@ package com.abc.postpaid.user.dto;
 public class AuthResponse {
     private String accessToken;
     private long expiresIn;
+    private String refreshToken;
 
     public AuthResponse() {}
 
@@ -11,9 +12,18 @@ public class AuthResponse {
         this.expiresIn = expiresIn;
     }
 
+    public AuthResponse(String accessToken, long expiresIn, String refreshToken) {
+        this.accessToken = accessToken;
+        this.expiresIn = expiresIn;
+        this.refreshToken = refreshToken;
+    }
+
     public String getAccessToken() { return accessToken; }
     public void setAccessToken(String accessToken) { this.accessToken = accessToken; }
 
     public long getExpiresIn() { return expiresIn; }
     public void setExpiresIn(long expiresIn) { this.expiresIn = expiresIn; }
+
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
 }
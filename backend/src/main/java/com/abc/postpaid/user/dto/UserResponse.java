@@ -11,6 +11,14 @@ public class UserResponse {
 
     public UserResponse() {}
 
+    public UserResponse(Long userId, String username, String email, String role, OffsetDateTime createdAt) {
+        this.userId = userId;
+        this.username = username;
+        this.email = email;
+        this.role = role;
+        this.createdAt = createdAt;
+    }
+
     public Long getUserId() { return userId; }
     public void setUserId(Long userId) { this.userId = userId; }
 
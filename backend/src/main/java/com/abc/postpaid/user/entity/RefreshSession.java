@@ -0,0 +1,81 @@
+package com.abc.postpaid.user.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.OffsetDateTime;
+
+/**
+ * A login session backed by a refresh token. Only the SHA-256 of the current refresh token is stored;
+ * every refresh rotates it. Access tokens issued for the session carry its id as the {@code sid} claim,
+ * so revoking the session also stops its access tokens.
+ */
+@Entity
+@Table(name = "refresh_sessions", indexes = {
+        @Index(name = "uk_refresh_sessions_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "idx_refresh_sessions_user", columnList = "user_id"),
+        @Index(name = "idx_refresh_sessions_revoked_at", columnList = "revoked_at")
+})
+public class RefreshSession implements Persistable<String> {
+
+    @Id
+    @Column(name = "session_id", length = 36)
+    private String sessionId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private OffsetDateTime expiresAt;
+
+    @Column(name = "revoked_at")
+    private OffsetDateTime revokedAt;
+
+    // assigned id: persist new rows directly instead of a select-then-insert merge
+    @Transient
+    private boolean isNew = true;
+
+    public RefreshSession() {}
+
+    public RefreshSession(String sessionId, Long userId, String tokenHash, OffsetDateTime createdAt, OffsetDateTime expiresAt) {
+        this.sessionId = sessionId;
+        this.userId = userId;
+        this.tokenHash = tokenHash;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getSessionId() { return sessionId; }
+    public void setSessionId(String sessionId) { this.sessionId = sessionId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getTokenHash() { return tokenHash; }
+    public void setTokenHash(String tokenHash) { this.tokenHash = tokenHash; }
+
+    public OffsetDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(OffsetDateTime createdAt) { this.createdAt = createdAt; }
+
+    public OffsetDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(OffsetDateTime expiresAt) { this.expiresAt = expiresAt; }
+
+    public OffsetDateTime getRevokedAt() { return revokedAt; }
+    public void setRevokedAt(OffsetDateTime revokedAt) { this.revokedAt = revokedAt; }
+
+    @Override
+    public String getId() { return sessionId; }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.isNew = false; }
+}
@@ -0,0 +1,39 @@
+package com.abc.postpaid.user.repository;
+
+import com.abc.postpaid.user.entity.RefreshSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RefreshSessionRepository extends JpaRepository<RefreshSession, String> {
+
+    Optional<RefreshSession> findByTokenHash(String tokenHash);
+
+    /** Swaps the refresh token only if it is still the one presented, so two concurrent refreshes cannot both win. */
+    @Modifying
+    @Query("update RefreshSession s set s.tokenHash = :nextHash, s.expiresAt = :expiresAt " +
+            "where s.sessionId = :sessionId and s.tokenHash = :currentHash and s.revokedAt is null")
+    int rotate(@Param("sessionId") String sessionId, @Param("currentHash") String currentHash,
+               @Param("nextHash") String nextHash, @Param("expiresAt") OffsetDateTime expiresAt);
+
+    @Modifying
+    @Query("update RefreshSession s set s.revokedAt = :now where s.sessionId = :sessionId and s.revokedAt is null")
+    int revoke(@Param("sessionId") String sessionId, @Param("now") OffsetDateTime now);
+
+    @Query("select s.sessionId from RefreshSession s where s.userId = :userId and s.revokedAt is null")
+    List<String> findActiveSessionIds(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("update RefreshSession s set s.revokedAt = :now where s.userId = :userId and s.revokedAt is null")
+    int revokeAllForUser(@Param("userId") Long userId, @Param("now") OffsetDateTime now);
+
+    @Query("select s.sessionId from RefreshSession s where s.revokedAt > :since")
+    List<String> findSessionIdsRevokedSince(@Param("since") OffsetDateTime since);
+}
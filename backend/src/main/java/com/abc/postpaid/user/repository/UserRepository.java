@@ -1,9 +1,12 @@
 package com.abc.postpaid.user.repository;
 
+import com.abc.postpaid.user.dto.UserResponse;
 import com.abc.postpaid.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import com.abc.postpaid.user.repository.UserRepository;
 
@@ -12,4 +15,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    @Query("select new com.abc.postpaid.user.dto.UserResponse(u.userId, u.username, u.email, u.role, u.createdAt) " +
+            "from User u order by u.userId")
+    List<UserResponse> findAllResponses();
 }
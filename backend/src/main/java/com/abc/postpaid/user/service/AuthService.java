@@ -7,4 +7,13 @@ import com.abc.postpaid.user.dto.RegisterRequest;
 public interface AuthService {
     Long register(RegisterRequest request);
     AuthResponse login(LoginRequest request);
+
+    /** New access token and rotated refresh token for a valid refresh token; no password hashing involved. */
+    AuthResponse refresh(String refreshToken);
+
+    /** Ends the session of {@code refreshToken}; its access tokens stop being accepted. */
+    void revoke(String refreshToken);
+
+    /** Ends every session of a user, e.g. after a password reset or account removal. */
+    void revokeAllSessions(Long userId);
 }
@@ -4,6 +4,7 @@ import com.abc.postpaid.user.dto.*;
 import com.abc.postpaid.user.entity.User;
 import com.abc.postpaid.user.repository.UserRepository;
 import com.abc.postpaid.user.service.AdminUserService;
+import com.abc.postpaid.user.service.AuthService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -11,7 +12,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class AdminUserServiceImpl implements AdminUserService {
@@ -22,6 +22,9 @@ public class AdminUserServiceImpl implements AdminUserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private AuthService authService;
+
     @Override
     @Transactional
     public Long createUser(AdminCreateUserRequest req) {
@@ -44,8 +47,9 @@ public class AdminUserServiceImpl implements AdminUserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserResponse> listUsers() {
-        return userRepository.findAll().stream().map(this::toResponse).collect(Collectors.toList());
+        return userRepository.findAllResponses();
     }
 
     @Override
@@ -63,12 +67,14 @@ public class AdminUserServiceImpl implements AdminUserService {
         User u = userRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("not_found"));
         u.setPasswordHash(passwordEncoder.encode(req.getPassword()));
         userRepository.save(u);
+        authService.revokeAllSessions(id);
     }
 
 
     @Override
     @Transactional
     public void deleteUser(Long id) {
+        authService.revokeAllSessions(id);
         userRepository.deleteById(id);
     }
 
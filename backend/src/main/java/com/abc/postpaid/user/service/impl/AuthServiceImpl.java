@@ -3,18 +3,27 @@ package com.abc.postpaid.user.service.impl;
 import com.abc.postpaid.user.dto.AuthResponse;
 import com.abc.postpaid.user.dto.LoginRequest;
 import com.abc.postpaid.user.dto.RegisterRequest;
+import com.abc.postpaid.user.entity.RefreshSession;
 import com.abc.postpaid.user.entity.User;
+import com.abc.postpaid.user.repository.RefreshSessionRepository;
 import com.abc.postpaid.user.repository.UserRepository;
 import com.abc.postpaid.user.service.AuthService;
 import com.abc.postpaid.customer.entity.Customer;
 import com.abc.postpaid.customer.repository.CustomerRepository;
+import com.abc.postpaid.customer.service.CustomerOwnershipService;
 import com.abc.postpaid.security.JwtProvider;
+import com.abc.postpaid.security.RefreshTokens;
+import com.abc.postpaid.security.TokenRevocationList;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
 
 @Service
 public class AuthServiceImpl implements AuthService {
@@ -31,6 +40,18 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private CustomerOwnershipService customerOwnershipService;
+
+    @Autowired
+    private RefreshSessionRepository refreshSessionRepository;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @Value("${app.jwt.refresh-expires-days:30}")
+    private long refreshExpiresDays;
+
     @Override
     @Transactional
     public Long register(RegisterRequest request) {
@@ -65,9 +86,66 @@ public class AuthServiceImpl implements AuthService {
         if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
             throw new IllegalArgumentException("invalid_credentials");
         }
+        if (passwordEncoder.upgradeEncoding(user.getPasswordHash())) {
+            // hashing cost changed since this password was stored; re-hash while we have the raw password
+            user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+            userRepository.save(user);
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        String refreshToken = RefreshTokens.generate();
+        RefreshSession session = new RefreshSession(UUID.randomUUID().toString(), user.getUserId(),
+                RefreshTokens.hash(refreshToken), now, now.plusDays(refreshExpiresDays));
+        refreshSessionRepository.save(session);
+        return issue(user, session.getSessionId(), refreshToken);
+    }
+
+    @Override
+    @Transactional
+    public AuthResponse refresh(String refreshToken) {
+        if (!StringUtils.hasText(refreshToken)) throw new IllegalArgumentException("invalid_refresh_token");
+        String currentHash = RefreshTokens.hash(refreshToken);
+        RefreshSession session = refreshSessionRepository.findByTokenHash(currentHash)
+                .orElseThrow(() -> new IllegalArgumentException("invalid_refresh_token"));
+        OffsetDateTime now = OffsetDateTime.now();
+        if (session.getRevokedAt() != null || session.getExpiresAt().isBefore(now)) {
+            throw new IllegalArgumentException("invalid_refresh_token");
+        }
+        User user = userRepository.findById(session.getUserId())
+                .orElseThrow(() -> new IllegalArgumentException("invalid_refresh_token"));
+        String nextToken = RefreshTokens.generate();
+        // conditional on the presented hash: of two concurrent refreshes with one token only one rotates
+        int rotated = refreshSessionRepository.rotate(session.getSessionId(), currentHash,
+                RefreshTokens.hash(nextToken), now.plusDays(refreshExpiresDays));
+        if (rotated == 0) throw new IllegalArgumentException("invalid_refresh_token");
+        return issue(user, session.getSessionId(), nextToken);
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String refreshToken) {
+        if (!StringUtils.hasText(refreshToken)) return;
+        refreshSessionRepository.findByTokenHash(RefreshTokens.hash(refreshToken)).ifPresent(session -> {
+            if (refreshSessionRepository.revoke(session.getSessionId(), OffsetDateTime.now()) > 0) {
+                tokenRevocationList.revokeLocally(List.of(session.getSessionId()));
+            }
+        });
+    }
+
+    @Override
+    @Transactional
+    public void revokeAllSessions(Long userId) {
+        List<String> sessionIds = refreshSessionRepository.findActiveSessionIds(userId);
+        if (sessionIds.isEmpty()) return;
+        refreshSessionRepository.revokeAllForUser(userId, OffsetDateTime.now());
+        tokenRevocationList.revokeLocally(sessionIds);
+    }
+
+    private AuthResponse issue(User user, String sessionId, String refreshToken) {
         try {
-            String token = jwtProvider.generateToken(user);
-            return new AuthResponse(token, jwtProvider.getExpiresMinutes() * 60);
+            // the customer id rides in the token so ownership checks need no lookup
+            Long customerId = customerOwnershipService.findCustomerIdForUser(user.getUserId());
+            String token = jwtProvider.generateToken(user, sessionId, customerId);
+            return new AuthResponse(token, jwtProvider.getExpiresMinutes() * 60, refreshToken);
         } catch (Exception ex) {
             throw new RuntimeException("token_generation_failed", ex);
         }
@@ -0,0 +1,93 @@
+package com.abc.postpaid.web;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gradient concurrency limit for one traffic class. Every completed request compares its latency with the
+ * long-term average: while latency stays within {@code tolerance} of the average the limit creeps up by
+ * about sqrt(limit), and as it grows past that the limit shrinks in proportion. A request that ends in 503
+ * cuts the limit by {@code backoffRatio} (multiplicative decrease). Samples taken while less than half the
+ * limit was in use are skipped: the class was not busy enough for its latency to say anything about the limit.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    /** Samples averaged into the long-term latency. */
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile double limit;
+    private volatile long lastRejectedNanos;
+    private double longRttNanos;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+                             double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.lastRejectedNanos = System.nanoTime() - Long.MAX_VALUE / 2;
+    }
+
+    /** Takes a slot if fewer than {@code ceiling} requests of this class are in flight; returns in-flight count or -1. */
+    int tryAcquire(int ceiling, long nowNanos) {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= ceiling) {
+                lastRejectedNanos = nowNanos;
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) return current + 1;
+        }
+    }
+
+    /** Returns the slot and feeds the request's latency into the limit. */
+    void onComplete(long rttNanos, int inFlightAtStart, boolean dropped) {
+        inFlight.decrementAndGet();
+        // a contended update is skipped; the next sample will make it
+        if (!lock.tryLock()) return;
+        try {
+            if (dropped) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                return;
+            }
+            longRttNanos = longRttNanos == 0 ? rttNanos : longRttNanos + (rttNanos - longRttNanos) / LONG_WINDOW;
+            if (inFlightAtStart < limit / 2) return;
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / Math.max(1, rttNanos)));
+            double estimate = limit * gradient + Math.sqrt(limit);
+            limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + estimate * smoothing));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the slot without a latency sample, for requests that failed with an exception. */
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /** At its limit, or turned a request away within the last {@code windowNanos}. */
+    boolean isUnderPressure(long nowNanos, long windowNanos) {
+        return inFlight.get() >= getLimit() || nowNanos - lastRejectedNanos < windowNanos;
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    int getMinLimit() {
+        return minLimit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,141 @@
+package com.abc.postpaid.web;
+
+import com.abc.postpaid.config.OverloadProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Load shedding in front of the whole {@code /api} surface, ahead of authentication. Each
+ * {@link TrafficClass} has its own {@link AdaptiveConcurrencyLimit}; a request over its class's limit gets
+ * 503 with {@code Retry-After} at once instead of queueing. While any higher-priority class is under
+ * pressure, a lower one is held to its minimum limit, so admin lists and exports are shed first.
+ * Exported as {@code http.concurrency.limit}, {@code http.concurrency.in_flight} and
+ * {@code http.concurrency.rejected}, tagged with the class.
+ */
+public class AdaptiveConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Map<TrafficClass, AdaptiveConcurrencyLimit> limits = new EnumMap<>(TrafficClass.class);
+    private final Map<TrafficClass, Counter> rejections = new EnumMap<>(TrafficClass.class);
+    private final long pressureWindowNanos;
+
+    public AdaptiveConcurrencyLimitFilter(OverloadProperties properties, MeterRegistry meterRegistry) {
+        this.pressureWindowNanos = properties.getPressureWindow().toNanos();
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            OverloadProperties.ClassLimit config = properties.forClass(trafficClass.tag());
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(config.getInitialLimit(), config.getMinLimit(),
+                    config.getMaxLimit(), properties.getTolerance(), properties.getSmoothing(), properties.getBackoffRatio());
+            limits.put(trafficClass, limit);
+            Gauge.builder("http.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .tag("class", trafficClass.tag()).register(meterRegistry);
+            Gauge.builder("http.concurrency.in_flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .tag("class", trafficClass.tag()).register(meterRegistry);
+            rejections.put(trafficClass, Counter.builder("http.concurrency.rejected")
+                    .tag("class", trafficClass.tag()).register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        TrafficClass trafficClass = TrafficClass.of(request);
+        AdaptiveConcurrencyLimit limit = limits.get(trafficClass);
+        long start = System.nanoTime();
+        int inFlight = limit.tryAcquire(ceiling(trafficClass, start), start);
+        if (inFlight < 0) {
+            rejections.get(trafficClass).increment();
+            reject(response);
+            return;
+        }
+
+        boolean released = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // the handler finishes on another thread; keep the slot until the response is complete
+                request.getAsyncContext().addListener(new CompletionListener(limit, start, inFlight));
+            } else {
+                limit.onComplete(System.nanoTime() - start, inFlight, response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value());
+            }
+            released = true;
+        } finally {
+            if (!released) limit.release();
+        }
+    }
+
+    /** The class's own limit, or its minimum while a class of higher priority is under pressure. */
+    int ceiling(TrafficClass trafficClass, long nowNanos) {
+        AdaptiveConcurrencyLimit limit = limits.get(trafficClass);
+        for (TrafficClass other : TrafficClass.values()) {
+            if (other.priority() > trafficClass.priority() && limits.get(other).isUnderPressure(nowNanos, pressureWindowNanos)) {
+                return limit.getMinLimit();
+            }
+        }
+        return limit.getLimit();
+    }
+
+    AdaptiveConcurrencyLimit limit(TrafficClass trafficClass) {
+        return limits.get(trafficClass);
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"overloaded\"}");
+    }
+
+    private static final class CompletionListener implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimit limit;
+        private final long start;
+        private final int inFlight;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        CompletionListener(AdaptiveConcurrencyLimit limit, long start, int inFlight) {
+            this.limit = limit;
+            this.start = start;
+            this.inFlight = inFlight;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (!done.compareAndSet(false, true)) return;
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            limit.onComplete(System.nanoTime() - start, inFlight, response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            if (done.compareAndSet(false, true)) limit.onComplete(System.nanoTime() - start, inFlight, true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            if (done.compareAndSet(false, true)) limit.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.abc.postpaid.web;
+
+import com.abc.postpaid.config.BulkheadProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One bounded executor per {@link TrafficClass}. Controllers hand their work to {@link #run} and return
+ * the {@link WebAsyncTask}: the Tomcat thread is released at once and the handler runs on its class's
+ * executor, so slow admin lists can fill the admin executor and its queue but never the threads customer
+ * reads and usage ingest run on. A full executor rejects with {@code TaskRejectedException} and a task
+ * that overruns its class's timeout ends in {@code AsyncRequestTimeoutException}; both answer 503.
+ *
+ * <p>With virtual threads ({@code spring.threads.virtual.enabled}) a fixed platform pool would cap requests at
+ * its thread count again, so each class instead runs every task on a virtual thread of its own, behind a
+ * semaphore of {@code threads + queue-capacity} permits: at most that many requests of the class are in
+ * flight, the rest are rejected as above. The database stays bounded by the connection limiters.
+ */
+public class Bulkheads {
+
+    private final Map<TrafficClass, Bulkhead> bulkheads = new EnumMap<>(TrafficClass.class);
+
+    private record Bulkhead(ExecutorService pool, AsyncTaskExecutor executor, long timeoutMillis) {}
+
+    public Bulkheads(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, false);
+    }
+
+    public Bulkheads(BulkheadProperties properties, MeterRegistry meterRegistry, boolean virtualThreads) {
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            String tag = trafficClass.tag();
+            BulkheadProperties.Pool config = properties.forClass(tag);
+            Counter rejected = Counter.builder("bulkhead.rejected").tag("class", tag).register(meterRegistry);
+            Bulkhead bulkhead = virtualThreads
+                    ? virtualBulkhead(tag, config, rejected, meterRegistry)
+                    : platformBulkhead(tag, config, rejected, meterRegistry);
+            bulkheads.put(trafficClass, bulkhead);
+        }
+    }
+
+    private static Bulkhead platformBulkhead(String tag, BulkheadProperties.Pool config, Counter rejected,
+                                             MeterRegistry meterRegistry) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(config.getThreads(), config.getThreads(), 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity())),
+                new CustomizableThreadFactory("bulkhead-" + tag + "-"),
+                (task, executor) -> {
+                    rejected.increment();
+                    throw new RejectedExecutionException("bulkhead " + tag + " is full");
+                });
+        pool.allowCoreThreadTimeOut(true);
+        new ExecutorServiceMetrics(pool, "bulkhead-" + tag, Tags.of("class", tag)).bindTo(meterRegistry);
+        return new Bulkhead(pool, new TaskExecutorAdapter(pool), config.getTimeout().toMillis());
+    }
+
+    private static Bulkhead virtualBulkhead(String tag, BulkheadProperties.Pool config, Counter rejected,
+                                            MeterRegistry meterRegistry) {
+        int maxInFlight = config.getThreads() + Math.max(1, config.getQueueCapacity());
+        Semaphore permits = new Semaphore(maxInFlight);
+        ExecutorService pool = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("bulkhead-" + tag + "-", 0).factory());
+        Gauge.builder("bulkhead.in_flight", permits, p -> maxInFlight - p.availablePermits())
+                .tag("class", tag)
+                .register(meterRegistry);
+        AsyncTaskExecutor executor = task -> {
+            if (!permits.tryAcquire()) {
+                rejected.increment();
+                throw new TaskRejectedException("bulkhead " + tag + " is full");
+            }
+            try {
+                pool.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                permits.release();
+                throw new TaskRejectedException("bulkhead " + tag + " is shut down", ex);
+            }
+        };
+        return new Bulkhead(pool, executor, config.getTimeout().toMillis());
+    }
+
+    /** Runs {@code work} on the executor of {@code trafficClass}, as async request processing. */
+    public <T> WebAsyncTask<T> run(TrafficClass trafficClass, Callable<T> work) {
+        Bulkhead bulkhead = bulkheads.get(trafficClass);
+        return new WebAsyncTask<>(bulkhead.timeoutMillis(), bulkhead.executor(), work);
+    }
+
+    public void shutdown() {
+        bulkheads.values().forEach(bulkhead -> bulkhead.pool().shutdown());
+    }
+}
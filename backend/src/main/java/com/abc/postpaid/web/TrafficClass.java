@@ -0,0 +1,42 @@
+package com.abc.postpaid.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Locale;
+
+/**
+ * Coarse classes of API traffic, by path and method. Under overload a class is shed before any class of
+ * higher {@link #priority()}: admin lists, reports and exports go first, while customer-facing reads and
+ * usage ingest keep their capacity.
+ */
+public enum TrafficClass {
+
+    /** {@code /api/admin/**} and {@code /api/users/**}: back-office lists, reports and exports. */
+    ADMIN(0),
+    /** Everything else under {@code /api}: customer profile, invoices, payments, login. */
+    CUSTOMER(1),
+    /** {@code POST /api/services/{id}/usage}. */
+    INGEST(1);
+
+    private final int priority;
+
+    TrafficClass(int priority) {
+        this.priority = priority;
+    }
+
+    public int priority() {
+        return priority;
+    }
+
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /** The class of an {@code /api} request. */
+    public static TrafficClass of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/admin/") || path.equals("/api/users") || path.startsWith("/api/users/")) return ADMIN;
+        if ("POST".equals(request.getMethod()) && path.startsWith("/api/services/") && path.endsWith("/usage")) return INGEST;
+        return CUSTOMER;
+    }
+}
@@ -0,0 +1,62 @@
+package com.abc.postpaid.billing.controller;
+
+import com.abc.postpaid.billing.dto.PaymentCollectionRow;
+import com.abc.postpaid.billing.service.BillingReportService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.abc.postpaid.web.AsyncMvc.performAsync;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class BillingReportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BillingReportService billingReportService;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void collections_returnsAggregatedRows() throws Exception {
+        LocalDate day = LocalDate.of(2025, 6, 1);
+        Mockito.when(billingReportService.collectionsByDayAndMethod(day, day))
+                .thenReturn(List.of(new PaymentCollectionRow(day, "card", 4L, new BigDecimal("120.00"))));
+
+        performAsync(mockMvc, get("/api/admin/reports/collections").param("start", "2025-06-01").param("end", "2025-06-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].paymentMethod", is("card")))
+                .andExpect(jsonPath("$[0].paymentCount", is(4)));
+    }
+
+    @Test
+    @WithMockUser(roles = "CUSTOMER")
+    void collections_forbiddenForNonAdmin() throws Exception {
+        mockMvc.perform(get("/api/admin/reports/collections").param("start", "2025-06-01").param("end", "2025-06-30"))
+                .andExpect(status().isForbidden());
+
+        verify(billingReportService, never()).collectionsByDayAndMethod(any(), any());
+    }
+}
@@ -3,6 +3,11 @@ package com.abc.postpaid.billing.controller;
 import com.abc.postpaid.billing.dto.InvoiceRequest;
 import com.abc.postpaid.billing.dto.InvoiceResponse;
 import com.abc.postpaid.billing.service.InvoiceService;
+import com.abc.postpaid.customer.service.CustomerOwnershipService;
+import com.abc.postpaid.security.AuthPrincipal;
+import com.abc.postpaid.security.AuthPrincipalArgumentResolver;
+import com.abc.postpaid.web.AsyncMvc;
+import com.abc.postpaid.web.Bulkheads;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -22,6 +28,7 @@ import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 
+import static com.abc.postpaid.web.AsyncMvc.performAsync;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
@@ -38,6 +45,12 @@ public class InvoiceControllerTest {
     @Mock
     private InvoiceService invoiceService;
 
+    @Mock
+    private CustomerOwnershipService customerOwnershipService;
+
+    @Spy
+    private Bulkheads bulkheads = AsyncMvc.bulkheads();
+
     @InjectMocks
     private com.abc.postpaid.billing.controller.InvoiceController controller;
 
@@ -46,7 +59,9 @@ public class InvoiceControllerTest {
 
     @BeforeEach
     void setup() {
-        mvc = MockMvcBuilders.standaloneSetup(controller).build();
+        mvc = MockMvcBuilders.standaloneSetup(controller)
+                .setCustomArgumentResolvers(new AuthPrincipalArgumentResolver())
+                .build();
         // enable Java 8 date/time support for tests
         mapper.findAndRegisterModules();
     }
@@ -54,12 +69,14 @@ public class InvoiceControllerTest {
     @AfterEach
     void tearDown() {
         SecurityContextHolder.clearContext();
-        reset(invoiceService);
+        reset(invoiceService, customerOwnershipService);
     }
 
     private void setAuthPrincipal(String principal, String... roles) {
         SimpleGrantedAuthority auth = new SimpleGrantedAuthority(roles.length > 0 ? roles[0] : "ROLE_CUSTOMER");
-        UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(principal, null, Collections.singletonList(auth));
+        AuthPrincipal.Role role = auth.getAuthority().equals("ROLE_ADMIN") ? AuthPrincipal.Role.ADMIN : AuthPrincipal.Role.CUSTOMER;
+        AuthPrincipal authPrincipal = new AuthPrincipal(Long.parseLong(principal), role, AuthPrincipal.NO_CUSTOMER);
+        UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(authPrincipal, null, Collections.singletonList(auth));
         SecurityContextHolder.getContext().setAuthentication(token);
     }
 
@@ -73,7 +90,7 @@ public class InvoiceControllerTest {
 
         setAuthPrincipal("1", "ROLE_ADMIN");
 
-        mvc.perform(get("/api/customers/" + customerId + "/invoices"))
+        performAsync(mvc, get("/api/customers/" + customerId + "/invoices"))
                 .andExpect(status().isOk())
                 .andExpect(content().string(containsString("invoiceId")));
 
@@ -87,10 +104,12 @@ public class InvoiceControllerTest {
         r.setInvoiceId(21L); r.setCustomerId(customerId);
 
         when(invoiceService.listInvoicesByCustomer(customerId)).thenReturn(List.of(r));
+        // user 70 owns customer 7: ownership is by customer id, not by matching the user id
+        when(customerOwnershipService.owns(any(AuthPrincipal.class), eq(customerId))).thenReturn(true);
 
-        setAuthPrincipal(String.valueOf(customerId), "ROLE_CUSTOMER");
+        setAuthPrincipal("70", "ROLE_CUSTOMER");
 
-        mvc.perform(get("/api/customers/" + customerId + "/invoices"))
+        performAsync(mvc, get("/api/customers/" + customerId + "/invoices"))
                 .andExpect(status().isOk())
                 .andExpect(content().string(containsString("invoiceId")));
 
@@ -107,17 +126,27 @@ public class InvoiceControllerTest {
 
         setAuthPrincipal("99", "ROLE_CUSTOMER");
 
-        mvc.perform(get("/api/customers/" + customerId + "/invoices"))
+        performAsync(mvc, get("/api/customers/" + customerId + "/invoices"))
                 .andExpect(status().isForbidden());
 
         // service should not be called when request is forbidden
         verify(invoiceService, never()).listInvoicesByCustomer(customerId);
     }
 
+    @Test
+    void listInvoices_userIdEqualToCustomerId_isNotOwnership() throws Exception {
+        setAuthPrincipal("8", "ROLE_CUSTOMER");
+
+        performAsync(mvc, get("/api/customers/8/invoices"))
+                .andExpect(status().isForbidden());
+
+        verify(invoiceService, never()).listInvoicesByCustomer(anyLong());
+    }
+
     @Test
     void listInvoices_unauthenticated_forbidden() throws Exception {
         Long customerId = 9L;
-        mvc.perform(get("/api/customers/" + customerId + "/invoices"))
+        performAsync(mvc, get("/api/customers/" + customerId + "/invoices"))
                 .andExpect(status().isForbidden());
     }
 
@@ -134,7 +163,7 @@ public class InvoiceControllerTest {
 
         setAuthPrincipal("1", "ROLE_ADMIN");
 
-        mvc.perform(post("/api/customers/" + customerId + "/invoices")
+        performAsync(mvc, post("/api/customers/" + customerId + "/invoices")
                         .contentType("application/json")
                         .content(mapper.writeValueAsString(req)))
                 .andExpect(status().isCreated())
@@ -149,7 +178,7 @@ public class InvoiceControllerTest {
         InvoiceRequest req = new InvoiceRequest();
         setAuthPrincipal(String.valueOf(12L), "ROLE_CUSTOMER");
 
-        mvc.perform(post("/api/customers/" + customerId + "/invoices")
+        performAsync(mvc, post("/api/customers/" + customerId + "/invoices")
                         .contentType("application/json")
                         .content(mapper.writeValueAsString(req)))
                 .andExpect(status().isForbidden());
@@ -165,7 +194,7 @@ public class InvoiceControllerTest {
 
         setAuthPrincipal("1", "ROLE_ADMIN");
 
-        mvc.perform(post("/api/customers/" + customerId + "/invoices")
+        performAsync(mvc, post("/api/customers/" + customerId + "/invoices")
                         .contentType("application/json")
                         .content(mapper.writeValueAsString(req)))
                 .andExpect(status().isNotFound());
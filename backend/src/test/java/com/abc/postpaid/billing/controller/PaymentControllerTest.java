@@ -2,7 +2,13 @@ package com.abc.postpaid.billing.controller;
 
 import com.abc.postpaid.billing.dto.PaymentRequest;
 import com.abc.postpaid.billing.dto.PaymentResponse;
+import com.abc.postpaid.billing.service.IdempotencyKeyReusedException;
+import com.abc.postpaid.billing.service.PaymentIdempotencyService;
 import com.abc.postpaid.billing.service.PaymentService;
+import com.abc.postpaid.security.AuthPrincipal;
+import com.abc.postpaid.security.AuthPrincipalArgumentResolver;
+import com.abc.postpaid.web.AsyncMvc;
+import com.abc.postpaid.web.Bulkheads;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -22,6 +29,7 @@ import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
 
+import static com.abc.postpaid.web.AsyncMvc.performAsync;
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -37,6 +45,12 @@ public class PaymentControllerTest {
     @Mock
     private PaymentService paymentService;
 
+    @Mock
+    private PaymentIdempotencyService paymentIdempotencyService;
+
+    @Spy
+    private Bulkheads bulkheads = AsyncMvc.bulkheads();
+
     @InjectMocks
     private com.abc.postpaid.billing.controller.PaymentController controller;
 
@@ -45,19 +59,23 @@ public class PaymentControllerTest {
 
     @BeforeEach
     void setup() {
-        mvc = MockMvcBuilders.standaloneSetup(controller).build();
+        mvc = MockMvcBuilders.standaloneSetup(controller)
+                .setCustomArgumentResolvers(new AuthPrincipalArgumentResolver())
+                .build();
         mapper.findAndRegisterModules();
     }
 
     @AfterEach
     void tearDown() {
         SecurityContextHolder.clearContext();
-        reset(paymentService);
+        reset(paymentService, paymentIdempotencyService);
     }
 
     private void setAuthPrincipal(String principal, String... roles) {
         SimpleGrantedAuthority auth = new SimpleGrantedAuthority(roles.length > 0 ? roles[0] : "ROLE_CUSTOMER");
-        UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(principal, null, Collections.singletonList(auth));
+        AuthPrincipal.Role role = auth.getAuthority().equals("ROLE_ADMIN") ? AuthPrincipal.Role.ADMIN : AuthPrincipal.Role.CUSTOMER;
+        AuthPrincipal authPrincipal = new AuthPrincipal(Long.parseLong(principal), role, AuthPrincipal.NO_CUSTOMER);
+        UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(authPrincipal, null, Collections.singletonList(auth));
         SecurityContextHolder.getContext().setAuthentication(token);
     }
 
@@ -72,7 +90,7 @@ public class PaymentControllerTest {
 
         setAuthPrincipal("20", "ROLE_CUSTOMER");
 
-        mvc.perform(post("/api/invoices/" + invoiceId + "/payments")
+        performAsync(mvc, post("/api/invoices/" + invoiceId + "/payments")
                         .contentType("application/json")
                         .content(mapper.writeValueAsString(req)))
                 .andExpect(status().isCreated())
@@ -81,6 +99,57 @@ public class PaymentControllerTest {
         verify(paymentService, times(1)).recordPayment(eq(invoiceId), any());
     }
 
+    @Test
+    void recordPayment_withIdempotencyKey_usesIdempotentPath() throws Exception {
+        Long invoiceId = 14L;
+        PaymentRequest req = new PaymentRequest();
+        req.setAmount(new BigDecimal("50.00"));
+
+        when(paymentIdempotencyService.recordPayment(eq(invoiceId), any(), eq("gw-retry-1"))).thenReturn(556L);
+
+        setAuthPrincipal("20", "ROLE_CUSTOMER");
+
+        for (int i = 0; i < 2; i++) {
+            performAsync(mvc, post("/api/invoices/" + invoiceId + "/payments")
+                            .header("Idempotency-Key", "gw-retry-1")
+                            .contentType("application/json")
+                            .content(mapper.writeValueAsString(req)))
+                    .andExpect(status().isCreated())
+                    .andExpect(content().string(containsString("556")));
+        }
+
+        verify(paymentIdempotencyService, times(2)).recordPayment(eq(invoiceId), any(), eq("gw-retry-1"));
+        verify(paymentService, never()).recordPayment(anyLong(), any());
+    }
+
+    @Test
+    void recordPayment_409_whenKeyReusedForOtherInvoice() throws Exception {
+        Long invoiceId = 15L;
+        when(paymentIdempotencyService.recordPayment(eq(invoiceId), any(), eq("gw-retry-2")))
+                .thenThrow(new IdempotencyKeyReusedException());
+
+        setAuthPrincipal("20", "ROLE_CUSTOMER");
+
+        performAsync(mvc, post("/api/invoices/" + invoiceId + "/payments")
+                        .header("Idempotency-Key", "gw-retry-2")
+                        .contentType("application/json")
+                        .content(mapper.writeValueAsString(new PaymentRequest())))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void recordPayment_400_whenKeyTooLong() throws Exception {
+        setAuthPrincipal("20", "ROLE_CUSTOMER");
+
+        performAsync(mvc, post("/api/invoices/16/payments")
+                        .header("Idempotency-Key", "k".repeat(256))
+                        .contentType("application/json")
+                        .content(mapper.writeValueAsString(new PaymentRequest())))
+                .andExpect(status().isBadRequest());
+
+        verify(paymentIdempotencyService, never()).recordPayment(anyLong(), any(), anyString());
+    }
+
     @Test
     void recordPayment_401_whenUnauthenticated() throws Exception {
         Long invoiceId = 11L;
@@ -88,7 +157,7 @@ public class PaymentControllerTest {
 
         SecurityContextHolder.clearContext();
 
-        mvc.perform(post("/api/invoices/" + invoiceId + "/payments")
+        performAsync(mvc, post("/api/invoices/" + invoiceId + "/payments")
                         .contentType("application/json")
                         .content(mapper.writeValueAsString(req)))
                 .andExpect(status().isUnauthorized());
@@ -106,7 +175,7 @@ public class PaymentControllerTest {
 
         setAuthPrincipal("2", "ROLE_CUSTOMER");
 
-        mvc.perform(get("/api/invoices/" + invoiceId + "/payments"))
+        performAsync(mvc, get("/api/invoices/" + invoiceId + "/payments"))
                 .andExpect(status().isOk())
                 .andExpect(content().string(containsString("paymentId")));
 
@@ -118,7 +187,7 @@ public class PaymentControllerTest {
         Long invoiceId = 13L;
         SecurityContextHolder.clearContext();
 
-        mvc.perform(get("/api/invoices/" + invoiceId + "/payments"))
+        performAsync(mvc, get("/api/invoices/" + invoiceId + "/payments"))
                 .andExpect(status().isUnauthorized());
 
         verify(paymentService, never()).listPaymentsByInvoice(anyLong());
@@ -3,6 +3,10 @@ package com.abc.postpaid.billing.controller;
 import com.abc.postpaid.billing.dto.UsageRecordRequest;
 import com.abc.postpaid.billing.dto.UsageRecordResponse;
 import com.abc.postpaid.billing.service.UsageRecordService;
+import com.abc.postpaid.security.AuthPrincipal;
+import com.abc.postpaid.security.AuthPrincipalArgumentResolver;
+import com.abc.postpaid.web.AsyncMvc;
+import com.abc.postpaid.web.Bulkheads;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -22,6 +27,7 @@ import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 
+import static com.abc.postpaid.web.AsyncMvc.performAsync;
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -37,6 +43,9 @@ public class UsageControllerTest {
     @Mock
     private UsageRecordService usageRecordService;
 
+    @Spy
+    private Bulkheads bulkheads = AsyncMvc.bulkheads();
+
     @InjectMocks
     private com.abc.postpaid.billing.controller.UsageController controller;
 
@@ -45,7 +54,9 @@ public class UsageControllerTest {
 
     @BeforeEach
     void setup() {
-        mvc = MockMvcBuilders.standaloneSetup(controller).build();
+        mvc = MockMvcBuilders.standaloneSetup(controller)
+                .setCustomArgumentResolvers(new AuthPrincipalArgumentResolver())
+                .build();
         mapper.findAndRegisterModules();
     }
 
@@ -57,7 +68,9 @@ public class UsageControllerTest {
 
     private void setAuthPrincipal(String principal, String... roles) {
         SimpleGrantedAuthority auth = new SimpleGrantedAuthority(roles.length > 0 ? roles[0] : "ROLE_CUSTOMER");
-        UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(principal, null, Collections.singletonList(auth));
+        AuthPrincipal.Role role = auth.getAuthority().equals("ROLE_ADMIN") ? AuthPrincipal.Role.ADMIN : AuthPrincipal.Role.CUSTOMER;
+        AuthPrincipal authPrincipal = new AuthPrincipal(Long.parseLong(principal), role, AuthPrincipal.NO_CUSTOMER);
+        UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(authPrincipal, null, Collections.singletonList(auth));
         SecurityContextHolder.getContext().setAuthentication(token);
     }
 
@@ -69,7 +82,7 @@ public class UsageControllerTest {
 
         when(usageRecordService.listUsageRecordsByService(serviceId)).thenReturn(List.of(r));
 
-        mvc.perform(get("/api/services/" + serviceId + "/usage"))
+        performAsync(mvc, get("/api/services/" + serviceId + "/usage"))
                 .andExpect(status().isOk())
                 .andExpect(content().string(containsString("usageId")));
 
@@ -88,7 +101,7 @@ public class UsageControllerTest {
 
         setAuthPrincipal("1", "ROLE_ADMIN");
 
-        mvc.perform(post("/api/services/" + serviceId + "/usage")
+        performAsync(mvc, post("/api/services/" + serviceId + "/usage")
                         .contentType("application/json")
                         .content(mapper.writeValueAsString(req)))
                 .andExpect(status().isCreated())
@@ -106,7 +119,7 @@ public class UsageControllerTest {
 
         setAuthPrincipal("50", "ROLE_CUSTOMER");
 
-        mvc.perform(post("/api/services/" + serviceId + "/usage")
+        performAsync(mvc, post("/api/services/" + serviceId + "/usage")
                         .contentType("application/json")
                         .content(mapper.writeValueAsString(req)))
                 .andExpect(status().isForbidden());
@@ -125,7 +138,7 @@ public class UsageControllerTest {
 
         setAuthPrincipal("1", "ROLE_ADMIN");
 
-        mvc.perform(post("/api/services/" + serviceId + "/usage")
+        performAsync(mvc, post("/api/services/" + serviceId + "/usage")
                         .contentType("application/json")
                         .content(mapper.writeValueAsString(req)))
                 .andExpect(status().isNotFound());
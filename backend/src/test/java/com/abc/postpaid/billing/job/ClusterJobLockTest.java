@@ -0,0 +1,96 @@
+package com.abc.postpaid.billing.job;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterJobLockTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private DataSource lockDataSource;
+
+    @Mock
+    private Connection probe;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @InjectMocks
+    private ClusterJobLock lock;
+
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @BeforeEach
+    void setup() throws Exception {
+        when(dataSource.getConnection()).thenReturn(probe);
+    }
+
+    @Test
+    void lockAcquired_runsJobAndUnlocks() throws Exception {
+        givenPostgresLockResult(true);
+
+        assertTrue(lock.runExclusively("invoice-aging", runs::incrementAndGet));
+
+        assertEquals(1, runs.get());
+        verify(connection).prepareStatement("select pg_advisory_unlock(?, ?)");
+        verify(statement, times(2)).setInt(2, "invoice-aging".hashCode());
+        verify(connection).close();
+    }
+
+    @Test
+    void lockHeldByAnotherNode_skipsJob() throws Exception {
+        givenPostgresLockResult(false);
+
+        assertFalse(lock.runExclusively("dunning", runs::incrementAndGet));
+
+        assertEquals(0, runs.get());
+        verify(connection, never()).prepareStatement("select pg_advisory_unlock(?, ?)");
+    }
+
+    @Test
+    void nonPostgresDatabase_runsJobUnguarded() throws Exception {
+        when(probe.isWrapperFor(PGConnection.class)).thenReturn(false);
+
+        assertTrue(lock.runExclusively("late-fee-accrual", runs::incrementAndGet));
+        assertTrue(lock.runExclusively("late-fee-accrual", runs::incrementAndGet));
+
+        assertEquals(2, runs.get());
+        verify(dataSource, times(1)).getConnection();
+        verifyNoInteractions(lockDataSource);
+    }
+
+    private void givenPostgresLockResult(boolean acquired) throws Exception {
+        when(probe.isWrapperFor(PGConnection.class)).thenReturn(true);
+        when(lockDataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getBoolean(1)).thenReturn(acquired);
+    }
+}
@@ -0,0 +1,60 @@
+package com.abc.postpaid.billing.job;
+
+import com.abc.postpaid.billing.service.InvoiceAgingService;
+import com.abc.postpaid.billing.service.LateFeeAccrualService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InvoiceAgingJobTest {
+
+    @Mock
+    private InvoiceAgingService invoiceAgingService;
+
+    @Mock
+    private LateFeeAccrualService lateFeeAccrualService;
+
+    @Mock
+    private ClusterJobLock clusterJobLock;
+
+    @InjectMocks
+    private InvoiceAgingJob job;
+
+    @BeforeEach
+    void setup() {
+        when(clusterJobLock.runExclusively(eq("invoice-aging"), any())).thenAnswer(inv -> {
+            inv.<Runnable>getArgument(1).run();
+            return true;
+        });
+    }
+
+    @Test
+    void run_accruesLateFeesAfterAgingUnderTheSameLock() {
+        job.run();
+
+        InOrder order = inOrder(clusterJobLock, invoiceAgingService, lateFeeAccrualService);
+        order.verify(clusterJobLock).runExclusively(eq("invoice-aging"), any());
+        order.verify(invoiceAgingService).runAging(any());
+        order.verify(lateFeeAccrualService).runAccrual(any());
+        verifyNoMoreInteractions(clusterJobLock);
+    }
+
+    @Test
+    void agingFailure_skipsAccrual() {
+        when(invoiceAgingService.runAging(any())).thenThrow(new IllegalStateException("aging_partition_failed"));
+
+        assertThrows(IllegalStateException.class, () -> job.run());
+
+        verifyNoInteractions(lateFeeAccrualService);
+    }
+}
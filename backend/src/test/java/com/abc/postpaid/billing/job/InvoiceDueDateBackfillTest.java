@@ -0,0 +1,96 @@
+package com.abc.postpaid.billing.job;
+
+import com.abc.postpaid.billing.entity.Invoice;
+import com.abc.postpaid.billing.entity.JobWatermark;
+import com.abc.postpaid.billing.repository.InvoiceRepository;
+import com.abc.postpaid.billing.repository.JobWatermarkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InvoiceDueDateBackfillTest {
+
+    @Mock
+    private InvoiceRepository invoiceRepository;
+
+    @Mock
+    private JobWatermarkRepository jobWatermarkRepository;
+
+    @Mock
+    private ClusterJobLock clusterJobLock;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private InvoiceDueDateBackfill backfill;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(backfill, "paymentTermsDays", 15);
+        ReflectionTestUtils.setField(backfill, "chunkSize", 2);
+        backfill.init();
+    }
+
+    @Test
+    void firstRun_appliesPaymentTermsInChunksAndRecordsCompletion() {
+        Invoice first = legacyInvoice(1L, LocalDate.of(2024, 1, 31));
+        Invoice second = legacyInvoice(2L, LocalDate.of(2024, 2, 29));
+        Invoice third = legacyInvoice(3L, LocalDate.of(2024, 3, 31));
+        when(jobWatermarkRepository.existsById(InvoiceDueDateBackfill.MIGRATION_NAME)).thenReturn(false);
+        when(invoiceRepository.findMissingDueDatesAfter(0L, Limit.of(2))).thenReturn(List.of(first, second));
+        when(invoiceRepository.findMissingDueDatesAfter(2L, Limit.of(2))).thenReturn(List.of(third));
+
+        backfill.backfill();
+
+        assertEquals(LocalDate.of(2024, 2, 15), first.getDueDate());
+        assertEquals(LocalDate.of(2024, 3, 15), second.getDueDate());
+        assertEquals(LocalDate.of(2024, 4, 15), third.getDueDate());
+        ArgumentCaptor<JobWatermark> marker = ArgumentCaptor.forClass(JobWatermark.class);
+        verify(jobWatermarkRepository).save(marker.capture());
+        assertEquals(InvoiceDueDateBackfill.MIGRATION_NAME, marker.getValue().getJobName());
+        assertEquals(3L, marker.getValue().getLastId());
+    }
+
+    @Test
+    void laterRuns_doNothing() {
+        when(jobWatermarkRepository.existsById(InvoiceDueDateBackfill.MIGRATION_NAME)).thenReturn(true);
+
+        backfill.backfill();
+
+        verify(invoiceRepository, never()).findMissingDueDatesAfter(any(), any());
+        verify(jobWatermarkRepository, never()).save(any());
+    }
+
+    @Test
+    void failure_isLoggedWithoutFailingStartup() {
+        when(clusterJobLock.runExclusively(anyString(), any())).thenThrow(new IllegalStateException("job_lock_unavailable"));
+
+        assertDoesNotThrow(() -> backfill.run());
+        verify(jobWatermarkRepository, never()).save(any());
+    }
+
+    private static Invoice legacyInvoice(long id, LocalDate billingPeriodEnd) {
+        Invoice invoice = new Invoice();
+        invoice.setInvoiceId(id);
+        invoice.setBillingPeriodEnd(billingPeriodEnd);
+        return invoice;
+    }
+}
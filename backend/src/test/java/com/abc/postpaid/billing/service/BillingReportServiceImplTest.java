@@ -0,0 +1,77 @@
+package com.abc.postpaid.billing.service;
+
+import com.abc.postpaid.billing.dto.InvoicedVsCollectedRow;
+import com.abc.postpaid.billing.dto.MonthlyAmountRow;
+import com.abc.postpaid.billing.repository.InvoiceRepository;
+import com.abc.postpaid.billing.repository.PaymentRepository;
+import com.abc.postpaid.billing.repository.UsageRecordRepository;
+import com.abc.postpaid.billing.service.impl.BillingReportServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BillingReportServiceImplTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private InvoiceRepository invoiceRepository;
+
+    @Mock
+    private UsageRecordRepository usageRecordRepository;
+
+    @InjectMocks
+    private BillingReportServiceImpl service;
+
+    @Test
+    void invoicedVsCollected_mergesMonthsInOrder() {
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        LocalDate end = LocalDate.of(2025, 3, 31);
+        when(invoiceRepository.sumByBillingMonth(start, end)).thenReturn(List.of(
+                new MonthlyAmountRow(2025, 2, 3L, new BigDecimal("300.00")),
+                new MonthlyAmountRow(2025, 1, 2L, new BigDecimal("200.00"))));
+        when(paymentRepository.sumByPaymentMonth(start, end)).thenReturn(List.of(
+                new MonthlyAmountRow(2025, 1, 1L, new BigDecimal("150.00")),
+                new MonthlyAmountRow(2025, 3, 1L, new BigDecimal("50.00"))));
+
+        List<InvoicedVsCollectedRow> rows = service.invoicedVsCollectedByMonth(start, end);
+
+        assertEquals(3, rows.size());
+        assertEquals(1, rows.get(0).getMonth());
+        assertEquals(new BigDecimal("200.00"), rows.get(0).getInvoicedAmount());
+        assertEquals(new BigDecimal("150.00"), rows.get(0).getCollectedAmount());
+        assertEquals(2, rows.get(1).getMonth());
+        assertEquals(BigDecimal.ZERO, rows.get(1).getCollectedAmount());
+        assertEquals(3, rows.get(2).getMonth());
+        assertEquals(0L, rows.get(2).getInvoiceCount());
+        assertEquals(new BigDecimal("50.00"), rows.get(2).getCollectedAmount());
+    }
+
+    @Test
+    void collections_delegatesToAggregateQuery() {
+        LocalDate day = LocalDate.of(2025, 5, 1);
+        when(paymentRepository.sumByPaymentDateAndMethod(day, day)).thenReturn(List.of());
+
+        assertTrue(service.collectionsByDayAndMethod(day, day).isEmpty());
+        verify(paymentRepository, never()).findResponsesByPaymentDateBetween(any(), any());
+    }
+
+    @Test
+    void invertedRange_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.usageByMonthAndServiceType(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1)));
+        verifyNoInteractions(usageRecordRepository);
+    }
+}
@@ -0,0 +1,128 @@
+package com.abc.postpaid.billing.service;
+
+import com.abc.postpaid.billing.dto.OverdueCustomerRow;
+import com.abc.postpaid.billing.entity.AgingBucket;
+import com.abc.postpaid.billing.entity.CustomerDunning;
+import com.abc.postpaid.billing.entity.DunningAction;
+import com.abc.postpaid.billing.event.DunningNotice;
+import com.abc.postpaid.billing.event.DunningNoticeBatchEvent;
+import com.abc.postpaid.billing.repository.CustomerDunningRepository;
+import com.abc.postpaid.billing.repository.InvoiceRepository;
+import com.abc.postpaid.billing.service.impl.DunningServiceImpl;
+import com.abc.postpaid.cache.SecondLevelCacheInvalidation;
+import com.abc.postpaid.config.DunningProperties;
+import com.abc.postpaid.customer.entity.ServiceEntity;
+import com.abc.postpaid.customer.repository.ServiceRepository;
+import com.abc.postpaid.customer.service.CustomerCaches;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DunningServiceImplTest {
+
+    @Mock
+    private InvoiceRepository invoiceRepository;
+
+    @Mock
+    private CustomerDunningRepository customerDunningRepository;
+
+    @Mock
+    private ServiceRepository serviceRepository;
+
+    @Mock
+    private CustomerCaches customerCaches;
+
+    @Mock
+    private SecondLevelCacheInvalidation secondLevelCacheInvalidation;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private DunningServiceImpl service;
+
+    private final LocalDate asOf = LocalDate.of(2025, 6, 30);
+
+    @BeforeEach
+    void init() {
+        DunningProperties properties = new DunningProperties();
+        properties.setChunkSize(2);
+        properties.setSteps(List.of(
+                new DunningProperties.Step(AgingBucket.DAYS_61_90, DunningAction.SUSPEND),
+                new DunningProperties.Step(AgingBucket.DAYS_0_30, DunningAction.REMIND),
+                new DunningProperties.Step(AgingBucket.DAYS_31_60, DunningAction.FINAL_NOTICE)));
+        ReflectionTestUtils.setField(service, "dunningProperties", properties);
+        service.init();
+    }
+
+    @Test
+    void runDunning_escalatesPagesAndSuspendsOnlyNewlySuspendedCustomers() {
+        CustomerDunning reminded = new CustomerDunning(2L);
+        reminded.setDunningStep(1);
+        when(invoiceRepository.findOverdueCustomersAfter(0L, Limit.of(2))).thenReturn(List.of(
+                new OverdueCustomerRow(1L, asOf.minusDays(70)),
+                new OverdueCustomerRow(2L, asOf.minusDays(10))));
+        when(invoiceRepository.findOverdueCustomersAfter(2L, Limit.of(2))).thenReturn(List.of(
+                new OverdueCustomerRow(3L, asOf.minusDays(40))));
+        when(customerDunningRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(reminded));
+        when(customerDunningRepository.findRecoveredAfter(0L, Limit.of(2))).thenReturn(List.of());
+
+        int notices = service.runDunning(asOf);
+
+        assertEquals(2, notices);
+        verify(serviceRepository).suspendForNonPayment(List.of(1L));
+        verify(customerCaches).evictServices(List.of(1L));
+        verify(secondLevelCacheInvalidation).entitiesChanged(ServiceEntity.class);
+        verify(serviceRepository, never()).restoreAfterPayment(anyList());
+
+        ArgumentCaptor<DunningNoticeBatchEvent> events = ArgumentCaptor.forClass(DunningNoticeBatchEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of(new DunningNotice(1L, DunningAction.SUSPEND, AgingBucket.DAYS_61_90)),
+                events.getAllValues().get(0).notices());
+        assertEquals(List.of(new DunningNotice(3L, DunningAction.FINAL_NOTICE, AgingBucket.DAYS_31_60)),
+                events.getAllValues().get(1).notices());
+    }
+
+    @Test
+    void runDunning_restoresSuspendedCustomersWithoutOverdueInvoices() {
+        CustomerDunning suspended = new CustomerDunning(4L);
+        suspended.setDunningStep(3);
+        suspended.setSuspended(true);
+        CustomerDunning reminded = new CustomerDunning(5L);
+        reminded.setDunningStep(1);
+        when(invoiceRepository.findOverdueCustomersAfter(0L, Limit.of(2))).thenReturn(List.of());
+        when(customerDunningRepository.findRecoveredAfter(0L, Limit.of(2))).thenReturn(List.of(suspended, reminded));
+        when(customerDunningRepository.findRecoveredAfter(5L, Limit.of(2))).thenReturn(List.of());
+
+        int notices = service.runDunning(asOf);
+
+        assertEquals(1, notices);
+        verify(serviceRepository).restoreAfterPayment(List.of(4L));
+        verify(customerCaches).evictServices(List.of(4L));
+        verify(customerDunningRepository).deleteAllByIdInBatch(List.of(4L, 5L));
+        verify(eventPublisher).publishEvent(eq(new DunningNoticeBatchEvent(
+                List.of(new DunningNotice(4L, DunningAction.RESTORE, null)))));
+        verify(serviceRepository, never()).suspendForNonPayment(any());
+    }
+}
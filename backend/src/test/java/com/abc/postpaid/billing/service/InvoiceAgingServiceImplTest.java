@@ -0,0 +1,97 @@
+package com.abc.postpaid.billing.service;
+
+import com.abc.postpaid.billing.entity.AgingBucket;
+import com.abc.postpaid.billing.repository.AgingSummaryRepository;
+import com.abc.postpaid.billing.repository.InvoiceRepository;
+import com.abc.postpaid.billing.service.impl.InvoiceAgingServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class InvoiceAgingServiceImplTest {
+
+    @Mock
+    private InvoiceRepository invoiceRepository;
+
+    @Mock
+    private AgingSummaryRepository agingSummaryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private InvoiceAgingServiceImpl service;
+
+    private final LocalDate asOf = LocalDate.of(2025, 6, 30);
+
+    @BeforeEach
+    void init() {
+        ReflectionTestUtils.setField(service, "partitions", 2);
+        ReflectionTestUtils.setField(service, "threads", 2);
+        service.init();
+    }
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void runAging_updatesEachCustomerRangeWithBucketBoundaries() {
+        when(invoiceRepository.findMinOpenCustomerId()).thenReturn(1L);
+        when(invoiceRepository.findMaxOpenCustomerId()).thenReturn(10L);
+        when(invoiceRepository.settlePaidInvoices(anyLong(), anyLong(), any())).thenReturn(1);
+        when(invoiceRepository.moveToAgingBucket(anyLong(), anyLong(), any(), any(), any(), any())).thenReturn(2);
+        when(invoiceRepository.moveToOpenEndedAgingBucket(anyLong(), anyLong(), any(), any(), any())).thenReturn(3);
+
+        int changed = service.runAging(asOf);
+
+        // two partitions x (1 settled + 3 bounded buckets x 2 + 1 open-ended x 3)
+        assertEquals(2 * (1 + 6 + 3), changed);
+        verify(invoiceRepository).settlePaidInvoices(eq(1L), eq(5L), any());
+        verify(invoiceRepository).settlePaidInvoices(eq(6L), eq(10L), any());
+        verify(invoiceRepository).moveToAgingBucket(eq(1L), eq(5L), eq(AgingBucket.DAYS_0_30),
+                eq(LocalDate.of(2025, 5, 31)), eq(LocalDate.of(2025, 6, 29)), any());
+        verify(invoiceRepository).moveToAgingBucket(eq(6L), eq(10L), eq(AgingBucket.DAYS_61_90),
+                eq(LocalDate.of(2025, 4, 1)), eq(LocalDate.of(2025, 4, 30)), any());
+        verify(invoiceRepository).moveToOpenEndedAgingBucket(eq(6L), eq(10L), eq(AgingBucket.DAYS_90_PLUS),
+                eq(LocalDate.of(2025, 3, 31)), any());
+        verify(agingSummaryRepository).deleteAllRows();
+        verify(agingSummaryRepository).insertFromInvoices(any());
+    }
+
+    @Test
+    void runAging_withoutOpenInvoices_onlyRefreshesSummary() {
+        when(invoiceRepository.findMinOpenCustomerId()).thenReturn(null);
+
+        assertEquals(0, service.runAging(asOf));
+
+        verify(invoiceRepository, never()).settlePaidInvoices(anyLong(), anyLong(), any());
+        verify(agingSummaryRepository).insertFromInvoices(any());
+    }
+
+    @Test
+    void agingBucket_boundaries() {
+        assertNull(AgingBucket.of(asOf, asOf));
+        assertEquals(AgingBucket.DAYS_0_30, AgingBucket.of(asOf, asOf.minusDays(1)));
+        assertEquals(AgingBucket.DAYS_0_30, AgingBucket.of(asOf, asOf.minusDays(30)));
+        assertEquals(AgingBucket.DAYS_31_60, AgingBucket.of(asOf, asOf.minusDays(31)));
+        assertEquals(AgingBucket.DAYS_61_90, AgingBucket.of(asOf, asOf.minusDays(90)));
+        assertEquals(AgingBucket.DAYS_90_PLUS, AgingBucket.of(asOf, asOf.minusDays(91)));
+    }
+}
@@ -2,16 +2,20 @@ package com.abc.postpaid.billing.service;
 
 import com.abc.postpaid.billing.dto.InvoiceRequest;
 import com.abc.postpaid.billing.dto.InvoiceResponse;
+import com.abc.postpaid.billing.entity.AgingBucket;
 import com.abc.postpaid.billing.entity.Invoice;
 import com.abc.postpaid.billing.repository.InvoiceRepository;
 import com.abc.postpaid.billing.service.impl.InvoiceServiceImpl;
+import com.abc.postpaid.cache.SingleFlight;
 import com.abc.postpaid.customer.entity.Customer;
 import com.abc.postpaid.customer.repository.CustomerRepository;
+import com.abc.postpaid.monitoring.BillingMetrics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
@@ -22,6 +26,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +38,12 @@ class InvoiceServiceImplTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight();
+
+    @Mock
+    private BillingMetrics billingMetrics;
+
     @InjectMocks
     private InvoiceServiceImpl invoiceService;
 
@@ -65,6 +76,25 @@ class InvoiceServiceImplTest {
 
         assertEquals(99L, id);
         verify(invoiceRepository, times(1)).save(any(Invoice.class));
+        verify(billingMetrics).invoiceGenerated();
+    }
+
+    @Test
+    void createInvoice_defaultsDueDateToPaymentTerms() {
+        org.springframework.test.util.ReflectionTestUtils.setField(invoiceService, "paymentTermsDays", 15);
+        when(customerRepository.findById(11L)).thenReturn(Optional.of(sampleCustomer));
+        when(invoiceRepository.save(any(Invoice.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        InvoiceRequest req = new InvoiceRequest();
+        req.setBillingPeriodStart(LocalDate.of(2025, 1, 1));
+        req.setBillingPeriodEnd(LocalDate.of(2025, 1, 31));
+        req.setTotalAmount(new BigDecimal("10.00"));
+        invoiceService.createInvoice(11L, req);
+
+        org.mockito.ArgumentCaptor<Invoice> captor = org.mockito.ArgumentCaptor.forClass(Invoice.class);
+        verify(invoiceRepository).save(captor.capture());
+        assertEquals(LocalDate.of(2025, 2, 15), captor.getValue().getDueDate());
+        assertEquals(Invoice.STATUS_UNPAID, captor.getValue().getStatus());
     }
 
     @Test
@@ -106,16 +136,11 @@ class InvoiceServiceImplTest {
     }
 
     @Test
-    void listInvoicesByCustomer_mapsResponses() {
-        Invoice inv1 = new Invoice();
-        inv1.setInvoiceId(1L);
-        inv1.setCustomer(sampleCustomer);
-        inv1.setBillingPeriodStart(LocalDate.of(2025, 3, 1));
-        inv1.setBillingPeriodEnd(LocalDate.of(2025, 3, 31));
-        inv1.setTotalAmount(new BigDecimal("50.00"));
-        inv1.setStatus("unpaid");
-
-        when(invoiceRepository.findByCustomerCustomerId(sampleCustomer.getCustomerId()))
+    void listInvoicesByCustomer_returnsProjection() {
+        InvoiceResponse inv1 = new InvoiceResponse(1L, sampleCustomer.getCustomerId(), LocalDate.of(2025, 3, 1),
+                LocalDate.of(2025, 3, 31), new BigDecimal("50.00"), "unpaid", null, AgingBucket.DAYS_0_30);
+
+        when(invoiceRepository.findResponsesByCustomerId(sampleCustomer.getCustomerId()))
                 .thenReturn(Arrays.asList(inv1));
 
         List<InvoiceResponse> list = invoiceService.listInvoicesByCustomer(sampleCustomer.getCustomerId());
@@ -124,5 +149,28 @@ class InvoiceServiceImplTest {
         InvoiceResponse r = list.get(0);
         assertEquals(1L, r.getInvoiceId());
         assertEquals(sampleCustomer.getCustomerId(), r.getCustomerId());
+        assertEquals("DAYS_0_30", r.getAgingBucket());
+    }
+
+    @Test
+    void sharedResults_areCopiedPerCaller() {
+        InvoiceResponse shared = new InvoiceResponse(1L, sampleCustomer.getCustomerId(), LocalDate.of(2025, 3, 1),
+                LocalDate.of(2025, 3, 31), new BigDecimal("50.00"), "unpaid", null, AgingBucket.DAYS_0_30);
+        // stands in for a collapsed call: both callers receive the leader's objects
+        doReturn(shared).when(singleFlight).execute(eq("getInvoice"), any(), any());
+        doReturn(List.of(shared)).when(singleFlight).execute(eq("listInvoicesByCustomer"), any(), any());
+
+        InvoiceResponse first = invoiceService.getInvoice(1L);
+        InvoiceResponse second = invoiceService.getInvoice(1L);
+        InvoiceResponse listed = invoiceService.listInvoicesByCustomer(sampleCustomer.getCustomerId()).get(0);
+        first.setStatus("paid");
+
+        assertNotSame(shared, first);
+        assertNotSame(first, second);
+        assertNotSame(shared, listed);
+        assertEquals("unpaid", second.getStatus());
+        assertEquals("unpaid", listed.getStatus());
+        assertEquals("unpaid", shared.getStatus());
+        assertEquals("DAYS_0_30", listed.getAgingBucket());
     }
 }
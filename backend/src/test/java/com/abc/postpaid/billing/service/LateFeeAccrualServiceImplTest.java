@@ -0,0 +1,89 @@
+package com.abc.postpaid.billing.service;
+
+import com.abc.postpaid.billing.dto.AgingChangeRow;
+import com.abc.postpaid.billing.entity.JobWatermark;
+import com.abc.postpaid.billing.repository.InvoiceRepository;
+import com.abc.postpaid.billing.repository.JobWatermarkRepository;
+import com.abc.postpaid.billing.repository.LateFeeRepository;
+import com.abc.postpaid.billing.service.impl.LateFeeAccrualServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LateFeeAccrualServiceImplTest {
+
+    @Mock
+    private InvoiceRepository invoiceRepository;
+
+    @Mock
+    private LateFeeRepository lateFeeRepository;
+
+    @Mock
+    private JobWatermarkRepository jobWatermarkRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private LateFeeAccrualServiceImpl service;
+
+    private final LocalDate asOf = LocalDate.of(2025, 6, 30);
+    private final OffsetDateTime agedAt = OffsetDateTime.of(2025, 6, 30, 1, 30, 0, 0, ZoneOffset.UTC);
+    private final BigDecimal rate = new BigDecimal("0.015");
+
+    @BeforeEach
+    void init() {
+        ReflectionTestUtils.setField(service, "rate", rate);
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        service.init();
+    }
+
+    @Test
+    void runAccrual_walksChangesFromWatermarkAndAdvancesIt() {
+        JobWatermark mark = new JobWatermark("late-fee-accrual", agedAt.minusDays(1), 99L);
+        when(jobWatermarkRepository.findById("late-fee-accrual")).thenReturn(Optional.of(mark));
+        when(invoiceRepository.findAgingChangesAfter(agedAt.minusDays(1), 99L, Limit.of(2))).thenReturn(List.of(
+                new AgingChangeRow(5L, agedAt), new AgingChangeRow(9L, agedAt)));
+        when(invoiceRepository.findAgingChangesAfter(agedAt, 9L, Limit.of(2))).thenReturn(List.of(
+                new AgingChangeRow(3L, agedAt.plusSeconds(1))));
+        when(lateFeeRepository.accrueForInvoices(eq(List.of(5L, 9L)), eq(rate), eq(asOf), any())).thenReturn(2);
+        when(lateFeeRepository.accrueForInvoices(eq(List.of(3L)), eq(rate), eq(asOf), any())).thenReturn(0);
+
+        assertEquals(2, service.runAccrual(asOf));
+
+        verify(jobWatermarkRepository, times(2)).save(mark);
+        assertEquals(agedAt.plusSeconds(1), mark.getLastChangedAt());
+        assertEquals(3L, mark.getLastId());
+    }
+
+    @Test
+    void runAccrual_withoutChanges_writesNothing() {
+        when(jobWatermarkRepository.findById("late-fee-accrual")).thenReturn(Optional.empty());
+        when(invoiceRepository.findAgingChangesAfter(any(), eq(0L), eq(Limit.of(2)))).thenReturn(List.of());
+
+        assertEquals(0, service.runAccrual(asOf));
+
+        verify(lateFeeRepository, never()).accrueForInvoices(anyList(), any(), any(), any());
+        verify(jobWatermarkRepository, never()).save(any());
+    }
+}
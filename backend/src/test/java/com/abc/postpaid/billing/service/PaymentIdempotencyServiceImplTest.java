@@ -0,0 +1,108 @@
+package com.abc.postpaid.billing.service;
+
+import com.abc.postpaid.billing.dto.PaymentRequest;
+import com.abc.postpaid.billing.entity.PaymentIdempotencyKey;
+import com.abc.postpaid.billing.repository.PaymentIdempotencyKeyRepository;
+import com.abc.postpaid.billing.service.impl.PaymentIdempotencyServiceImpl;
+import com.abc.postpaid.config.DataSourceRoute;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PaymentIdempotencyServiceImplTest {
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private PaymentIdempotencyKeyRepository idempotencyKeyRepository;
+
+    @InjectMocks
+    private PaymentIdempotencyServiceImpl service;
+
+    @BeforeEach
+    void init() {
+        ReflectionTestUtils.setField(service, "cacheMaxEntries", 100L);
+        ReflectionTestUtils.setField(service, "cacheTtlMinutes", 5L);
+        service.init();
+    }
+
+    @Test
+    void firstRequestRecords_retryIsServedFromCache() {
+        PaymentRequest req = new PaymentRequest();
+        when(idempotencyKeyRepository.findById("k1")).thenReturn(Optional.empty());
+        when(paymentService.recordPayment(10L, req, "k1")).thenReturn(501L);
+
+        assertEquals(501L, service.recordPayment(10L, req, "k1"));
+        assertEquals(501L, service.recordPayment(10L, req, "k1"));
+
+        verify(paymentService, times(1)).recordPayment(10L, req, "k1");
+        verify(idempotencyKeyRepository, times(1)).findById("k1");
+    }
+
+    @Test
+    void keyKnownOnlyToDatabase_returnsOriginalPayment() {
+        when(idempotencyKeyRepository.findById("k2"))
+                .thenReturn(Optional.of(new PaymentIdempotencyKey("k2", 11L, 602L, OffsetDateTime.now())));
+
+        assertEquals(602L, service.recordPayment(11L, new PaymentRequest(), "k2"));
+
+        verify(paymentService, never()).recordPayment(anyLong(), any(), anyString());
+    }
+
+    @Test
+    void concurrentDuplicate_returnsWinnersPayment() {
+        PaymentRequest req = new PaymentRequest();
+        when(idempotencyKeyRepository.findById("k3"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new PaymentIdempotencyKey("k3", 12L, 703L, OffsetDateTime.now())));
+        when(paymentService.recordPayment(12L, req, "k3")).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        assertEquals(703L, service.recordPayment(12L, req, "k3"));
+    }
+
+    @Test
+    void concurrentDuplicate_readsWinnerFromPrimary() {
+        PaymentRequest req = new PaymentRequest();
+        List<DataSourceRoute.Target> routes = new ArrayList<>();
+        when(idempotencyKeyRepository.findById("k5")).thenAnswer(invocation -> {
+            routes.add(DataSourceRoute.current());
+            return routes.size() == 1
+                    ? Optional.empty()
+                    : Optional.of(new PaymentIdempotencyKey("k5", 14L, 905L, OffsetDateTime.now()));
+        });
+        when(paymentService.recordPayment(14L, req, "k5")).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        assertEquals(905L, service.recordPayment(14L, req, "k5"));
+        assertEquals(Arrays.asList(null, DataSourceRoute.Target.PRIMARY), routes);
+        assertNull(DataSourceRoute.current());
+    }
+
+    @Test
+    void keyReusedForDifferentInvoice_throws() {
+        when(idempotencyKeyRepository.findById("k4"))
+                .thenReturn(Optional.of(new PaymentIdempotencyKey("k4", 13L, 804L, OffsetDateTime.now())));
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> service.recordPayment(99L, new PaymentRequest(), "k4"));
+        verify(paymentService, never()).recordPayment(eq(99L), any(), anyString());
+    }
+}
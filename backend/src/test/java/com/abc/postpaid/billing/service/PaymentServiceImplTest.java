@@ -3,9 +3,12 @@ package com.abc.postpaid.billing.service;
 import com.abc.postpaid.billing.dto.PaymentRequest;
 import com.abc.postpaid.billing.entity.Invoice;
 import com.abc.postpaid.billing.entity.Payment;
+import com.abc.postpaid.billing.entity.PaymentIdempotencyKey;
+import com.abc.postpaid.billing.repository.PaymentIdempotencyKeyRepository;
 import com.abc.postpaid.billing.repository.InvoiceRepository;
 import com.abc.postpaid.billing.repository.PaymentRepository;
 import com.abc.postpaid.billing.service.impl.PaymentServiceImpl;
+import com.abc.postpaid.monitoring.BillingMetrics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -30,6 +33,12 @@ public class PaymentServiceImplTest {
     @Mock
     private InvoiceRepository invoiceRepository;
 
+    @Mock
+    private PaymentIdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private BillingMetrics billingMetrics;
+
     @InjectMocks
     private PaymentServiceImpl service;
 
@@ -50,6 +59,25 @@ public class PaymentServiceImplTest {
         Long res = service.recordPayment(invoiceId, req);
         assertEquals(77L, res);
         verify(paymentRepository).save(any(Payment.class));
+        verify(billingMetrics).paymentRecorded();
+    }
+
+    @Test
+    void recordPayment_withIdempotencyKey_claimsKey() {
+        Invoice inv = new Invoice(); inv.setInvoiceId(2L);
+        Payment saved = new Payment(); saved.setPaymentId(78L);
+
+        when(invoiceRepository.findById(2L)).thenReturn(Optional.of(inv));
+        when(paymentRepository.save(any(Payment.class))).thenReturn(saved);
+
+        assertEquals(78L, service.recordPayment(2L, new PaymentRequest(), "key-1"));
+
+        org.mockito.ArgumentCaptor<PaymentIdempotencyKey> captor = org.mockito.ArgumentCaptor.forClass(PaymentIdempotencyKey.class);
+        verify(idempotencyKeyRepository).saveAndFlush(captor.capture());
+        assertEquals("key-1", captor.getValue().getIdempotencyKey());
+        assertEquals(2L, captor.getValue().getInvoiceId());
+        assertEquals(78L, captor.getValue().getPaymentId());
+        assertTrue(captor.getValue().isNew());
     }
 
     @Test
@@ -73,7 +101,7 @@ public class PaymentServiceImplTest {
         assertEquals(3L, resp.getPaymentId());
         assertEquals(8L, resp.getInvoiceId());
 
-        when(paymentRepository.findByInvoiceInvoiceId(8L)).thenReturn(Arrays.asList(p));
+        when(paymentRepository.findResponsesByInvoiceId(8L)).thenReturn(Arrays.asList(resp));
         assertEquals(1, service.listPaymentsByInvoice(8L).size());
     }
 
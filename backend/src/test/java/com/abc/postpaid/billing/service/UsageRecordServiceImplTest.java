@@ -6,6 +6,7 @@ import com.abc.postpaid.billing.repository.UsageRecordRepository;
 import com.abc.postpaid.billing.service.impl.UsageRecordServiceImpl;
 import com.abc.postpaid.customer.entity.ServiceEntity;
 import com.abc.postpaid.customer.repository.ServiceRepository;
+import com.abc.postpaid.monitoring.BillingMetrics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -30,6 +31,9 @@ public class UsageRecordServiceImplTest {
     @Mock
     private ServiceRepository serviceRepository;
 
+    @Mock
+    private BillingMetrics billingMetrics;
+
     @InjectMocks
     private UsageRecordServiceImpl service;
 
@@ -50,6 +54,7 @@ public class UsageRecordServiceImplTest {
         Long res = service.createUsageRecord(serviceId, req);
         assertEquals(200L, res);
         verify(usageRecordRepository).save(any(UsageRecord.class));
+        verify(billingMetrics).usageRecordsIngested(1);
     }
 
     @Test
@@ -73,7 +78,7 @@ public class UsageRecordServiceImplTest {
         assertEquals(9L, resp.getUsageId());
         assertEquals(3L, resp.getServiceId());
 
-        when(usageRecordRepository.findByServiceServiceId(3L)).thenReturn(Arrays.asList(r));
+        when(usageRecordRepository.findResponsesByServiceId(3L)).thenReturn(Arrays.asList(resp));
         assertEquals(1, service.listUsageRecordsByService(3L).size());
     }
 
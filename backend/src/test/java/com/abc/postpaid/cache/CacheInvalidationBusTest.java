@@ -0,0 +1,119 @@
+package com.abc.postpaid.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CacheInvalidationBusTest {
+
+    private CacheInvalidationBus bus;
+    private JdbcTemplate jdbcTemplate;
+    private Cache<Long, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        bus = new CacheInvalidationBus();
+        jdbcTemplate = mock(JdbcTemplate.class);
+        ReflectionTestUtils.setField(bus, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(bus, "channel", "cache_invalidation");
+        cache = Caffeine.newBuilder().build();
+        bus.register("customers", CacheInvalidationBus.longKeys(cache));
+    }
+
+    @Test
+    void publish_evictsLocallyWithoutNotifyWhenRemoteDisabled() {
+        cache.put(1L, "a");
+
+        bus.publish("customers", List.of(1L));
+        bus.flush();
+
+        assertThat(cache.getIfPresent(1L)).isNull();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void flush_coalescesBurstIntoOneNotification() {
+        bus.setRemoteEnabled(true);
+
+        bus.publish("customers", List.of(1L, 2L));
+        bus.publish("customers", List.of(2L, 3L));
+        bus.publish("customer-services", List.of(1L));
+        bus.flush();
+        bus.flush();
+
+        String expected = bus.getNodeId() + "\ncustomers\t1,2,3\ncustomer-services\t1";
+        verify(jdbcTemplate, times(1)).queryForObject("select pg_notify(?, ?)", String.class, "cache_invalidation", expected);
+    }
+
+    @Test
+    void onNotification_evictsKeysFromOtherNodesOnly() {
+        cache.put(1L, "a");
+        cache.put(2L, "b");
+
+        bus.onNotification(bus.getNodeId() + "\ncustomers\t1");
+        assertThat(cache.getIfPresent(1L)).isEqualTo("a");
+
+        bus.onNotification("other-node\ncustomers\t1,2\nunknown-region\t9");
+        assertThat(cache.asMap()).isEmpty();
+    }
+
+    @Test
+    void evictAll_clearsEveryRegion() {
+        cache.put(1L, "a");
+
+        bus.evictAll();
+
+        assertThat(cache.asMap()).isEmpty();
+    }
+
+    @Test
+    void flush_failureIsSwallowed() {
+        bus.setRemoteEnabled(true);
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class), any(Object[].class)))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        bus.publish("customers", List.of(1L));
+        bus.flush();
+
+        verify(jdbcTemplate).queryForObject(anyString(), eq(String.class), any(Object[].class));
+    }
+
+    @Test
+    void message_splitsAtMaxLengthAndRoundTrips() {
+        Map<String, Set<String>> keys = new LinkedHashMap<>();
+        Set<String> ids = new LinkedHashSet<>();
+        for (int i = 0; i < 100; i++) ids.add(String.valueOf(1000 + i));
+        keys.put("customers", ids);
+        keys.put("customer-services", Set.of(CacheInvalidationBus.ALL_KEYS));
+
+        List<String> payloads = InvalidationMessage.encode("node", keys, 120);
+
+        assertThat(payloads).hasSizeGreaterThan(1);
+        assertThat(payloads).allSatisfy(p -> assertThat(p.length()).isLessThanOrEqualTo(120));
+        Set<String> decoded = new LinkedHashSet<>();
+        Set<String> services = new LinkedHashSet<>();
+        for (String p : payloads) {
+            InvalidationMessage m = InvalidationMessage.decode(p);
+            assertThat(m.origin()).isEqualTo("node");
+            decoded.addAll(m.keysByRegion().getOrDefault("customers", Set.of()));
+            services.addAll(m.keysByRegion().getOrDefault("customer-services", Set.of()));
+        }
+        assertThat(decoded).isEqualTo(ids);
+        assertThat(services).containsExactly("*");
+    }
+}
@@ -0,0 +1,81 @@
+package com.abc.postpaid.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight singleFlight = new SingleFlight(meterRegistry);
+
+    @Test
+    void concurrentIdenticalCalls_shareOneExecution() throws Exception {
+        int callers = 8;
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> singleFlight.execute("op", () -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return "result";
+                }, 42L)));
+            }
+            // every caller but the leader is waiting once the collapsed count reaches callers - 1
+            while (collapsed() < callers - 1) Thread.onSpinWait();
+            release.countDown();
+
+            for (Future<String> result : results) assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("singleflight.calls").tag("operation", "op").tag("outcome", "executed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void differentArguments_runSeparately() {
+        AtomicInteger executions = new AtomicInteger();
+
+        singleFlight.execute("op", executions::incrementAndGet, 1L);
+        singleFlight.execute("op", executions::incrementAndGet, 2L);
+        singleFlight.execute("op", executions::incrementAndGet, 1L);
+
+        assertThat(executions.get()).isEqualTo(3);
+    }
+
+    @Test
+    void failure_isRethrownAndNotRemembered() {
+        assertThatThrownBy(() -> singleFlight.execute("op", () -> { throw new IllegalArgumentException("not_found"); }, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(singleFlight.execute("op", () -> "ok", 1L)).isEqualTo("ok");
+    }
+
+    private double collapsed() {
+        var counter = meterRegistry.find("singleflight.calls").tag("outcome", "collapsed").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
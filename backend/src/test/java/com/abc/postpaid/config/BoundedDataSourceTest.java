@@ -0,0 +1,93 @@
+package com.abc.postpaid.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class BoundedDataSourceTest {
+
+    private final DataSource pool = mock(DataSource.class);
+    private final Connection pooled = mock(Connection.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(pool.getConnection()).thenReturn(pooled);
+    }
+
+    @Test
+    void connection_delegatesToPoolAndReturnsPermitOnClose() throws Exception {
+        BoundedDataSource bounded = new BoundedDataSource(pool, "primary", 1, 10, Duration.ofMillis(50), registry);
+
+        Connection connection = bounded.getConnection();
+        connection.commit();
+        assertThat(bounded.getActive()).isEqualTo(1);
+        connection.close();
+        connection.close();
+
+        verify(pooled).commit();
+        verify(pooled, times(2)).close();
+        assertThat(bounded.getActive()).isZero();
+    }
+
+    @Test
+    void exhaustedPool_timesOutAfterMaxWait() throws Exception {
+        BoundedDataSource bounded = new BoundedDataSource(pool, "primary", 1, 10, Duration.ofMillis(50), registry);
+        bounded.getConnection();
+
+        assertThatThrownBy(bounded::getConnection).isInstanceOf(ConnectionLimitExceededException.class);
+        assertThat(registry.get("db.limiter.rejected").tag("reason", "timeout").counter().count()).isEqualTo(1);
+        assertThat(bounded.getWaiting()).isZero();
+        verify(pool, times(1)).getConnection();
+    }
+
+    @Test
+    void fullQueue_rejectsWithoutWaiting() throws Exception {
+        BoundedDataSource bounded = new BoundedDataSource(pool, "primary", 1, 0, Duration.ofSeconds(30), registry);
+        bounded.getConnection();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(bounded::getConnection).isInstanceOf(ConnectionLimitExceededException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(registry.get("db.limiter.rejected").tag("reason", "queue_full").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void waiter_getsConnectionWhenOneIsClosed() throws Exception {
+        BoundedDataSource bounded = new BoundedDataSource(pool, "primary", 1, 10, Duration.ofSeconds(5), registry);
+        Connection first = bounded.getConnection();
+
+        CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return bounded.getConnection();
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        while (bounded.getWaiting() == 0) Thread.onSpinWait();
+        first.close();
+
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(bounded.getActive()).isEqualTo(1);
+    }
+
+    @Test
+    void failedCheckout_returnsPermit() throws Exception {
+        when(pool.getConnection()).thenThrow(new SQLException("connection refused"));
+        BoundedDataSource bounded = new BoundedDataSource(pool, "primary", 1, 10, Duration.ofMillis(50), registry);
+
+        assertThatThrownBy(bounded::getConnection).isInstanceOf(SQLException.class);
+        assertThat(bounded.getActive()).isZero();
+    }
+}
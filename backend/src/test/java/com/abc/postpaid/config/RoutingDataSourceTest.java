@@ -0,0 +1,107 @@
+package com.abc.postpaid.config;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class RoutingDataSourceTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final Connection reportingConnection = mock(Connection.class);
+    private final ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+    private RoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource primary = mock(DataSource.class);
+        DataSource replica = mock(DataSource.class);
+        DataSource reporting = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(reporting.getConnection()).thenReturn(reportingConnection);
+        routing = new RoutingDataSource(primary, reporting, replica, lagMonitor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void readOnlyTransaction_goesToReplica() throws Exception {
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        beginTransaction(true);
+
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void readOnlyTransaction_fallsBackToPrimaryWhenReplicaLags() throws Exception {
+        when(lagMonitor.isReplicaUsable()).thenReturn(false);
+        beginTransaction(true);
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void writeTransactionAndNoTransaction_goToPrimary() throws Exception {
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+
+        beginTransaction(false);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        verifyNoInteractions(lagMonitor);
+    }
+
+    @Test
+    void onPrimary_overridesReadOnlyRouting() throws Exception {
+        beginTransaction(true);
+
+        Connection c = DataSourceRoute.onPrimary(() -> {
+            try {
+                return routing.getConnection();
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        assertThat(c).isSameAs(primaryConnection);
+        assertThat(DataSourceRoute.current()).isNull();
+    }
+
+    @Test
+    void reportingWorkload_goesToReportingPool() throws Throwable {
+        beginTransaction(true);
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.proceed()).thenAnswer(i -> routing.getConnection());
+
+        Object c = new ReportingWorkloadInterceptor().invoke(invocation);
+
+        assertThat(c).isSameAs(reportingConnection);
+        assertThat(DataSourceRoute.current()).isNull();
+        verifyNoInteractions(lagMonitor);
+    }
+
+    @Test
+    void withoutReplica_readOnlyGoesToPrimary() throws Exception {
+        DataSource primary = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        RoutingDataSource noReplica = new RoutingDataSource(primary, mock(DataSource.class), null, null);
+        beginTransaction(true);
+
+        assertThat(noReplica.getConnection()).isSameAs(primaryConnection);
+    }
+
+    private static void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+}
@@ -18,6 +18,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
 
+import static com.abc.postpaid.web.AsyncMvc.performAsync;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
@@ -49,7 +50,7 @@ class AdminCustomerControllerTest {
 
         Mockito.when(customerService.createCustomer(any())).thenReturn(123L);
 
-        mockMvc.perform(post("/api/admin/customers")
+        performAsync(mockMvc, post("/api/admin/customers")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(req)))
                 .andExpect(status().isCreated())
@@ -68,7 +69,7 @@ class AdminCustomerControllerTest {
 
         Mockito.when(customerService.listCustomers()).thenReturn(List.of(a, b));
 
-        mockMvc.perform(get("/api/admin/customers"))
+        performAsync(mockMvc, get("/api/admin/customers"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(2)));
     }
@@ -81,7 +82,7 @@ class AdminCustomerControllerTest {
 
         Mockito.when(customerService.getCustomer(5L)).thenReturn(resp);
 
-        mockMvc.perform(get("/api/admin/customers/5"))
+        performAsync(mockMvc, get("/api/admin/customers/5"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.customerId", is(5)));
     }
@@ -93,7 +94,7 @@ class AdminCustomerControllerTest {
         req.setUserId(99L);
         req.setFullName("Updated");
 
-        mockMvc.perform(put("/api/admin/customers/7")
+        performAsync(mockMvc, put("/api/admin/customers/7")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(req)))
                 .andExpect(status().isOk());
@@ -104,7 +105,7 @@ class AdminCustomerControllerTest {
     @Test
     @WithMockUser(roles = "ADMIN")
     void deleteCustomer_callsService() throws Exception {
-        mockMvc.perform(delete("/api/admin/customers/9"))
+        performAsync(mockMvc, delete("/api/admin/customers/9"))
                 .andExpect(status().isNoContent());
 
         verify(customerService, times(1)).deleteCustomer(9L);
@@ -119,7 +120,7 @@ class AdminCustomerControllerTest {
 
         Mockito.when(customerService.createServiceForCustomer(eq(3L), any())).thenReturn(77L);
 
-        mockMvc.perform(post("/api/admin/customers/3/services")
+        performAsync(mockMvc, post("/api/admin/customers/3/services")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(req)))
                 .andExpect(status().isCreated())
@@ -138,7 +139,7 @@ class AdminCustomerControllerTest {
 
         Mockito.when(customerService.listServicesForCustomer(4L)).thenReturn(List.of(s1, s2));
 
-        mockMvc.perform(get("/api/admin/customers/4/services"))
+        performAsync(mockMvc, get("/api/admin/customers/4/services"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(2)));
     }
@@ -1,7 +1,10 @@
 package com.abc.postpaid.customer.controller;
 
 import com.abc.postpaid.customer.dto.CustomerResponse;
+import com.abc.postpaid.customer.service.CustomerOwnershipService;
 import com.abc.postpaid.customer.service.CustomerService;
+import com.abc.postpaid.security.AuthPrincipal;
+import com.abc.postpaid.security.AuthPrincipalArgumentResolver;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -22,10 +26,15 @@ import org.springframework.web.servlet.mvc.method.annotation.ExceptionHandlerExc
 import java.util.Collections;
 import java.util.List;
 import com.abc.postpaid.customer.dto.ServiceResponse;
+import com.abc.postpaid.web.AsyncMvc;
+import com.abc.postpaid.web.Bulkheads;
 
+import static com.abc.postpaid.web.AsyncMvc.performAsync;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -39,6 +48,12 @@ public class CustomerControllerTest {
     @Mock
     private CustomerService customerService;
 
+    @Mock
+    private CustomerOwnershipService customerOwnershipService;
+
+    @Spy
+    private Bulkheads bulkheads = AsyncMvc.bulkheads();
+
     @InjectMocks
     private CustomerController controller;
 
@@ -48,6 +63,7 @@ public class CustomerControllerTest {
     @BeforeEach
     public void setup() {
         mvc = MockMvcBuilders.standaloneSetup(controller)
+                .setCustomArgumentResolvers(new AuthPrincipalArgumentResolver())
                 .setHandlerExceptionResolvers(new ExceptionHandlerExceptionResolver())
                 .build();
     }
@@ -55,12 +71,14 @@ public class CustomerControllerTest {
     @AfterEach
     public void teardown() {
         SecurityContextHolder.clearContext();
-        reset(customerService);
+        reset(customerService, customerOwnershipService);
     }
 
     private void setAuthPrincipal(String principal, String... roles) {
         SimpleGrantedAuthority auth = new SimpleGrantedAuthority(roles.length > 0 ? roles[0] : "ROLE_CUSTOMER");
-        UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(principal, null, Collections.singletonList(auth));
+        AuthPrincipal.Role role = auth.getAuthority().equals("ROLE_ADMIN") ? AuthPrincipal.Role.ADMIN : AuthPrincipal.Role.CUSTOMER;
+        AuthPrincipal authPrincipal = new AuthPrincipal(Long.parseLong(principal), role, AuthPrincipal.NO_CUSTOMER);
+        UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(authPrincipal, null, Collections.singletonList(auth));
         SecurityContextHolder.getContext().setAuthentication(token);
     }
 
@@ -71,10 +89,11 @@ public class CustomerControllerTest {
         resp.setCustomerId(id);
         resp.setUserId(10L);
         resp.setFullName("Alice");
+        when(customerOwnershipService.owns(any(AuthPrincipal.class), eq(id))).thenReturn(true);
         when(customerService.getCustomer(id)).thenReturn(resp);
         setAuthPrincipal("10", "ROLE_CUSTOMER");
 
-        mvc.perform(get("/api/customers/" + id))
+        performAsync(mvc, get("/api/customers/" + id))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.customerId", is(id.intValue())))
             .andExpect(jsonPath("$.fullName", is("Alice")));
@@ -83,40 +102,27 @@ public class CustomerControllerTest {
     }
 
     @Test
-    public void getCustomer_otherForbidden() throws Exception {
+    public void getCustomer_otherForbidden_withoutLoadingCustomer() throws Exception {
         Long id = 123L;
-        CustomerResponse resp = new CustomerResponse();
-        resp.setCustomerId(id);
-        resp.setUserId(99L);
-
-        when(customerService.getCustomer(id)).thenReturn(resp);
         // authenticated as a different user -> forbidden
         setAuthPrincipal("77", "ROLE_CUSTOMER");
 
-        mvc.perform(get("/api/customers/" + id))
+        performAsync(mvc, get("/api/customers/" + id))
             .andExpect(status().isForbidden());
 
-        verify(customerService, times(1)).getCustomer(id);
+        verify(customerService, never()).getCustomer(anyLong());
     }
 
     @Test
     public void getCustomer_adminIsNotAllowed() throws Exception {
         Long id = 123L;
-        CustomerResponse resp = new CustomerResponse();
-        resp.setCustomerId(id);
-        resp.setUserId(10L);
-        // admin principal but should not be treated specially; mock a different owned customer
-        CustomerResponse adminOwned = new CustomerResponse();
-        adminOwned.setCustomerId(999L);
-        adminOwned.setUserId(1L);
-
-        when(customerService.getCustomer(id)).thenReturn(resp);
+        // admin principal but should not be treated specially: it owns no customer record
         setAuthPrincipal("1", "ROLE_ADMIN");
 
-        mvc.perform(get("/api/customers/" + id))
+        performAsync(mvc, get("/api/customers/" + id))
             .andExpect(status().isForbidden());
 
-        verify(customerService, times(1)).getCustomer(id);
+        verify(customerService, never()).getCustomer(anyLong());
     }
 
     @Test
@@ -127,10 +133,11 @@ public class CustomerControllerTest {
         resp.setUserId(userId);
         resp.setFullName("Bob");
 
+        when(customerOwnershipService.owns(any(AuthPrincipal.class), eq(123L))).thenReturn(true);
         when(customerService.getCustomer(123L)).thenReturn(resp);
         setAuthPrincipal(String.valueOf(userId), "ROLE_CUSTOMER");
 
-        mvc.perform(get("/api/customers/" + 123L))
+        performAsync(mvc, get("/api/customers/" + 123L))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.customerId", is(123)))
                 .andExpect(jsonPath("$.fullName", is("Bob")));
@@ -142,21 +149,20 @@ public class CustomerControllerTest {
     public void getMyCustomer_unauthenticated() throws Exception {
         SecurityContextHolder.clearContext();
 
-        when(customerService.getCustomer(123L)).thenReturn(new CustomerResponse());
-
-        mvc.perform(get("/api/customers/123"))
+        performAsync(mvc, get("/api/customers/123"))
                 .andExpect(status().isUnauthorized());
 
-        verify(customerService, times(1)).getCustomer(123L);
+        verifyNoInteractions(customerService, customerOwnershipService);
     }
 
     @Test
     public void getMyCustomer_notFound() throws Exception {
         Long userId = 10L;
+        when(customerOwnershipService.owns(any(AuthPrincipal.class), eq(123L))).thenReturn(true);
         when(customerService.getCustomer(123L)).thenReturn(null);
         setAuthPrincipal(String.valueOf(userId), "ROLE_CUSTOMER");
 
-        mvc.perform(get("/api/customers/123"))
+        performAsync(mvc, get("/api/customers/123"))
                 .andExpect(status().isNotFound());
 
         verify(customerService, times(1)).getCustomer(123L);
@@ -165,46 +171,31 @@ public class CustomerControllerTest {
     @Test
     public void listServicesForOwner_ownerAllowed() throws Exception {
         Long id = 200L;
-        CustomerResponse existing = new CustomerResponse();
-        existing.setCustomerId(id);
-        existing.setUserId(55L);
-
         ServiceResponse s1 = new ServiceResponse();
         s1.setServiceId(1L); s1.setServiceType("mobile"); s1.setStatus("active");
         ServiceResponse s2 = new ServiceResponse();
         s2.setServiceId(2L); s2.setServiceType("tv"); s2.setStatus("suspended");
-        when(customerService.getCustomer(id)).thenReturn(existing);
+        when(customerOwnershipService.owns(any(AuthPrincipal.class), eq(id))).thenReturn(true);
         when(customerService.listServicesForCustomer(id)).thenReturn(List.of(s1, s2));
 
         setAuthPrincipal("55", "ROLE_CUSTOMER");
 
-        mvc.perform(get("/api/customers/" + id + "/services"))
+        performAsync(mvc, get("/api/customers/" + id + "/services"))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$", org.hamcrest.Matchers.hasSize(2)));
 
-        verify(customerService, times(1)).getCustomer(id);
+        // ownership comes from the mapping, the customer itself is never loaded
+        verify(customerService, never()).getCustomer(anyLong());
         verify(customerService, times(1)).listServicesForCustomer(id);
     }
 
     @Test
-    public void listMyServices_okAndNotFound() throws Exception {
-        Long userId = 77L;
-        CustomerResponse resp = new CustomerResponse();
-        resp.setCustomerId(300L);
-        resp.setUserId(userId);
-
-        ServiceResponse svc = new ServiceResponse();
-        svc.setServiceId(11L); svc.setServiceType("broadband"); svc.setStatus("active");
-
-        when(customerService.getCustomer(300L)).thenReturn(resp);
-        when(customerService.listServicesForCustomer(300L)).thenReturn(List.of(svc));
+    public void listServices_forbiddenForOtherUser() throws Exception {
+        setAuthPrincipal("77", "ROLE_CUSTOMER");
 
-        setAuthPrincipal(String.valueOf(userId), "ROLE_CUSTOMER");
-        mvc.perform(get("/api/customers/" + resp.getCustomerId() + "/services"))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$", org.hamcrest.Matchers.hasSize(1)));
+        performAsync(mvc, get("/api/customers/300/services"))
+                .andExpect(status().isForbidden());
 
-        verify(customerService, times(1)).getCustomer(300L);
-        verify(customerService, times(1)).listServicesForCustomer(300L);
+        verifyNoInteractions(customerService);
     }
 }
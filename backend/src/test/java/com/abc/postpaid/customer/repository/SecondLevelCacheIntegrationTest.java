@@ -0,0 +1,133 @@
+package com.abc.postpaid.customer.repository;
+
+import com.abc.postpaid.customer.entity.Customer;
+import com.abc.postpaid.customer.entity.ServiceEntity;
+import com.abc.postpaid.user.entity.User;
+import com.abc.postpaid.user.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private SessionFactory sessionFactory;
+    private Long userId;
+    private Long customerId;
+    private Long serviceId;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        tx.executeWithoutResult(status -> {
+            User u = userRepository.save(new User(null, "l2user", "hash", "l2@example.com", "customer", OffsetDateTime.now()));
+            Customer c = new Customer();
+            c.setUser(u);
+            c.setFullName("Cached Customer");
+            c = customerRepository.save(c);
+            ServiceEntity s = new ServiceEntity();
+            s.setCustomer(c);
+            s.setServiceType("mobile");
+            s.setStatus(ServiceEntity.STATUS_ACTIVE);
+            s = serviceRepository.save(s);
+            userId = u.getUserId();
+            customerId = c.getCustomerId();
+            serviceId = s.getServiceId();
+        });
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @Test
+    void repeatedReads_runNoSql() {
+        readAll();
+        Statistics stats = sessionFactory.getStatistics();
+        stats.clear();
+
+        readAll();
+
+        assertThat(stats.getPrepareStatementCount()).isZero();
+        assertThat(stats.getCacheRegionStatistics("l2-users").getHitCount()).isEqualTo(1);
+        assertThat(stats.getCacheRegionStatistics("l2-customers").getHitCount()).isEqualTo(1);
+        // Hibernate 6 returns the services from the cached query result itself; l2-services sees no hit
+        assertThat(stats.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void entityUpdates_invalidateEntityAndQueryCache() {
+        readAll();
+
+        tx.executeWithoutResult(status -> {
+            Customer c = customerRepository.findById(customerId).orElseThrow();
+            c.setFullName("Renamed");
+            ServiceEntity s = serviceRepository.findById(serviceId).orElseThrow();
+            s.setStatus("TERMINATED");
+        });
+
+        assertThat(customerRepository.findById(customerId).orElseThrow().getFullName()).isEqualTo("Renamed");
+        assertThat(serviceRepository.findByCustomerCustomerId(customerId))
+                .extracting(ServiceEntity::getStatus).containsExactly("TERMINATED");
+    }
+
+    @Test
+    void bulkUpdates_invalidateQueryCache() {
+        readAll();
+
+        tx.executeWithoutResult(status -> serviceRepository.suspendForNonPayment(List.of(customerId)));
+
+        assertThat(serviceRepository.findByCustomerCustomerId(customerId))
+                .extracting(ServiceEntity::getStatus).containsExactly(ServiceEntity.STATUS_SUSPENDED_NONPAYMENT);
+    }
+
+    @Test
+    void inserts_invalidateQueryCache() {
+        readAll();
+
+        tx.executeWithoutResult(status -> {
+            ServiceEntity s = new ServiceEntity();
+            s.setCustomer(customerRepository.getReferenceById(customerId));
+            s.setServiceType("tv");
+            s.setStatus(ServiceEntity.STATUS_ACTIVE);
+            serviceRepository.save(s);
+        });
+
+        assertThat(serviceRepository.findByCustomerCustomerId(customerId)).hasSize(2);
+    }
+
+    private void readAll() {
+        assertThat(userRepository.findById(userId)).isPresent();
+        assertThat(customerRepository.findById(customerId)).isPresent();
+        assertThat(serviceRepository.findByCustomerCustomerId(customerId)).hasSize(1);
+    }
+}
@@ -0,0 +1,98 @@
+package com.abc.postpaid.customer.service;
+
+import com.abc.postpaid.cache.CacheInvalidationBus;
+import com.abc.postpaid.config.CacheProperties;
+import com.abc.postpaid.config.CacheRegions;
+import com.abc.postpaid.customer.repository.CustomerRepository;
+import com.abc.postpaid.customer.service.impl.CustomerOwnershipServiceImpl;
+import com.abc.postpaid.security.AuthPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CustomerOwnershipServiceImplTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @InjectMocks
+    private CustomerOwnershipServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "cacheRegions", new CacheRegions(new CacheProperties(), new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(service, "invalidationBus", new CacheInvalidationBus());
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void tokenCustomerId_decidesWithoutLookup() {
+        AuthPrincipal principal = new AuthPrincipal(10L, AuthPrincipal.Role.CUSTOMER, 123L);
+
+        assertThat(service.owns(principal, 123L)).isTrue();
+        assertThat(service.owns(principal, 124L)).isFalse();
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void mapping_isLoadedOncePerUser() {
+        when(customerRepository.findCustomerIdByUserId(10L)).thenReturn(Optional.of(123L));
+        AuthPrincipal principal = new AuthPrincipal(10L, AuthPrincipal.Role.CUSTOMER, AuthPrincipal.NO_CUSTOMER);
+
+        assertThat(service.owns(principal, 123L)).isTrue();
+        assertThat(service.owns(principal, 124L)).isFalse();
+        verify(customerRepository, times(1)).findCustomerIdByUserId(10L);
+    }
+
+    @Test
+    void userWithoutCustomer_isCachedToo() {
+        when(customerRepository.findCustomerIdByUserId(1L)).thenReturn(Optional.empty());
+
+        assertThat(service.findCustomerIdForUser(1L)).isNull();
+        assertThat(service.findCustomerIdForUser(1L)).isNull();
+        verify(customerRepository, times(1)).findCustomerIdByUserId(1L);
+    }
+
+    @Test
+    void evictions_forceReload() {
+        when(customerRepository.findCustomerIdByUserId(10L)).thenReturn(Optional.of(123L), Optional.empty(), Optional.of(200L));
+
+        assertThat(service.findCustomerIdForUser(10L)).isEqualTo(123L);
+        service.evictCustomer(123L);
+        assertThat(service.findCustomerIdForUser(10L)).isNull();
+        service.evictUser(10L);
+        assertThat(service.findCustomerIdForUser(10L)).isEqualTo(200L);
+    }
+
+    @Test
+    void evictionInsideTransaction_waitsForCommit() {
+        when(customerRepository.findCustomerIdByUserId(10L)).thenReturn(Optional.empty(), Optional.of(123L));
+        assertThat(service.findCustomerIdForUser(10L)).isNull();
+
+        TransactionSynchronizationManager.initSynchronization();
+        service.evictUser(10L);
+        assertThat(service.findCustomerIdForUser(10L)).isNull();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(service.findCustomerIdForUser(10L)).isEqualTo(123L);
+    }
+}
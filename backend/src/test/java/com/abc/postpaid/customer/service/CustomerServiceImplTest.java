@@ -0,0 +1,139 @@
+package com.abc.postpaid.customer.service;
+
+import com.abc.postpaid.cache.CacheInvalidationBus;
+import com.abc.postpaid.config.CacheProperties;
+import com.abc.postpaid.config.CacheRegions;
+import com.abc.postpaid.customer.dto.CustomerRequest;
+import com.abc.postpaid.customer.dto.ServiceRequest;
+import com.abc.postpaid.customer.entity.Customer;
+import com.abc.postpaid.customer.entity.ServiceEntity;
+import com.abc.postpaid.customer.repository.CustomerRepository;
+import com.abc.postpaid.customer.repository.ServiceRepository;
+import com.abc.postpaid.customer.service.impl.CustomerServiceImpl;
+import com.abc.postpaid.user.entity.User;
+import com.abc.postpaid.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CustomerServiceImplTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private ServiceRepository serviceRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CustomerOwnershipService customerOwnershipService;
+
+    @InjectMocks
+    private CustomerServiceImpl service;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        CustomerCaches caches = new CustomerCaches(new CacheRegions(new CacheProperties(), meterRegistry), new CacheInvalidationBus());
+        caches.init();
+        ReflectionTestUtils.setField(service, "customerCaches", caches);
+    }
+
+    @Test
+    void getCustomer_readsThroughOnce() {
+        when(customerRepository.findById(5L)).thenReturn(Optional.of(customer(5L, 50L, "Alice")));
+
+        assertThat(service.getCustomer(5L).getFullName()).isEqualTo("Alice");
+        assertThat(service.getCustomer(5L).getFullName()).isEqualTo("Alice");
+
+        verify(customerRepository, times(1)).findById(5L);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CustomerCaches.CUSTOMERS).tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void getCustomer_missingIsNotCached() {
+        when(customerRepository.findById(6L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.getCustomer(6L)).hasMessage("not_found");
+        assertThatThrownBy(() -> service.getCustomer(6L)).hasMessage("not_found");
+
+        verify(customerRepository, times(2)).findById(6L);
+    }
+
+    @Test
+    void updateCustomer_evictsProfileByIdAndByUser() {
+        Customer c = customer(5L, 50L, "Alice");
+        when(customerRepository.findById(5L)).thenReturn(Optional.of(c));
+        when(customerRepository.findByUserUserId(50L)).thenReturn(Optional.of(c));
+        service.getCustomer(5L);
+        service.getCustomerByUserId(50L);
+
+        CustomerRequest req = new CustomerRequest();
+        req.setFullName("Alicia");
+        service.updateCustomer(5L, req);
+
+        assertThat(service.getCustomer(5L).getFullName()).isEqualTo("Alicia");
+        assertThat(service.getCustomerByUserId(50L).getFullName()).isEqualTo("Alicia");
+        // loaded again after the update: the by-user entry was evicted too
+        verify(customerRepository, times(2)).findByUserUserId(50L);
+    }
+
+    @Test
+    void createService_evictsServiceList() {
+        Customer c = customer(5L, 50L, "Alice");
+        ServiceEntity existing = service(1L, c, "mobile");
+        when(serviceRepository.findByCustomerCustomerId(5L)).thenReturn(List.of(existing), List.of(existing, service(2L, c, "tv")));
+        when(customerRepository.findById(5L)).thenReturn(Optional.of(c));
+        when(serviceRepository.save(any(ServiceEntity.class))).thenAnswer(inv -> {
+            ServiceEntity s = inv.getArgument(0);
+            s.setServiceId(2L);
+            return s;
+        });
+
+        assertThat(service.listServicesForCustomer(5L)).hasSize(1);
+        assertThat(service.listServicesForCustomer(5L)).hasSize(1);
+
+        ServiceRequest req = new ServiceRequest();
+        req.setServiceType("tv");
+        service.createServiceForCustomer(5L, req);
+
+        assertThat(service.listServicesForCustomer(5L)).hasSize(2);
+        verify(serviceRepository, times(2)).findByCustomerCustomerId(5L);
+    }
+
+    private static Customer customer(Long id, Long userId, String name) {
+        User u = new User();
+        u.setUserId(userId);
+        Customer c = new Customer();
+        c.setCustomerId(id);
+        c.setUser(u);
+        c.setFullName(name);
+        return c;
+    }
+
+    private static ServiceEntity service(Long id, Customer c, String type) {
+        ServiceEntity s = new ServiceEntity();
+        s.setServiceId(id);
+        s.setCustomer(c);
+        s.setServiceType(type);
+        s.setStatus(ServiceEntity.STATUS_ACTIVE);
+        return s;
+    }
+}
@@ -0,0 +1,55 @@
+package com.abc.postpaid.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BillingMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BillingMetrics metrics = new BillingMetrics(meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void withoutTransaction_countsImmediately() {
+        metrics.usageRecordsIngested(3);
+        metrics.invoiceGenerated();
+
+        assertEquals(3.0, count("billing.usage.records.ingested"));
+        assertEquals(1.0, count("billing.invoices.generated"));
+    }
+
+    @Test
+    void insideTransaction_countsOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        metrics.paymentRecorded();
+        assertEquals(0.0, count("billing.payments.recorded"));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(1.0, count("billing.payments.recorded"));
+    }
+
+    @Test
+    void rolledBackTransaction_isNotCounted() {
+        TransactionSynchronizationManager.initSynchronization();
+        metrics.paymentRecorded();
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(0.0, count("billing.payments.recorded"));
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+}
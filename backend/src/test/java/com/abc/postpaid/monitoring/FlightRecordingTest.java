@@ -0,0 +1,100 @@
+package com.abc.postpaid.monitoring;
+
+import com.abc.postpaid.config.FlightRecorderProperties;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlightRecordingTest {
+
+    @TempDir
+    Path dumpDirectory;
+
+    private FlightRecording flightRecording;
+
+    @AfterEach
+    void tearDown() {
+        if (flightRecording != null) flightRecording.stop();
+    }
+
+    @Test
+    void dump_writesRecentBillingEvents() throws Exception {
+        flightRecording = started(true);
+
+        PaymentRecordEvent event = new PaymentRecordEvent();
+        event.begin();
+        event.invoiceId = 7L;
+        event.paymentId = 70L;
+        event.paymentMethod = "card";
+        event.commit();
+
+        Path file = flightRecording.dump(Duration.ofMinutes(1));
+
+        assertTrue(file.startsWith(dumpDirectory));
+        List<RecordedEvent> payments = RecordingFile.readAllEvents(file).stream()
+                .filter(recorded -> recorded.getEventType().getName().equals("com.abc.postpaid.PaymentRecord"))
+                .toList();
+        assertEquals(1, payments.size());
+        assertEquals(70L, payments.get(0).getLong("paymentId"));
+        try (var files = Files.list(dumpDirectory)) {
+            assertEquals(1, files.count(), "scratch copy of the ring buffer is removed");
+        }
+    }
+
+    @Test
+    void dump_keepsOnlyNewestDumps() throws Exception {
+        FlightRecorderProperties properties = properties(true);
+        properties.setMaxDumps(2);
+        flightRecording = new FlightRecording(properties);
+        flightRecording.start();
+
+        flightRecording.dump(Duration.ofMinutes(1));
+        Thread.sleep(5);
+        Path second = flightRecording.dump(Duration.ofMinutes(1));
+        Thread.sleep(5);
+        Path third = flightRecording.dump(Duration.ofMinutes(1));
+
+        try (var files = Files.list(dumpDirectory)) {
+            assertEquals(List.of(second, third), files.sorted().toList());
+        }
+    }
+
+    @Test
+    void dump_rejectsWindowBeyondMaxAge() throws Exception {
+        flightRecording = started(true);
+
+        assertThrows(IllegalArgumentException.class, () -> flightRecording.dump(Duration.ofMinutes(31)));
+        assertThrows(IllegalArgumentException.class, () -> flightRecording.dump(Duration.ZERO));
+    }
+
+    @Test
+    void dump_whenDisabled_isRejected() throws Exception {
+        flightRecording = started(false);
+
+        assertThrows(IllegalArgumentException.class, () -> flightRecording.dump(Duration.ofMinutes(1)));
+    }
+
+    private FlightRecording started(boolean enabled) throws Exception {
+        FlightRecording recording = new FlightRecording(properties(enabled));
+        recording.start();
+        return recording;
+    }
+
+    private FlightRecorderProperties properties(boolean enabled) {
+        FlightRecorderProperties properties = new FlightRecorderProperties();
+        properties.setEnabled(enabled);
+        properties.setDumpDirectory(dumpDirectory.toString());
+        return properties;
+    }
+}
@@ -0,0 +1,42 @@
+package com.abc.postpaid.monitoring;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HandlerMethodObservationConventionTest {
+
+    private final HandlerMethodObservationConvention convention = new HandlerMethodObservationConvention();
+
+    @Test
+    void handlerTag_namesControllerMethod() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/things/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new SampleController(), SampleController.class.getMethod("getThing")));
+
+        assertEquals("SampleController.getThing", handlerTag(request));
+    }
+
+    @Test
+    void handlerTag_isNoneWithoutController() {
+        assertEquals("none", handlerTag(new MockHttpServletRequest("GET", "/missing")));
+    }
+
+    private String handlerTag(MockHttpServletRequest request) {
+        ServerRequestObservationContext context = new ServerRequestObservationContext(request, new MockHttpServletResponse());
+        return convention.getLowCardinalityKeyValues(context).stream()
+                .filter(keyValue -> keyValue.getKey().equals("handler"))
+                .findFirst().orElseThrow().getValue();
+    }
+
+    static class SampleController {
+        public String getThing() {
+            return "thing";
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.abc.postpaid.monitoring.controller;
+
+import com.abc.postpaid.config.GlobalExceptionHandler;
+import com.abc.postpaid.monitoring.FlightRecording;
+import com.abc.postpaid.web.AsyncMvc;
+import com.abc.postpaid.web.Bulkheads;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static com.abc.postpaid.web.AsyncMvc.performAsync;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class FlightRecordingControllerTest {
+
+    @Mock
+    private FlightRecording flightRecording;
+
+    @Spy
+    private Bulkheads bulkheads = AsyncMvc.bulkheads();
+
+    @InjectMocks
+    private FlightRecordingController controller;
+
+    @TempDir
+    Path dumpDirectory;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setup() {
+        mvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void dump_returnsFileAndSize() throws Exception {
+        Path file = Files.write(dumpDirectory.resolve("dump.jfr"), new byte[] {1, 2, 3});
+        when(flightRecording.dump(Duration.ofMinutes(10))).thenReturn(file);
+
+        performAsync(mvc, post("/api/admin/jfr/dumps").param("minutes", "10"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.file", is(file.toString())))
+                .andExpect(jsonPath("$.size_bytes", is(3)));
+    }
+
+    @Test
+    void dump_invalidWindow_returnsBadRequest() throws Exception {
+        when(flightRecording.dump(any())).thenThrow(new IllegalArgumentException("invalid_window"));
+
+        performAsync(mvc, post("/api/admin/jfr/dumps").param("minutes", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
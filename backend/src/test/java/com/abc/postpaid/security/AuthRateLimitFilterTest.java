@@ -0,0 +1,116 @@
+package com.abc.postpaid.security;
+
+import com.abc.postpaid.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthRateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AuthRateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setPerIp(new RateLimitProperties.Limit(3, 60));
+        properties.setPerUsername(new RateLimitProperties.Limit(2, 60));
+        filter = new AuthRateLimitFilter(properties, meterRegistry);
+    }
+
+    @Test
+    void usernameLimit_appliesAcrossIpsAndKeepsBodyForController() throws Exception {
+        MockFilterChain first = new MockFilterChain();
+        assertEquals(200, login("10.0.0.1", "Alice", first).getStatus());
+        assertEquals("{\"username\":\"Alice\",\"password\":\"x\"}",
+                new String(first.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals(200, login("10.0.0.2", "alice", new MockFilterChain()).getStatus());
+
+        MockFilterChain rejected = new MockFilterChain();
+        MockHttpServletResponse response = login("10.0.0.3", "ALICE", rejected);
+
+        assertEquals(429, response.getStatus());
+        assertNotNull(response.getHeader("Retry-After"));
+        assertEquals("{\"error\":\"rate_limited\"}", response.getContentAsString());
+        assertNull(rejected.getRequest());
+        assertEquals(1.0, meterRegistry.get("auth.rate_limited").tag("key", "username").counter().count());
+    }
+
+    @Test
+    void replayedBody_supportsNonBlockingRead() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        login("10.0.0.20", "bob", chain);
+        ServletInputStream in = chain.getRequest().getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        boolean[] complete = new boolean[1];
+
+        in.setReadListener(new ReadListener() {
+            @Override public void onDataAvailable() throws java.io.IOException {
+                while (in.isReady() && !in.isFinished()) read.write(in.read());
+            }
+            @Override public void onAllDataRead() { complete[0] = true; }
+            @Override public void onError(Throwable t) { fail(t); }
+        });
+
+        assertTrue(complete[0]);
+        assertEquals("{\"username\":\"bob\",\"password\":\"x\"}", read.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void ipLimit_appliesAcrossUsernames() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, login("10.0.0.9", "user" + i, new MockFilterChain()).getStatus());
+        }
+        assertEquals(429, login("10.0.0.9", "user9", new MockFilterChain()).getStatus());
+        assertEquals(200, login("10.0.0.10", "user9", new MockFilterChain()).getStatus());
+    }
+
+    @Test
+    void otherEndpoints_areNotLimited() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/customers/1");
+            request.setServletPath("/api/customers/1");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+    }
+
+    @Test
+    void bucket_refillsAtTheConfiguredRate() {
+        AtomicLong now = new AtomicLong();
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 60, 100, now::get);
+
+        assertEquals(0, limiter.tryAcquire("k"));
+        assertEquals(0, limiter.tryAcquire("k"));
+        long wait = limiter.tryAcquire("k");
+        assertEquals(TimeUnit.SECONDS.toNanos(1), wait);
+
+        now.addAndGet(wait);
+        assertEquals(0, limiter.tryAcquire("k"));
+        assertTrue(limiter.tryAcquire("k") > 0);
+    }
+
+    private MockHttpServletResponse login(String ip, String username, MockFilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/login");
+        request.setServletPath("/api/login");
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(("{\"username\":\"" + username + "\",\"password\":\"x\"}").getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,115 @@
+package com.abc.postpaid.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class JwtAuthenticationFilterTest {
+
+    private static final long EXP = 1_750_000_000L;
+
+    private final JwtProvider jwtProvider = mock(JwtProvider.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private VerifiedTokenCache cache;
+    private TokenRevocationList revocationList;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        cache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(cache, "maxEntries", 100L);
+        ReflectionTestUtils.setField(cache, "meterRegistry", meterRegistry);
+        setNow(EXP - 60);
+        cache.init();
+        revocationList = new TokenRevocationList();
+        filter = new JwtAuthenticationFilter(jwtProvider, cache, revocationList);
+        when(jwtProvider.validateToken("tok")).thenReturn(new TokenClaims("7", "customer", EXP, "s-1"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void repeatedToken_isVerifiedOnce() throws Exception {
+        Authentication first = authenticate("tok");
+        Authentication second = authenticate("tok");
+
+        assertEquals(7L, ((AuthPrincipal) first.getPrincipal()).userId());
+        assertSame(first.getPrincipal(), second.getPrincipal());
+        assertEquals("7", second.getName());
+        assertEquals("ROLE_CUSTOMER", second.getAuthorities().iterator().next().getAuthority());
+        verify(jwtProvider, times(1)).validateToken("tok");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.verified").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.verified").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void cachedToken_isNotServedPastExp() throws Exception {
+        authenticate("tok");
+        setNow(EXP + 1);
+        when(jwtProvider.validateToken("tok")).thenThrow(new IllegalArgumentException("token_expired"));
+
+        assertNull(authenticate("tok"));
+        verify(jwtProvider, times(2)).validateToken("tok");
+    }
+
+    @Test
+    void invalidToken_isNotCached() throws Exception {
+        when(jwtProvider.validateToken("bad")).thenThrow(new IllegalArgumentException("invalid_signature"));
+
+        assertNull(authenticate("bad"));
+        assertNull(authenticate("bad"));
+        verify(jwtProvider, times(2)).validateToken("bad");
+    }
+
+    @Test
+    void principal_carriesTypedRoleAndCustomerId() throws Exception {
+        when(jwtProvider.validateToken("admin")).thenReturn(new TokenClaims("3", "admin", EXP, null, 30L));
+
+        AuthPrincipal principal = (AuthPrincipal) authenticate("admin").getPrincipal();
+
+        assertEquals(3L, principal.userId());
+        assertTrue(principal.isAdmin());
+        assertTrue(principal.ownsCustomer(30L));
+        assertFalse(principal.ownsCustomer(31L));
+    }
+
+    @Test
+    void revokedSession_isRejectedEvenWhenCached() throws Exception {
+        assertNotNull(authenticate("tok"));
+
+        revocationList.revokeLocally(List.of("s-1"));
+
+        assertNull(authenticate("tok"));
+        verify(jwtProvider, times(1)).validateToken("tok");
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/customers/1");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private void setNow(long epochSecond) {
+        ReflectionTestUtils.setField(cache, "clock", Clock.fixed(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,176 @@
+package com.abc.postpaid.security;
+
+import com.abc.postpaid.user.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtProviderTest {
+
+    private JwtKeyRegistry keyRegistry;
+    private JwtProvider jwtProvider;
+    private User user;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        keyRegistry = new JwtKeyRegistry();
+        ReflectionTestUtils.setField(keyRegistry, "privateKeyPath", "keystore/private.pem");
+        ReflectionTestUtils.setField(keyRegistry, "publicKeyPath", "keystore/public.pem");
+        ReflectionTestUtils.setField(keyRegistry, "keysetPath", "");
+        ReflectionTestUtils.setField(keyRegistry, "expiresMinutes", 15L);
+        keyRegistry.init();
+
+        jwtProvider = new JwtProvider();
+        ReflectionTestUtils.setField(jwtProvider, "expiresMinutes", 15L);
+        ReflectionTestUtils.setField(jwtProvider, "keyRegistry", keyRegistry);
+
+        user = new User();
+        user.setUserId(42L);
+        user.setUsername("alice");
+        user.setEmail("alice@example.com");
+        user.setRole("customer");
+    }
+
+    @Test
+    void generatedToken_roundTrips() throws Exception {
+        String token = jwtProvider.generateToken(user);
+
+        TokenClaims claims = jwtProvider.validateToken(token);
+
+        assertEquals("42", claims.subject());
+        assertEquals("customer", claims.role());
+        long expectedExp = Instant.now().getEpochSecond() + 15 * 60;
+        assertTrue(Math.abs(expectedExp - claims.expiresAt()) <= 2);
+        assertEquals("{\"alg\":\"RS256\",\"typ\":\"JWT\",\"kid\":\"default\"}", header(token));
+    }
+
+    @Test
+    void sessionAndCustomerClaims_roundTrip() throws Exception {
+        TokenClaims claims = jwtProvider.validateToken(jwtProvider.generateToken(user, "s-1", 77L));
+
+        assertEquals("s-1", claims.sessionId());
+        assertEquals(77L, claims.customerId());
+        assertNull(jwtProvider.validateToken(jwtProvider.generateToken(user)).customerId());
+    }
+
+    @Test
+    void tamperedPayload_isRejected() throws Exception {
+        String token = jwtProvider.generateToken(user);
+        String[] parts = token.split("\\.");
+        String forged = b64("{\"sub\":\"1\",\"role\":\"admin\",\"exp\":9999999999}");
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> jwtProvider.validateToken(parts[0] + "." + forged + "." + parts[2]));
+        assertEquals("invalid_signature", ex.getMessage());
+    }
+
+    @Test
+    void headerNamingAnotherAlgorithm_isRejected() throws Exception {
+        String token = jwtProvider.generateToken(user);
+        String[] parts = token.split("\\.");
+        String header = b64("{\"alg\":\"HS256\",\"typ\":\"JWT\",\"kid\":\"default\"}");
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> jwtProvider.validateToken(header + "." + parts[1] + "." + parts[2]));
+        assertEquals("invalid_algorithm", ex.getMessage());
+    }
+
+    @Test
+    void expiredToken_isRejected() throws Exception {
+        ReflectionTestUtils.setField(jwtProvider, "expiresMinutes", -1L);
+        String token = jwtProvider.generateToken(user);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> jwtProvider.validateToken(token));
+        assertEquals("token_expired", ex.getMessage());
+    }
+
+    @Test
+    void malformedToken_isRejected() {
+        assertThrows(IllegalArgumentException.class, () -> jwtProvider.validateToken("abc"));
+        assertThrows(IllegalArgumentException.class, () -> jwtProvider.validateToken("a.b.c.d"));
+    }
+
+    @Test
+    void everyAlgorithm_roundTrips() throws Exception {
+        for (JwtAlgorithm algorithm : JwtAlgorithm.values()) {
+            keyRegistry.install(JwtKey.generate("k-" + algorithm, algorithm), List.of());
+            String token = jwtProvider.generateToken(user);
+
+            assertEquals("42", jwtProvider.validateToken(token).subject());
+            assertTrue(header(token).contains("\"alg\":\"" + algorithm.getJwsName() + "\""));
+        }
+    }
+
+    @Test
+    void rotation_keepsAcceptingTokensOfTheReplacedKey() throws Exception {
+        String oldToken = jwtProvider.generateToken(user);
+
+        keyRegistry.install(JwtKey.generate("k2", JwtAlgorithm.ED25519), List.of());
+        String newToken = jwtProvider.generateToken(user);
+
+        assertEquals("42", jwtProvider.validateToken(oldToken).subject());
+        assertEquals("42", jwtProvider.validateToken(newToken).subject());
+        assertTrue(header(newToken).contains("\"kid\":\"k2\""));
+    }
+
+    @Test
+    void concurrentSignAndVerify_onVirtualThreads_shareOneKey() throws Exception {
+        List<Future<String>> subjects = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 200; i++) {
+                subjects.add(executor.submit(() -> jwtProvider.validateToken(jwtProvider.generateToken(user)).subject()));
+            }
+            for (Future<String> subject : subjects) {
+                assertEquals("42", subject.get());
+            }
+        }
+    }
+
+    @Test
+    void keysetFile_isReloadedWhenChanged(@TempDir Path dir) throws Exception {
+        JwtKey es = JwtKey.generate("es-1", JwtAlgorithm.ES256);
+        Files.writeString(dir.resolve("es-1.pub.pem"), pem("PUBLIC KEY", es.getPublicKey().getEncoded()));
+        java.security.KeyPair ed = JwtAlgorithm.ED25519.generateKeyPair();
+        Files.writeString(dir.resolve("ed-1.key.pem"), pem("PRIVATE KEY", ed.getPrivate().getEncoded()));
+        Files.writeString(dir.resolve("ed-1.pub.pem"), pem("PUBLIC KEY", ed.getPublic().getEncoded()));
+        Path keyset = dir.resolve("keyset.json");
+        Files.writeString(keyset, "{\"active\":\"ed-1\",\"keys\":["
+                + "{\"kid\":\"ed-1\",\"alg\":\"EdDSA\",\"privateKey\":\"ed-1.key.pem\",\"publicKey\":\"ed-1.pub.pem\"},"
+                + "{\"kid\":\"es-1\",\"alg\":\"ES256\",\"publicKey\":\"es-1.pub.pem\"}]}");
+        ReflectionTestUtils.setField(keyRegistry, "keysetPath", keyset.toString());
+
+        keyRegistry.reload();
+
+        assertEquals("ed-1", keyRegistry.signingKey().getKid());
+        assertFalse(keyRegistry.verificationKey("es-1").canSign());
+        assertNotNull(keyRegistry.verificationKey("default"));
+        assertNull(keyRegistry.verificationKey("unknown"));
+        assertEquals("42", jwtProvider.validateToken(jwtProvider.generateToken(user)).subject());
+    }
+
+    private static String header(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))), StandardCharsets.UTF_8);
+    }
+
+    private static String b64(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n" + Base64.getMimeEncoder().encodeToString(der) + "\n-----END " + type + "-----\n";
+    }
+}
@@ -0,0 +1,81 @@
+package com.abc.postpaid.security;
+
+import com.abc.postpaid.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffloadingPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OffloadingPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setCost(4);
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        encoder = new OffloadingPasswordEncoder(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void encodeAndMatch_runOnThePoolAndAreTimed() {
+        String hash = encoder.encode("Secret123!");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(encoder.matches("Secret123!", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(1, meterRegistry.get("auth.password.hashing").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("auth.password.hashing").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void upgradeEncoding_onlyWhenStoredCostIsLower() {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setCost(10);
+        OffloadingPasswordEncoder cost10 = new OffloadingPasswordEncoder(properties, meterRegistry);
+        try {
+            assertTrue(cost10.upgradeEncoding("$2a$09$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234"));
+            assertFalse(cost10.upgradeEncoding("$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234"));
+            assertFalse(cost10.upgradeEncoding("$2a$12$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234"));
+            assertFalse(cost10.upgradeEncoding("not-a-bcrypt-hash"));
+        } finally {
+            cost10.shutdown();
+        }
+    }
+
+    @Test
+    void calibrate_neverGoesBelowFloor() {
+        // an unreachable 1 ms target would otherwise settle on the weakest cost
+        assertEquals(10, OffloadingPasswordEncoder.calibrate(1, 10));
+    }
+
+    @Test
+    void saturatedPool_rejectsImmediately() throws Exception {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(encoder, "executor");
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> { release.await(); return null; });
+        executor.submit(() -> null);
+
+        try {
+            PasswordHashingBusyException ex = assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("x"));
+            assertEquals("password_hashing_busy", ex.getMessage());
+            assertEquals(1.0, meterRegistry.get("auth.password.hashing.rejected").counter().count());
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -5,12 +5,15 @@ import com.abc.postpaid.user.dto.AdminUpdateUserRequest;
 import com.abc.postpaid.user.dto.SetPasswordRequest;
 import com.abc.postpaid.user.dto.UserResponse;
 import com.abc.postpaid.user.service.AdminUserService;
+import com.abc.postpaid.web.AsyncMvc;
+import com.abc.postpaid.web.Bulkheads;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -19,6 +22,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import java.time.OffsetDateTime;
 import java.util.List;
 
+import static com.abc.postpaid.web.AsyncMvc.performAsync;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -31,6 +35,9 @@ public class AdminUserControllerTest {
     @Mock
     private AdminUserService adminUserService;
 
+    @Spy
+    private Bulkheads bulkheads = AsyncMvc.bulkheads();
+
     @InjectMocks
     private com.abc.postpaid.user.controller.AdminUserController controller;
 
@@ -52,7 +59,7 @@ public class AdminUserControllerTest {
 
         when(adminUserService.createUser(any())).thenReturn(42L);
 
-        mvc.perform(post("/api/users")
+        performAsync(mvc, post("/api/users")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(mapper.writeValueAsString(req)))
                 .andExpect(status().isCreated())
@@ -68,7 +75,7 @@ public class AdminUserControllerTest {
 
         when(adminUserService.listUsers()).thenReturn(List.of(u));
 
-        mvc.perform(get("/api/users"))
+        performAsync(mvc, get("/api/users"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].username").value("admin"));
 
@@ -82,7 +89,7 @@ public class AdminUserControllerTest {
 
         when(adminUserService.getUser(5L)).thenReturn(u);
 
-        mvc.perform(get("/api/users/5"))
+        performAsync(mvc, get("/api/users/5"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.username").value("bob"));
 
@@ -94,7 +101,7 @@ public class AdminUserControllerTest {
         AdminUpdateUserRequest req = new AdminUpdateUserRequest();
         req.setEmail("x@example.com");
 
-        mvc.perform(put("/api/users/7")
+        performAsync(mvc, put("/api/users/7")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(mapper.writeValueAsString(req)))
                 .andExpect(status().isOk());
@@ -107,7 +114,7 @@ public class AdminUserControllerTest {
         SetPasswordRequest req = new SetPasswordRequest();
         req.setPassword("NewP@ss1");
 
-        mvc.perform(post("/api/users/8/password")
+        performAsync(mvc, post("/api/users/8/password")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(mapper.writeValueAsString(req)))
                 .andExpect(status().isOk());
@@ -117,7 +124,7 @@ public class AdminUserControllerTest {
 
     @Test
     void deleteUser_callsService() throws Exception {
-        mvc.perform(delete("/api/users/9"))
+        performAsync(mvc, delete("/api/users/9"))
                 .andExpect(status().isNoContent());
 
         verify(adminUserService, times(1)).deleteUser(9L);
@@ -8,6 +8,7 @@ import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -83,4 +84,48 @@ public class AuthIntegrationTest {
         boolean found = customerRepository.findAll().stream().anyMatch(c -> c.getUser() != null && c.getUser().getUserId().equals(userId));
         assertThat(found).isTrue();
     }
+
+    @Test
+    void refreshAndRevoke_endToEnd() {
+        String base = "http://localhost:" + port;
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        String registerJson = "{\"username\":\"itest-user3\",\"email\":\"itest3@example.com\",\"password\":\"P@ssw0rd!\"}";
+        ResponseEntity<Map> regResp = restTemplate.postForEntity(base + "/api/register", new HttpEntity<>(registerJson, headers), Map.class);
+        Long userId = ((Number) regResp.getBody().get("user_id")).longValue();
+        Long customerId = customerRepository.findAll().stream()
+                .filter(c -> c.getUser() != null && c.getUser().getUserId().equals(userId))
+                .findFirst().orElseThrow().getCustomerId();
+
+        String loginJson = "{\"username\":\"itest-user3\",\"password\":\"P@ssw0rd!\"}";
+        ResponseEntity<Map> loginResp = restTemplate.postForEntity(base + "/api/login", new HttpEntity<>(loginJson, headers), Map.class);
+        String refreshToken = (String) loginResp.getBody().get("refreshToken");
+        assertThat(refreshToken).isNotBlank();
+
+        String refreshJson = "{\"refreshToken\":\"" + refreshToken + "\"}";
+        ResponseEntity<Map> refreshResp = restTemplate.postForEntity(base + "/api/token/refresh", new HttpEntity<>(refreshJson, headers), Map.class);
+        assertThat(refreshResp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String accessToken = (String) refreshResp.getBody().get("accessToken");
+        String rotated = (String) refreshResp.getBody().get("refreshToken");
+        assertThat(rotated).isNotEqualTo(refreshToken);
+
+        // the replaced refresh token is single-use
+        ResponseEntity<Map> reuseResp = restTemplate.postForEntity(base + "/api/token/refresh", new HttpEntity<>(refreshJson, headers), Map.class);
+        assertThat(reuseResp.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        HttpHeaders auth = new HttpHeaders();
+        auth.setBearerAuth(accessToken);
+        ResponseEntity<Map> before = restTemplate.exchange(base + "/api/customers/" + customerId, HttpMethod.GET, new HttpEntity<>(auth), Map.class);
+        assertThat(before.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        String revokeJson = "{\"refreshToken\":\"" + rotated + "\"}";
+        ResponseEntity<Void> revokeResp = restTemplate.postForEntity(base + "/api/token/revoke", new HttpEntity<>(revokeJson, headers), Void.class);
+        assertThat(revokeResp.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        // the session's access token stops working at once on this node, before it expires
+        ResponseEntity<Map> after = restTemplate.exchange(base + "/api/customers/" + customerId, HttpMethod.GET, new HttpEntity<>(auth), Map.class);
+        assertThat(after.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
 }
@@ -27,6 +27,9 @@ public class AdminUserServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private AuthService authService;
+
     @InjectMocks
     private AdminUserServiceImpl adminUserService;
 
@@ -76,5 +79,7 @@ public class AdminUserServiceImplTest {
         adminUserService.setPassword(5L, req);
 
         verify(userRepository, times(1)).save(any(User.class));
+        // existing sessions must not outlive a password reset
+        verify(authService, times(1)).revokeAllSessions(5L);
     }
 }
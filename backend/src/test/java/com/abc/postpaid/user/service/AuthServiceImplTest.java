@@ -2,9 +2,14 @@ package com.abc.postpaid.user.service;
 
 import com.abc.postpaid.user.dto.LoginRequest;
 import com.abc.postpaid.user.dto.RegisterRequest;
+import com.abc.postpaid.user.entity.RefreshSession;
 import com.abc.postpaid.user.entity.User;
+import com.abc.postpaid.user.repository.RefreshSessionRepository;
 import com.abc.postpaid.user.repository.UserRepository;
+import com.abc.postpaid.customer.service.CustomerOwnershipService;
 import com.abc.postpaid.security.JwtProvider;
+import com.abc.postpaid.security.RefreshTokens;
+import com.abc.postpaid.security.TokenRevocationList;
 import com.abc.postpaid.user.service.impl.AuthServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,10 +21,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import com.abc.postpaid.customer.entity.Customer;
@@ -33,12 +43,26 @@ public class AuthServiceImplTest {
     @Mock
     private com.abc.postpaid.customer.repository.CustomerRepository customerRepository;
 
+    @Mock
+    private CustomerOwnershipService customerOwnershipService;
+
+    @Mock
+    private RefreshSessionRepository refreshSessionRepository;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
     private JwtProvider jwtProvider = new JwtProvider() {
         @Override
         public String generateToken(com.abc.postpaid.user.entity.User user) {
             return "token-value";
         }
 
+        @Override
+        public String generateToken(com.abc.postpaid.user.entity.User user, String sessionId, Long customerId) {
+            return "token-value";
+        }
+
         @Override
         public long getExpiresMinutes() {
             return 15L;
@@ -68,6 +92,22 @@ public class AuthServiceImplTest {
     java.lang.reflect.Field f4 = AuthServiceImpl.class.getDeclaredField("customerRepository");
     f4.setAccessible(true);
     f4.set(authService, customerRepository);
+
+        java.lang.reflect.Field f5 = AuthServiceImpl.class.getDeclaredField("refreshSessionRepository");
+        f5.setAccessible(true);
+        f5.set(authService, refreshSessionRepository);
+
+        java.lang.reflect.Field f6 = AuthServiceImpl.class.getDeclaredField("tokenRevocationList");
+        f6.setAccessible(true);
+        f6.set(authService, tokenRevocationList);
+
+        java.lang.reflect.Field f7 = AuthServiceImpl.class.getDeclaredField("refreshExpiresDays");
+        f7.setAccessible(true);
+        f7.set(authService, 30L);
+
+        java.lang.reflect.Field f8 = AuthServiceImpl.class.getDeclaredField("customerOwnershipService");
+        f8.setAccessible(true);
+        f8.set(authService, customerOwnershipService);
     }
 
     @Test
@@ -170,4 +210,111 @@ public class AuthServiceImplTest {
         assertThat(resp.getAccessToken()).isEqualTo("token-value");
         verify(userRepository, times(1)).findByUsername("bob");
     }
+
+    @Test
+    void login_rehashesPasswordStoredWithAnotherCost() {
+        String raw = "Secret123!";
+        String encoded = new BCryptPasswordEncoder(4).encode(raw);
+
+        User user = new User();
+        user.setUserId(43L);
+        user.setUsername("dave");
+        user.setPasswordHash(encoded);
+        user.setRole("customer");
+
+        when(userRepository.findByUsername("dave")).thenReturn(Optional.of(user));
+        doReturn(true).when(passwordEncoder).upgradeEncoding(encoded);
+
+        LoginRequest loginReq = new LoginRequest();
+        loginReq.setUsername("dave");
+        loginReq.setPassword(raw);
+
+        authService.login(loginReq);
+
+        verify(userRepository, times(1)).save(user);
+        assertThat(user.getPasswordHash()).isNotEqualTo(encoded);
+        assertThat(passwordEncoder.matches(raw, user.getPasswordHash())).isTrue();
+    }
+
+    @Test
+    void login_createsSessionStoringOnlyTheRefreshTokenHash() {
+        String raw = "Secret123!";
+        User user = new User();
+        user.setUserId(44L);
+        user.setUsername("erin");
+        user.setPasswordHash(passwordEncoder.encode(raw));
+        user.setRole("customer");
+        when(userRepository.findByUsername("erin")).thenReturn(Optional.of(user));
+
+        LoginRequest loginReq = new LoginRequest();
+        loginReq.setUsername("erin");
+        loginReq.setPassword(raw);
+
+        var resp = authService.login(loginReq);
+
+        ArgumentCaptor<RefreshSession> captor = ArgumentCaptor.forClass(RefreshSession.class);
+        verify(refreshSessionRepository).save(captor.capture());
+        RefreshSession session = captor.getValue();
+        assertThat(resp.getRefreshToken()).isNotBlank();
+        assertThat(session.getUserId()).isEqualTo(44L);
+        assertThat(session.getTokenHash()).isEqualTo(RefreshTokens.hash(resp.getRefreshToken()));
+        assertThat(session.getExpiresAt()).isAfter(OffsetDateTime.now().plusDays(29));
+    }
+
+    @Test
+    void refresh_rotatesTokenWithoutHashingPassword() {
+        User user = new User();
+        user.setUserId(45L);
+        user.setRole("customer");
+        RefreshSession session = new RefreshSession("s-1", 45L, RefreshTokens.hash("old"),
+                OffsetDateTime.now(), OffsetDateTime.now().plusDays(1));
+        when(refreshSessionRepository.findByTokenHash(RefreshTokens.hash("old"))).thenReturn(Optional.of(session));
+        when(userRepository.findById(45L)).thenReturn(Optional.of(user));
+        when(refreshSessionRepository.rotate(eq("s-1"), eq(RefreshTokens.hash("old")), anyString(), any())).thenReturn(1);
+
+        var resp = authService.refresh("old");
+
+        assertThat(resp.getAccessToken()).isEqualTo("token-value");
+        assertThat(resp.getRefreshToken()).isNotEqualTo("old");
+        verify(refreshSessionRepository).rotate(eq("s-1"), eq(RefreshTokens.hash("old")), eq(RefreshTokens.hash(resp.getRefreshToken())), any());
+        verifyNoInteractions(passwordEncoder);
+    }
+
+    @Test
+    void refresh_rejectsRevokedSession() {
+        RefreshSession session = new RefreshSession("s-2", 46L, RefreshTokens.hash("old"),
+                OffsetDateTime.now(), OffsetDateTime.now().plusDays(1));
+        session.setRevokedAt(OffsetDateTime.now());
+        when(refreshSessionRepository.findByTokenHash(RefreshTokens.hash("old"))).thenReturn(Optional.of(session));
+
+        assertThatThrownBy(() -> authService.refresh("old"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("invalid_refresh_token");
+        verify(refreshSessionRepository, never()).rotate(any(), any(), any(), any());
+    }
+
+    @Test
+    void refresh_losingConcurrentRotationIsRejected() {
+        User user = new User();
+        user.setUserId(47L);
+        RefreshSession session = new RefreshSession("s-3", 47L, RefreshTokens.hash("old"),
+                OffsetDateTime.now(), OffsetDateTime.now().plusDays(1));
+        when(refreshSessionRepository.findByTokenHash(RefreshTokens.hash("old"))).thenReturn(Optional.of(session));
+        when(userRepository.findById(47L)).thenReturn(Optional.of(user));
+        when(refreshSessionRepository.rotate(any(), any(), any(), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> authService.refresh("old"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("invalid_refresh_token");
+    }
+
+    @Test
+    void revokeAllSessions_revokesInDatabaseAndLocally() {
+        when(refreshSessionRepository.findActiveSessionIds(48L)).thenReturn(List.of("s-4", "s-5"));
+
+        authService.revokeAllSessions(48L);
+
+        verify(refreshSessionRepository).revokeAllForUser(eq(48L), any());
+        verify(tokenRevocationList).revokeLocally(List.of("s-4", "s-5"));
+    }
 }
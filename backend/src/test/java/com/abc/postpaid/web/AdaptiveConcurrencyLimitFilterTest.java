@@ -0,0 +1,90 @@
+package com.abc.postpaid.web;
+
+import com.abc.postpaid.config.OverloadProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AdaptiveConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        OverloadProperties properties = new OverloadProperties();
+        properties.setDefaults(new OverloadProperties.ClassLimit(2, 2, 2));
+        properties.getClasses().put("admin", new OverloadProperties.ClassLimit(3, 1, 3));
+        filter = new AdaptiveConcurrencyLimitFilter(properties, meterRegistry);
+    }
+
+    @Test
+    void requestWithinLimit_passesAndReleasesSlot() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = perform("GET", "/api/customers/1/invoices", chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+        assertEquals(0, filter.limit(TrafficClass.CUSTOMER).getInFlight());
+    }
+
+    @Test
+    void requestOverLimit_isShedWith503() throws Exception {
+        occupy(TrafficClass.INGEST, 2);
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = perform("POST", "/api/services/7/usage", chain);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertEquals("{\"error\":\"overloaded\"}", response.getContentAsString());
+        assertNull(chain.getRequest());
+        assertEquals(1.0, meterRegistry.get("http.concurrency.rejected").tag("class", "ingest").counter().count());
+        assertEquals(2.0, meterRegistry.get("http.concurrency.in_flight").tag("class", "ingest").gauge().value());
+    }
+
+    @Test
+    void adminTraffic_isHeldToMinimumWhileCustomersArePressed() throws Exception {
+        occupy(TrafficClass.ADMIN, 1);
+        assertEquals(200, perform("GET", "/api/admin/customers", new MockFilterChain()).getStatus());
+
+        occupy(TrafficClass.CUSTOMER, 2);
+
+        assertEquals(503, perform("GET", "/api/admin/customers", new MockFilterChain()).getStatus());
+        assertEquals(503, perform("GET", "/api/customers/1", new MockFilterChain()).getStatus());
+        assertEquals(200, perform("POST", "/api/services/7/usage", new MockFilterChain()).getStatus());
+    }
+
+    @Test
+    void nonApiPaths_areNotLimited() throws Exception {
+        occupy(TrafficClass.CUSTOMER, 2);
+
+        assertEquals(200, perform("GET", "/v3/api-docs", new MockFilterChain()).getStatus());
+    }
+
+    @Test
+    void trafficClass_followsPathAndMethod() {
+        assertEquals(TrafficClass.ADMIN, TrafficClass.of(new MockHttpServletRequest("GET", "/api/admin/reports/usage")));
+        assertEquals(TrafficClass.ADMIN, TrafficClass.of(new MockHttpServletRequest("GET", "/api/users")));
+        assertEquals(TrafficClass.INGEST, TrafficClass.of(new MockHttpServletRequest("POST", "/api/services/3/usage")));
+        assertEquals(TrafficClass.CUSTOMER, TrafficClass.of(new MockHttpServletRequest("GET", "/api/services/3/usage")));
+        assertEquals(TrafficClass.CUSTOMER, TrafficClass.of(new MockHttpServletRequest("POST", "/api/login")));
+    }
+
+    private void occupy(TrafficClass trafficClass, int slots) {
+        for (int i = 0; i < slots; i++) {
+            assertTrue(filter.limit(trafficClass).tryAcquire(Integer.MAX_VALUE, System.nanoTime()) > 0);
+        }
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, uri), response, chain);
+        return response;
+    }
+}
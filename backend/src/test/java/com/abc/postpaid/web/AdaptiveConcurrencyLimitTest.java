@@ -0,0 +1,65 @@
+package com.abc.postpaid.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 2, 200, 2.0, 0.2, 0.9);
+
+    @Test
+    void steadyLatencyAtFullLoad_raisesLimit() {
+        for (int i = 0; i < 50; i++) sample(FAST, limit.getLimit());
+
+        assertTrue(limit.getLimit() > 20);
+    }
+
+    @Test
+    void growingLatency_lowersLimit() {
+        for (int i = 0; i < 50; i++) sample(FAST, limit.getLimit());
+        int before = limit.getLimit();
+
+        for (int i = 0; i < 50; i++) sample(SLOW, limit.getLimit());
+
+        assertTrue(limit.getLimit() < before);
+        assertTrue(limit.getLimit() >= 2);
+    }
+
+    @Test
+    void lightLoad_leavesLimitAlone() {
+        for (int i = 0; i < 50; i++) sample(SLOW, 1);
+
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void droppedRequest_backsOffMultiplicatively() {
+        assertEquals(1, limit.tryAcquire(20, System.nanoTime()));
+        limit.onComplete(FAST, 1, true);
+
+        assertEquals(18, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void fullClass_rejectsAndReportsPressure() {
+        long now = System.nanoTime();
+        assertEquals(1, limit.tryAcquire(1, now));
+        assertEquals(-1, limit.tryAcquire(1, now));
+
+        assertTrue(limit.isUnderPressure(now, TimeUnit.SECONDS.toNanos(1)));
+        limit.release();
+        assertFalse(limit.isUnderPressure(now + TimeUnit.SECONDS.toNanos(2), TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    private void sample(long rttNanos, int inFlightAtStart) {
+        limit.tryAcquire(Integer.MAX_VALUE, System.nanoTime());
+        limit.onComplete(rttNanos, inFlightAtStart, false);
+    }
+}
@@ -0,0 +1,28 @@
+package com.abc.postpaid.web;
+
+import com.abc.postpaid.config.BulkheadProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/** Test support for controllers that run on {@link Bulkheads}. */
+public final class AsyncMvc {
+
+    private AsyncMvc() {}
+
+    /** Bulkheads with default sizes, for standalone controller tests. */
+    public static Bulkheads bulkheads() {
+        return new Bulkheads(new BulkheadProperties(), new SimpleMeterRegistry());
+    }
+
+    /** Performs a request handled on a bulkhead and the async dispatch that renders its result. */
+    public static ResultActions performAsync(MockMvc mvc, RequestBuilder builder) throws Exception {
+        MvcResult started = mvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+        return mvc.perform(asyncDispatch(started));
+    }
+}
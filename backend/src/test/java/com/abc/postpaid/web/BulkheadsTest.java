@@ -0,0 +1,105 @@
+package com.abc.postpaid.web;
+
+import com.abc.postpaid.config.BulkheadProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private Bulkheads bulkheads;
+
+    @BeforeEach
+    void setUp() {
+        BulkheadProperties properties = new BulkheadProperties();
+        properties.getClasses().put("admin", new BulkheadProperties.Pool(1, 1, Duration.ofSeconds(90)));
+        bulkheads = new Bulkheads(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        bulkheads.shutdown();
+    }
+
+    @Test
+    void task_carriesClassTimeout() {
+        WebAsyncTask<String> task = bulkheads.run(TrafficClass.ADMIN, () -> "ok");
+
+        assertEquals(90_000L, task.getTimeout());
+        assertNotNull(task.getExecutor());
+    }
+
+    @Test
+    void fullBulkhead_rejectsWithoutTouchingOtherClasses() throws Exception {
+        submit(TrafficClass.ADMIN);
+        submit(TrafficClass.ADMIN);
+
+        assertThrows(TaskRejectedException.class, () -> submit(TrafficClass.ADMIN));
+        assertEquals(1.0, meterRegistry.get("bulkhead.rejected").tag("class", "admin").counter().count());
+
+        WebAsyncTask<String> customer = bulkheads.run(TrafficClass.CUSTOMER, () -> "served");
+        Future<String> served = submitted(customer);
+        assertEquals("served", served.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void virtualMode_runsOnVirtualThreadsAndStillRejects() throws Exception {
+        bulkheads.shutdown();
+        BulkheadProperties properties = new BulkheadProperties();
+        properties.getClasses().put("admin", new BulkheadProperties.Pool(1, 1, Duration.ofSeconds(90)));
+        bulkheads = new Bulkheads(properties, new SimpleMeterRegistry(), true);
+
+        WebAsyncTask<Boolean> probe = bulkheads.run(TrafficClass.CUSTOMER, () -> Thread.currentThread().isVirtual());
+        assertTrue(submitted(probe).get(5, TimeUnit.SECONDS));
+
+        // threads + queue-capacity requests may be in flight at once
+        submit(TrafficClass.ADMIN);
+        submit(TrafficClass.ADMIN);
+        assertThrows(TaskRejectedException.class, () -> submit(TrafficClass.ADMIN));
+
+        release.countDown();
+        WebAsyncTask<String> later = bulkheads.run(TrafficClass.ADMIN, () -> "served");
+        assertEquals("served", awaitAdmitted(later).get(5, TimeUnit.SECONDS));
+    }
+
+    /** Permits come back as the released tasks finish; retries until one is free. */
+    private static <T> Future<T> awaitAdmitted(WebAsyncTask<T> task) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            try {
+                return submitted(task);
+            } catch (TaskRejectedException ex) {
+                if (System.nanoTime() > deadline) throw ex;
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    /** Submits the task the way async request processing does; {@code getCallable()} loses the result type. */
+    @SuppressWarnings("unchecked")
+    private static <T> Future<T> submitted(WebAsyncTask<T> task) {
+        return task.getExecutor().submit((Callable<T>) task.getCallable());
+    }
+
+    private void submit(TrafficClass trafficClass) {
+        WebAsyncTask<Void> task = bulkheads.run(trafficClass, () -> {
+            release.await();
+            return null;
+        });
+        task.getExecutor().submit(task.getCallable());
+    }
+}